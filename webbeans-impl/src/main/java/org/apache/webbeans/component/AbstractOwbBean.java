@@ -76,6 +76,13 @@ public abstract class AbstractOwbBean<T>
      * @see #getId()
      */
     protected String passivatingId;
+
+    /**
+     * Whether &#0064;Dependent instances of this bean have to be tracked in the
+     * CreationalContext of their owner to get destroyed later on.
+     * Gets switched off at deployment time if destroying the instance has no observable effect.
+     */
+    protected boolean destroyNeeded = true;
     
     protected final WebBeansContext webBeansContext;
 
@@ -128,7 +135,7 @@ public abstract class AbstractOwbBean<T>
                 injectionTarget.inject(instance, creationalContext);
                 injectionTarget.postConstruct(instance);
             }
-            if (getScope().equals(Dependent.class) && instance != null)
+            if (destroyNeeded && getScope().equals(Dependent.class) && instance != null)
             {
                 ((CreationalContextImpl<T>)creationalContext).addDependent(this, instance);
             }
@@ -195,6 +202,16 @@ public abstract class AbstractOwbBean<T>
         }
     }
 
+    public boolean isDestroyNeeded()
+    {
+        return destroyNeeded;
+    }
+
+    public void setDestroyNeeded(boolean destroyNeeded)
+    {
+        this.destroyNeeded = destroyNeeded;
+    }
+
     /**
      * get the unique Id of the bean. This will get used as reference on
      * passivation.
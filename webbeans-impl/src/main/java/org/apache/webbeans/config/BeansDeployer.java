@@ -20,6 +20,8 @@ package org.apache.webbeans.config;
 
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.annotation.Unremovable;
+import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.BeanAttributesImpl;
 import org.apache.webbeans.component.BuiltInOwbBean;
@@ -44,10 +46,12 @@ import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.control.ActivateRequestContextInterceptorBean;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.decorator.DecoratorsManager;
 import org.apache.webbeans.deployment.StereoTypeManager;
 import org.apache.webbeans.deployment.StereoTypeModel;
+import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.event.ObserverMethodImpl;
 import org.apache.webbeans.event.OwbObserverMethod;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
@@ -78,6 +82,9 @@ import org.apache.webbeans.portable.events.discovery.BeforeBeanDiscoveryImpl;
 import org.apache.webbeans.portable.events.generics.GProcessAnnotatedType;
 import org.apache.webbeans.portable.events.generics.GProcessBean;
 import org.apache.webbeans.portable.events.generics.GProcessManagedBean;
+import org.apache.webbeans.portable.events.generics.GProcessProducerField;
+import org.apache.webbeans.portable.events.generics.GProcessProducerMethod;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.spi.BdaScannerService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.JNDIService;
@@ -94,6 +101,7 @@ import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
 
 import jakarta.enterprise.inject.AmbiguousResolutionException;
+import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Model;
 import jakarta.enterprise.inject.UnproxyableResolutionException;
 import jakarta.enterprise.inject.UnsatisfiedResolutionException;
@@ -107,6 +115,7 @@ import jakarta.enterprise.inject.spi.InjectionTarget;
 import jakarta.enterprise.inject.spi.Interceptor;
 import jakarta.enterprise.inject.spi.ObserverMethod;
 import jakarta.enterprise.inject.spi.Producer;
+import jakarta.inject.Provider;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
@@ -127,6 +136,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -162,7 +177,7 @@ public class BeansDeployer
     private final DecoratorsManager decoratorsManager;
     private final InterceptorsManager interceptorsManager;
 
-    private final Map<String, Boolean> packageVetoCache = new HashMap<>();
+    private final Map<String, Boolean> packageVetoCache = new ConcurrentHashMap<>();
 
     protected boolean skipVetoedOnPackages;
     protected boolean skipNoClassDefFoundTriggers;
@@ -214,8 +229,11 @@ public class BeansDeployer
         try
         {
             if (!deployed)
-            {                
+            {
+                StartupProfiler profiler = webBeansContext.getStartupProfiler();
+
                 //Load Extensions
+                profiler.startPhase("loadExtensions");
                 webBeansContext.getExtensionLoader().loadExtensionServices();
 
                 // Bind manager
@@ -242,11 +260,14 @@ public class BeansDeployer
                         jakarta.interceptor.Interceptor.Priority.PLATFORM_BEFORE + 100);
 
                 //Fire Event
+                profiler.startPhase("beforeBeanDiscovery");
                 fireBeforeBeanDiscoveryEvent();
                 
                 //Configure Default Beans
+                profiler.startPhase("defaultBeans");
                 configureDefaultBeans();
 
+                profiler.startPhase("processAnnotatedTypes");
                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
@@ -262,10 +283,13 @@ public class BeansDeployer
                 }
 
                 // Also configures deployments, interceptors, decorators.
+                profiler.startPhase("deployFromXml");
                 deployFromXML(scanner);
 
+                profiler.startPhase("afterTypeDiscovery");
                 addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
 
+                profiler.startPhase("beanAttributes");
 
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
                     = getBeanAttributes(annotatedTypesPerBda);
@@ -304,6 +328,7 @@ public class BeansDeployer
                         false);
 
                 // create beans from the discovered AnnotatedTypes
+                profiler.startPhase("deployBeans");
                 deployFromBeanAttributes(beanAttributesPerBda);
 
                 configureProducerMethodSpecializations();
@@ -312,11 +337,21 @@ public class BeansDeployer
                 removeDisabledBeans();
                 
                 // We are finally done with our bean discovery
+                profiler.startPhase("afterBeanDiscovery");
                 fireAfterBeanDiscoveryEvent();
 
+                profiler.startPhase("validation");
+
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
 
+                if (webBeansContext.getOpenWebBeansConfiguration().removeUnusedBeans())
+                {
+                    removeUnusedBeans(!skipValidations);
+                }
+
+                webBeansContext.getInterceptorResolutionService().defineSharedInterceptors(interceptorsManager.getCdiInterceptors());
+
                 if (!skipValidations)
                 {
                     validateAlternatives(beanAttributesPerBda);
@@ -375,6 +410,16 @@ public class BeansDeployer
                     });
                 }
 
+                // needs the interceptor stacks, which got defined by either branch above
+                markDestroyNotNeededBeans();
+
+                int proxyGenerationThreads = webBeansContext.getOpenWebBeansConfiguration().getProxyGenerationThreads();
+                if (proxyGenerationThreads > 0)
+                {
+                    profiler.startPhase("proxyGeneration");
+                    generateNormalScopeProxyClasses(proxyGenerationThreads);
+                }
+
                 if (webBeansContext.getNotificationManager().getObserverMethods().stream()
                         .anyMatch(ObserverMethod::isAsync))
                 {
@@ -384,7 +429,9 @@ public class BeansDeployer
                 }
 
                 // fire event
+                profiler.startPhase("afterDeploymentValidation");
                 fireAfterDeploymentValidationEvent();
+                profiler.endPhase();
 
 
                 // do some cleanup after the deployment
@@ -412,6 +459,7 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+            webBeansContext.getStartupProfiler().endPhase();
         }
     }
 
@@ -460,6 +508,307 @@ public class BeansDeployer
         }
     }
 
+    /**
+     * Generates the normal scoped proxy classes of all beans concurrently right after the validation
+     * instead of lazily on the first lookup of each bean.
+     * The interceptor and decorator proxy classes are not part of this: they already got generated
+     * eagerly while defining the interceptor stacks, as they need the resolved intercepted methods.
+     *
+     * @param threads the maximum number of threads to use
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_GENERATION_THREADS
+     */
+    private void generateNormalScopeProxyClasses(int threads)
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        List<Bean<?>> beans = beanManager.getBeans().stream()
+                .filter(bean -> bean instanceof OwbBean && ((OwbBean<?>) bean).isEnabled())
+                .filter(bean -> !(bean instanceof Interceptor) && !(bean instanceof Decorator))
+                .filter(bean -> beanManager.isNormalScope(bean.getScope()))
+                .collect(Collectors.toList());
+        if (beans.isEmpty())
+        {
+            return;
+        }
+
+        NormalScopeProxyFactory proxyFactory = webBeansContext.getNormalScopeProxyFactory();
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        int poolSize = Math.min(threads, beans.size());
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable ->
+        {
+            Thread thread = new Thread(runnable, "OpenWebBeans-ProxyGeneration-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+
+        try
+        {
+            List<Future<?>> proxyClasses = new ArrayList<>(beans.size());
+            for (Bean<?> bean : beans)
+            {
+                proxyClasses.add(executor.submit(() -> proxyFactory.createProxyClass(bean)));
+            }
+
+            for (int i = 0; i < proxyClasses.size(); i++)
+            {
+                try
+                {
+                    proxyClasses.get(i).get();
+                }
+                catch (ExecutionException e)
+                {
+                    // the proxy class gets generated lazily again and will report the error if the bean gets used
+                    logger.log(Level.FINE, "Unable to generate the normal scoped proxy class for " + beans.get(i), e.getCause());
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Flags all &#0064;Dependent beans whose destruction has no observable effect, i.e. which have no
+     * &#0064;PreDestroy callback, disposer method, interceptor or decorator and no &#0064;Dependent injection
+     * points of their own. Their instances don't need to get tracked in the CreationalContext of the owner.
+     */
+    private void markDestroyNotNeededBeans()
+    {
+        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (!(bean instanceof ManagedBean || bean instanceof AbstractProducerBean) || !WebBeansUtil.isDependent(bean))
+            {
+                continue;
+            }
+
+            AbstractOwbBean<?> owbBean = (AbstractOwbBean<?>) bean;
+            Producer<?> producer = owbBean.getProducer();
+            if (!(producer instanceof AbstractProducer) || ((AbstractProducer<?>) producer).isDestroyNeeded())
+            {
+                continue;
+            }
+
+            boolean dependentInjectionPoints = false;
+            for (InjectionPoint injectionPoint : bean.getInjectionPoints())
+            {
+                if (hasDependentBean(injectionResolver, injectionPoint))
+                {
+                    dependentInjectionPoints = true;
+                    break;
+                }
+            }
+
+            if (!dependentInjectionPoints)
+            {
+                owbBean.setDestroyNeeded(false);
+            }
+        }
+    }
+
+    /**
+     * Removes all {@link ManagedBean}s which never get injected, see {@link OpenWebBeansConfiguration#REMOVE_UNUSED_BEANS}.
+     * Starting from all beans and observer methods which must be kept, we follow their injection points.
+     * Every candidate bean which doesn't get reached this way gets removed before the validation,
+     * thus no interceptor stack nor proxy class gets created for it.
+     *
+     * @param validate whether the injection points of the removed beans shall still get validated
+     */
+    private void removeUnusedBeans(boolean validate)
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        InjectionResolver injectionResolver = beanManager.getInjectionResolver();
+        List<String> keep = webBeansContext.getOpenWebBeansConfiguration().getRemoveUnusedBeansKeep();
+
+        Set<Bean<?>> candidates = new HashSet<>();
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (isUnusedBeanCandidate(bean, keep))
+            {
+                candidates.add(bean);
+            }
+        }
+
+        LinkedList<InjectionPoint> injectionPoints = new LinkedList<>();
+        for (ObserverMethod<?> observerMethod : webBeansContext.getNotificationManager().getObserverMethods())
+        {
+            if (observerMethod instanceof ObserverMethodImpl)
+            {
+                ObserverMethodImpl<?> observerMethodImpl = (ObserverMethodImpl<?>) observerMethod;
+                candidates.remove(observerMethodImpl.getOwnerBean());
+                injectionPoints.addAll(observerMethodImpl.getInjectionPoints());
+            }
+        }
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (bean instanceof AbstractProducerBean)
+            {
+                candidates.remove(((AbstractProducerBean<?>) bean).getOwnerComponent());
+            }
+        }
+        if (candidates.isEmpty())
+        {
+            return;
+        }
+
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (!candidates.contains(bean))
+            {
+                injectionPoints.addAll(bean.getInjectionPoints());
+            }
+        }
+        for (Decorator<?> decorator : decoratorsManager.getDecorators())
+        {
+            injectionPoints.addAll(decorator.getInjectionPoints());
+        }
+        for (Interceptor<?> interceptor : interceptorsManager.getCdiInterceptors())
+        {
+            injectionPoints.addAll(interceptor.getInjectionPoints());
+        }
+
+        while (!injectionPoints.isEmpty())
+        {
+            InjectionPoint injectionPoint = injectionPoints.removeFirst();
+            Class<?> rawType = ClassUtil.getClass(injectionPoint.getType());
+            if (Instance.class.equals(rawType) || Provider.class.equals(rawType))
+            {
+                Type lookupType = injectionPoint.getType() instanceof ParameterizedType
+                    ? ((ParameterizedType) injectionPoint.getType()).getActualTypeArguments()[0]
+                    : Object.class;
+                Class<?> lookupClass = ClassUtil.getClass(lookupType);
+                if (lookupClass == null || Object.class.equals(lookupClass))
+                {
+                    logger.fine("Not removing unused beans as all beans might get looked up via " + injectionPoint);
+                    return;
+                }
+                for (Iterator<Bean<?>> it = candidates.iterator(); it.hasNext();)
+                {
+                    Bean<?> bean = it.next();
+                    if (hasRawType(bean, lookupClass))
+                    {
+                        it.remove();
+                        injectionPoints.addAll(bean.getInjectionPoints());
+                    }
+                }
+                continue;
+            }
+
+            for (Bean<?> bean : resolveInjectionPointBeans(injectionResolver, injectionPoint))
+            {
+                if (candidates.remove(bean))
+                {
+                    injectionPoints.addAll(bean.getInjectionPoints());
+                }
+            }
+        }
+
+        if (candidates.isEmpty())
+        {
+            return;
+        }
+
+        if (validate)
+        {
+            // the removed beans must still be valid, so we check them with all other beans in place
+            for (Bean<?> bean : candidates)
+            {
+                try
+                {
+                    webBeansContext.getWebBeansUtil().validate(bean.getInjectionPoints(), bean);
+                    checkPassivationScope(bean);
+                }
+                catch (RuntimeException e)
+                {
+                    throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                }
+            }
+        }
+
+        beanManager.getBeans().removeAll(candidates);
+        beanManager.removePassivationInfo(candidates);
+        injectionResolver.clearCaches();
+
+        logger.info("Removed " + candidates.size() + " unused beans");
+        if (logger.isLoggable(Level.FINE))
+        {
+            for (Bean<?> bean : candidates)
+            {
+                logger.fine("Removed unused bean " + bean);
+            }
+        }
+    }
+
+    private boolean isUnusedBeanCandidate(Bean<?> bean, List<String> keep)
+    {
+        if (!(bean instanceof ManagedBean) || bean instanceof Interceptor || bean instanceof Decorator
+            || !((ManagedBean<?>) bean).isEnabled() || bean.getName() != null)
+        {
+            return false;
+        }
+
+        Class<?> beanClass = bean.getBeanClass();
+        if (beanClass.isAnnotationPresent(Unremovable.class))
+        {
+            return false;
+        }
+        String beanClassName = beanClass.getName();
+        for (String kept : keep)
+        {
+            if (beanClassName.equals(kept) || kept.endsWith(".") && beanClassName.startsWith(kept))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasRawType(Bean<?> bean, Class<?> rawType)
+    {
+        for (Type type : bean.getTypes())
+        {
+            if (rawType.equals(ClassUtil.getClass(type)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Bean<?>> resolveInjectionPointBeans(InjectionResolver injectionResolver, InjectionPoint injectionPoint)
+    {
+        try
+        {
+            Set<Annotation> qualifiers = injectionPoint.getQualifiers();
+            return injectionResolver.implResolveByType(injectionPoint.isDelegate(), injectionPoint.getType(),
+                    ClassUtil.getClass(injectionPoint.getType()), qualifiers.toArray(new Annotation[qualifiers.size()]));
+        }
+        catch (RuntimeException e)
+        {
+            // broken injection point, this will get reported by the validation
+            return Collections.emptySet();
+        }
+    }
+
+    private boolean hasDependentBean(InjectionResolver injectionResolver, InjectionPoint injectionPoint)
+    {
+        try
+        {
+            return WebBeansUtil.isDependent(injectionResolver.getInjectionPointBean(injectionPoint));
+        }
+        catch (RuntimeException e)
+        {
+            // e.g. injection points of disabled alternatives, just keep the default bookkeeping
+            return true;
+        }
+    }
+
     private Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> getBeanAttributes(
                                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda)
     {
@@ -674,7 +1023,12 @@ public class BeansDeployer
      */
     private void removeDisabledBeans()
     {
-        webBeansContext.getBeanManagerImpl().getBeans().removeIf(bean -> !((OwbBean) bean).isEnabled());
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Set<Bean<?>> disabledBeans = beanManager.getBeans().stream()
+                .filter(bean -> !((OwbBean) bean).isEnabled())
+                .collect(Collectors.toSet());
+        beanManager.getBeans().removeAll(disabledBeans);
+        beanManager.removePassivationInfo(disabledBeans);
     }
 
     private void registerAlternativesDecoratorsAndInterceptorsWithPriority(List<AnnotatedType<?>> annotatedTypes)
@@ -783,11 +1137,16 @@ public class BeansDeployer
             
     }
     
+    private Class<?> getClassFromName(String className)
+    {
+        return webBeansContext.getClassResolutionCache().getClassFromName(className, WebBeansUtil.getCurrentClassLoader(), true);
+    }
+
     private void addDefaultBean(WebBeansContext ctx,String className)
     {
         Bean<?> bean = null;
         
-        Class<?> beanClass = ClassUtil.getClassFromName(className);
+        Class<?> beanClass = getClassFromName(className);
         if(beanClass != null)
         {
             bean  = (Bean)newInstance(ctx, beanClass);
@@ -952,6 +1311,7 @@ public class BeansDeployer
                 "There are errors that are added by AfterDeploymentValidation event observers. Look at logs for further details");
 
         packageVetoCache.clear(); // no more needed, free the memory
+        webBeansContext.getClassResolutionCache().clear();
         event.setStarted();
     }
 
@@ -1171,6 +1531,7 @@ public class BeansDeployer
         
         //Validate Interceptors
         validate(interceptors);
+        webBeansContext.getInterceptorResolutionService().validateSharedInterceptors();
 
         logger.fine("Validation of the beans' injection points has started.");
 
@@ -1356,28 +1717,42 @@ public class BeansDeployer
         Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda
             = new HashMap<>();
 
-        if (scanner instanceof BdaScannerService)
+        NotificationManager notificationManager = webBeansContext.getNotificationManager();
+        if (scanner instanceof AbstractMetaDataDiscovery)
         {
-            Map<BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda = ((BdaScannerService) scanner).getBeanClassesPerBda();
+            // lets the @WithAnnotations filters skip the classes which can't match according to their bytecode
+            notificationManager.setWithAnnotationsIndex(((AbstractMetaDataDiscovery) scanner).getAnnotationFinder());
+        }
 
-            for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
+        try
+        {
+            if (scanner instanceof BdaScannerService)
             {
-                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
-                annotatedTypesPerBda.put(bdaEntry.getKey(), annotatedTypes);
+                Map<BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda = ((BdaScannerService) scanner).getBeanClassesPerBda();
+
+                for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
+                {
+                    List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
+                    annotatedTypesPerBda.put(bdaEntry.getKey(), annotatedTypes);
+                }
+
+                // also add the rest of the class es to the default bda
+                // we also need this initialised in case annotatedTypes get added manually at a later step
+                annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses));
             }
+            else
+            {
+                // this path is only for backward compat to older ScannerService implementations
+
+                Set<Class<?>> classIndex = scanner.getBeanClasses();
+                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
 
-            // also add the rest of the class es to the default bda
-            // we also need this initialised in case annotatedTypes get added manually at a later step
-            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses));
+                annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
+            }
         }
-        else
+        finally
         {
-            // this path is only for backward compat to older ScannerService implementations
-
-            Set<Class<?>> classIndex = scanner.getBeanClasses();
-            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
-
-            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
+            notificationManager.setWithAnnotationsIndex(null);
         }
 
 
@@ -1395,7 +1770,8 @@ public class BeansDeployer
         if (classIndex != null)
         {
             AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
-            boolean hasPATObserver = webBeansContext.getNotificationManager().hasProcessAnnotatedTypeObservers();
+            NotificationManager notificationManager = webBeansContext.getNotificationManager();
+            boolean hasPATObserver = notificationManager.hasProcessAnnotatedTypeObservers();
             for (Class<?> implClass : classIndex)
             {
                 try
@@ -1418,7 +1794,7 @@ public class BeansDeployer
                             InjectionTarget<?> it = webBeansContext.getBeanManagerImpl().createInjectionTarget(annotatedType);
                             for (InjectionPoint ip : it.getInjectionPoints())
                             {
-                                webBeansContext.getWebBeansUtil().fireProcessInjectionPointEvent(ip);
+                                webBeansContext.getWebBeansUtil().fireProcessInjectionPointEventIfObserved(ip);
                             }
                         }
                         continue;
@@ -1446,7 +1822,7 @@ public class BeansDeployer
                     }
 
                     // Fires ProcessAnnotatedType
-                    if (hasPATObserver && !javaClass.isAnnotation())
+                    if (hasPATObserver && !javaClass.isAnnotation() && notificationManager.isProcessAnnotatedTypeObserved(annotatedType))
                     {
                         GProcessAnnotatedType processAnnotatedEvent = webBeansContext.getWebBeansUtil().fireProcessAnnotatedTypeEvent(annotatedType);
                         if (!processAnnotatedEvent.isVeto())
@@ -1537,29 +1913,29 @@ public class BeansDeployer
                 }
                 while (true)
                 {
-                    try // not always existing but enables to go further when getPackage is not available (graal)
+                    // not always existing but enables to go further when getPackage is not available (graal)
+                    Class<?> packageInfo = webBeansContext.getClassResolutionCache().loadClass(previousPackage +
+                            (previousPackage.isEmpty() ? "" :".") + "package-info", classLoader);
+                    if (packageInfo != null)
                     {
-                        pckge = classLoader.loadClass(previousPackage +
-                                (previousPackage.isEmpty() ? "" :".") + "package-info").getPackage();
+                        pckge = packageInfo.getPackage();
                         break;
                     }
-                    catch (Exception e)
+
+                    if (previousPackage.isEmpty())
                     {
-                        if (previousPackage.isEmpty())
-                        {
-                            pckge = null;
-                            break;
-                        }
-                        packageVetoCache.put(previousPackage, false);
-                        idx = previousPackage.lastIndexOf('.');
-                        if (idx > 0)
-                        {
-                            previousPackage = previousPackage.substring(0, idx);
-                        }
-                        else
-                        {
-                            previousPackage = "";
-                        }
+                        pckge = null;
+                        break;
+                    }
+                    packageVetoCache.put(previousPackage, false);
+                    idx = previousPackage.lastIndexOf('.');
+                    if (idx > 0)
+                    {
+                        previousPackage = previousPackage.substring(0, idx);
+                    }
+                    else
+                    {
+                        previousPackage = "";
                     }
                 }
             }
@@ -1776,7 +2152,7 @@ public class BeansDeployer
             }
             alternativesInFile.add(alternativeName);
 
-            Class clazz = ClassUtil.getClassFromName(alternativeName);
+            Class clazz = getClassFromName(alternativeName);
 
             if (clazz == null)
             {
@@ -1802,7 +2178,7 @@ public class BeansDeployer
 
         for (String decorator : decorators)
         {
-            Class<?> clazz = ClassUtil.getClassFromName(decorator);
+            Class<?> clazz = getClassFromName(decorator);
 
             if (clazz == null)
             {
@@ -1833,7 +2209,7 @@ public class BeansDeployer
         
         for (String interceptor : interceptors)
         {
-            Class<?> clazz = ClassUtil.getClassFromName(interceptor);
+            Class<?> clazz = getClassFromName(interceptor);
 
             if (clazz == null)
             {
@@ -2055,9 +2431,12 @@ public class BeansDeployer
                     DecoratorBean<T> decorator = dbb.getBean();
 
                     //Fires ProcessBean
-                    ProcessBeanImpl<T> processBeanEvent = new GProcessBean(decorator, annotatedType);
-                    webBeansContext.getBeanManagerImpl().fireEvent(processBeanEvent, true);
-                    processBeanEvent.setStarted();
+                    if (webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessBean.class))
+                    {
+                        ProcessBeanImpl<T> processBeanEvent = new GProcessBean(decorator, annotatedType);
+                        webBeansContext.getBeanManagerImpl().fireEvent(processBeanEvent, true);
+                        processBeanEvent.setStarted();
+                    }
 
                     webBeansContext.getWebBeansUtil().inspectDefinitionErrorStack("There are errors that are added by ProcessBean event observers for " +
                         "interceptor beans. Look at logs for further details");
@@ -2079,9 +2458,12 @@ public class BeansDeployer
                     CdiInterceptorBean<T> interceptor = ibb.getBean();
 
                     //Fires ProcessBean
-                    ProcessBeanImpl<T> processBeanEvent = new GProcessBean(interceptor, annotatedType);
-                    webBeansContext.getBeanManagerImpl().fireEvent(processBeanEvent, true);
-                    processBeanEvent.setStarted();
+                    if (webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessBean.class))
+                    {
+                        ProcessBeanImpl<T> processBeanEvent = new GProcessBean(interceptor, annotatedType);
+                        webBeansContext.getBeanManagerImpl().fireEvent(processBeanEvent, true);
+                        processBeanEvent.setStarted();
+                    }
 
                     webBeansContext.getWebBeansUtil().inspectDefinitionErrorStack("There are errors that are added by ProcessBean event observers for " +
                         "interceptor beans. Look at logs for further details");
@@ -2133,46 +2515,48 @@ public class BeansDeployer
                     }
                 }
 
+                // the AnnotatedMembers are only needed for the ProcessProducerMethod and ProcessProducerField events
+                NotificationManager notificationManager = webBeansContext.getNotificationManager();
+                boolean producerMethodsObserved = notificationManager.hasLifecycleObservers(GProcessProducerMethod.class);
                 for(ProducerMethodBean<?> producerMethod : producerMethods)
                 {
-                    AnnotatedMethod<?> method = webBeansContext.getAnnotatedElementFactory().newAnnotatedMethod(producerMethod.getCreatorMethod(), annotatedType);
                     webBeansContext.getWebBeansUtil().inspectDeploymentErrorStack("There are errors that are added by ProcessProducer event observers for "
                             + "ProducerMethods. Look at logs for further details");
 
-                    annotatedMethods.put(producerMethod, method);
+                    if (producerMethodsObserved)
+                    {
+                        annotatedMethods.put(producerMethod,
+                                webBeansContext.getAnnotatedElementFactory().newAnnotatedMethod(producerMethod.getCreatorMethod(), annotatedType));
+                    }
                 }
 
                 Map<ProducerFieldBean<?>,AnnotatedField<?>> annotatedFields =
                     new HashMap<>();
 
+                boolean producerFieldsObserved = notificationManager.hasLifecycleObservers(GProcessProducerField.class);
                 for(ProducerFieldBean<?> producerField : producerFields)
                 {
                     webBeansContext.getWebBeansUtil().inspectDeploymentErrorStack("There are errors that are added by ProcessProducer event observers for"
                             + " ProducerFields. Look at logs for further details");
 
-                    annotatedFields.put(producerField,
-                            webBeansContext.getAnnotatedElementFactory().newAnnotatedField(
-                                    producerField.getCreatorField(),
-                                    webBeansContext.getAnnotatedElementFactory().newAnnotatedType(producerField.getBeanClass())));
-                }
-
-                Map<ObserverMethod<?>,AnnotatedMethod<?>> observerMethodsMap =
-                    new HashMap<>();
-
-                for(ObserverMethod<?> observerMethod : observerMethods)
-                {
-                    ObserverMethodImpl<?> impl = (ObserverMethodImpl<?>)observerMethod;
-                    AnnotatedMethod<?> method = impl.getObserverMethod();
-
-                    observerMethodsMap.put(observerMethod, method);
+                    if (producerFieldsObserved)
+                    {
+                        annotatedFields.put(producerField,
+                                webBeansContext.getAnnotatedElementFactory().newAnnotatedField(
+                                        producerField.getCreatorField(),
+                                        webBeansContext.getAnnotatedElementFactory().newAnnotatedType(producerField.getBeanClass())));
+                    }
                 }
 
                 BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
 
                 //Fires ProcessManagedBean
-                ProcessBeanImpl<T> processBeanEvent = new GProcessManagedBean(managedBean, annotatedType);
-                beanManager.fireEvent(processBeanEvent, true);
-                processBeanEvent.setStarted();
+                if (notificationManager.hasLifecycleObservers(GProcessManagedBean.class))
+                {
+                    ProcessBeanImpl<T> processBeanEvent = new GProcessManagedBean(managedBean, annotatedType);
+                    beanManager.fireEvent(processBeanEvent, true);
+                    processBeanEvent.setStarted();
+                }
 
                 webBeansContext.getWebBeansUtil().inspectDefinitionErrorStack("There are errors that are added by ProcessManagedBean event observers for " +
                         "managed beans. Look at logs for further details");
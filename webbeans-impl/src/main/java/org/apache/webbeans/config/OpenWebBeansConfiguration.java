@@ -152,6 +152,13 @@ public class OpenWebBeansConfiguration
     /** A list of known JARs/paths which should not be scanned for beans */
     public static final String SCAN_EXCLUSION_PATHS = "org.apache.webbeans.scanExclusionPaths";
 
+    /**
+     * A comma separated list of ClassLoader resources or files which contain additional
+     * {@link #SCAN_EXCLUSION_PATHS}, one per line. OpenWebBeans ships a list of well known
+     * libraries which don't contain CDI beans as {@code META-INF/openwebbeans/scan-exclusions.txt}.
+     */
+    public static final String SCAN_EXCLUSION_FILES = "org.apache.webbeans.scanExclusionFiles";
+
     /**
      * Flag which indicates that only jars with an explicit META-INF/beans.xml marker file shall get parsed.
      * Default is {@code false}.
@@ -216,6 +223,92 @@ public class OpenWebBeansConfiguration
      */
     public static final String DEFAULT_BEAN_DISCOVERY_MODE = "org.apache.webbeans.defaultBeanDiscoveryMode";
 
+    /**
+     * Flag which indicates that {@link org.apache.webbeans.component.ManagedBean}s which never get injected
+     * shall get removed at deployment time. Default is {@code false}.
+     *
+     * A bean is kept if it gets injected into any other kept bean or observer method, if it has a name,
+     * declares a producer or an observer method, has a type which gets looked up via an injected
+     * {@code Instance<X>} or {@code Provider<X>}, is annotated with {@link org.apache.webbeans.annotation.Unremovable}
+     * or is listed in {@link #REMOVE_UNUSED_BEANS_KEEP}.
+     *
+     * IMPORTANT: beans which only get looked up via the BeanManager or {@code CDI.current()} must be kept explicitly.
+     */
+    public static final String REMOVE_UNUSED_BEANS = "org.apache.webbeans.removeUnusedBeans";
+
+    /**
+     * A comma-separated list of fully qualified class names or package prefixes ending with '.'
+     * of beans which must never get removed by {@link #REMOVE_UNUSED_BEANS}.
+     */
+    public static final String REMOVE_UNUSED_BEANS_KEEP = "org.apache.webbeans.removeUnusedBeans.keep";
+
+    /**
+     * Number of threads which generate the normal scoped proxy classes of all beans right after
+     * the deployment got validated. Use {@code auto} for the number of available processors.
+     * Interceptor and decorator proxy classes always get generated during the deployment.
+     * Default is {@code 0} which means that the proxy classes get generated lazily on first use.
+     */
+    public static final String PROXY_GENERATION_THREADS = "org.apache.webbeans.proxy.generationThreads";
+
+    /**
+     * Flag which indicates that jar files shall get scanned by memory-mapping them
+     * instead of reading them via {@link java.util.jar.JarFile}.
+     * Default is {@code false}.
+     * @see org.apache.webbeans.corespi.scanner.xbean.MappedJarArchive
+     */
+    public static final String SCANNER_MAPPED_JARS = "org.apache.webbeans.scanner.mappedJars";
+
+    /**
+     * Directory in which the scan results of jar files get stored. Jars which didn't change
+     * since the last start don't get scanned again. Default is no caching.
+     * @see org.apache.webbeans.corespi.scanner.xbean.ScanCache
+     */
+    public static final String SCANNER_CACHE_DIRECTORY = "org.apache.webbeans.scanner.cacheDirectory";
+
+    /**
+     * Flag which indicates that classes which can never become a managed bean according to their bytecode
+     * don't get loaded at all: interfaces, enums, annotations, abstract classes which are no Decorator
+     * and classes without a no-arg or {@code @Inject} constructor.
+     * Note that no {@link jakarta.enterprise.inject.spi.ProcessAnnotatedType} event gets fired for those types,
+     * thus only enable it if no Extension needs to see them. Default is {@code false}.
+     * @see org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder#isNonBeanClass(String)
+     */
+    public static final String SCANNER_SKIP_NON_BEAN_CLASSES = "org.apache.webbeans.scanner.skipNonBeanClasses";
+
+    /**
+     * Flag which indicates that the {@link org.apache.webbeans.proxy.ProxyRegistry} of a deployment
+     * shall get registered in the platform MBeanServer under
+     * {@code org.apache.webbeans:type=ProxyRegistry,deployment=<id>}. Default is {@code false}.
+     */
+    public static final String PROXY_REGISTRY_JMX = "org.apache.webbeans.proxy.registry.jmx";
+
+    /**
+     * Flag which indicates that interceptor and decorator proxies get their delegate and
+     * InterceptorHandler passed to a generated constructor which stores them in {@code final} fields.
+     * The intercepted Methods get loaded as dynamic constants. Default is {@code false}.
+     */
+    public static final String PROXY_FINAL_FIELDS = "org.apache.webbeans.proxy.interceptor.finalFields";
+
+    /**
+     * A comma-separated list of fully qualified interceptor class names which shall get treated
+     * as if they were annotated with {@link org.apache.webbeans.annotation.SharedInterceptor}.
+     */
+    public static final String SHARED_INTERCEPTORS = "org.apache.webbeans.interceptor.shared";
+
+    /**
+     * Flag which indicates that the wall clock time, CPU time and allocations of the deployment phases,
+     * of the Extension observers of the container lifecycle events and of the scanned archives
+     * get recorded. A summary gets logged after the deployment. Default is {@code false}.
+     * @see StartupProfiler
+     */
+    public static final String STARTUP_PROFILER = "org.apache.webbeans.startup.profiler";
+
+    /**
+     * File to which the JSON report of the {@link #STARTUP_PROFILER} gets written.
+     * If not set the report gets logged with level FINE.
+     */
+    public static final String STARTUP_PROFILER_REPORT = "org.apache.webbeans.startup.profiler.report";
+
 
 
     /**Default configuration files*/
@@ -459,6 +552,120 @@ public class OpenWebBeansConfiguration
         return "true".equalsIgnoreCase(value);
     }
 
+    /**
+     * @see #REMOVE_UNUSED_BEANS
+     */
+    public boolean removeUnusedBeans()
+    {
+        String value = getProperty(REMOVE_UNUSED_BEANS);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #REMOVE_UNUSED_BEANS_KEEP
+     */
+    public List<String> getRemoveUnusedBeansKeep()
+    {
+        return splitValues(getProperty(REMOVE_UNUSED_BEANS_KEEP));
+    }
+
+    /**
+     * @see #PROXY_GENERATION_THREADS
+     */
+    public int getProxyGenerationThreads()
+    {
+        return getThreadCount(PROXY_GENERATION_THREADS);
+    }
+
+    /**
+     * @see #SCANNER_MAPPED_JARS
+     */
+    public boolean useMappedJarScanning()
+    {
+        return "true".equalsIgnoreCase(getProperty(SCANNER_MAPPED_JARS));
+    }
+
+    /**
+     * @see #SCANNER_CACHE_DIRECTORY
+     */
+    public String getScanCacheDirectory()
+    {
+        String value = getProperty(SCANNER_CACHE_DIRECTORY);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * @see #SCANNER_SKIP_NON_BEAN_CLASSES
+     */
+    public boolean isSkipNonBeanClasses()
+    {
+        return "true".equalsIgnoreCase(getProperty(SCANNER_SKIP_NON_BEAN_CLASSES));
+    }
+
+    private int getThreadCount(String key)
+    {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty())
+        {
+            return 0;
+        }
+        if ("auto".equalsIgnoreCase(value.trim()))
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try
+        {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException nfe)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + key + ": " + value, nfe);
+        }
+    }
+
+    /**
+     * @see #PROXY_FINAL_FIELDS
+     */
+    public boolean useFinalInterceptorProxyFields()
+    {
+        String value = getProperty(PROXY_FINAL_FIELDS);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #SHARED_INTERCEPTORS
+     */
+    public List<String> getSharedInterceptors()
+    {
+        return splitValues(getProperty(SHARED_INTERCEPTORS));
+    }
+
+    /**
+     * @see #STARTUP_PROFILER
+     */
+    public boolean isStartupProfilerEnabled()
+    {
+        return "true".equalsIgnoreCase(getProperty(STARTUP_PROFILER));
+    }
+
+    /**
+     * @see #STARTUP_PROFILER_REPORT
+     */
+    public String getStartupProfilerReport()
+    {
+        String value = getProperty(STARTUP_PROFILER_REPORT);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * @see #PROXY_REGISTRY_JMX
+     */
+    public boolean isProxyRegistryJmxEnabled()
+    {
+        String value = getProperty(PROXY_REGISTRY_JMX);
+        return "true".equalsIgnoreCase(value);
+    }
+
     public synchronized Set<String> getIgnoredInterfaces()
     {
         if (ignoredInterfaces == null)
@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.event.ObserverMethodImpl;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Records where the time of the container start goes.
+ *
+ * Per deployment phase, per Extension observer of the container lifecycle events
+ * (like {@link jakarta.enterprise.inject.spi.ProcessAnnotatedType} and
+ * {@link jakarta.enterprise.inject.spi.ProcessBean}) and per scanned archive
+ * the wall clock time gets recorded. Phases and observers additionally record the
+ * CPU time and the allocated bytes of the current thread if the JVM supports it.
+ * Work done by parallel scanner or proxy generation threads only shows up in the wall clock time.
+ *
+ * After the deployment a concise summary gets logged and the full report gets written
+ * as JSON to the configured file or logged with level FINE.
+ *
+ * If the profiler is disabled all methods return immediately without taking any measurement.
+ *
+ * @see OpenWebBeansConfiguration#STARTUP_PROFILER
+ * @see OpenWebBeansConfiguration#STARTUP_PROFILER_REPORT
+ */
+public class StartupProfiler
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(StartupProfiler.class);
+
+    private static final int SUMMARY_ENTRIES = 5;
+
+    private static final Timing NO_TIMING = new Timing(null, null, 0, 0, 0);
+
+    private final boolean enabled;
+    private final String reportFile;
+    private final ThreadMXBean threadMXBean;
+    private final boolean cpuTimeSupported;
+
+    /**
+     * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, looked up reflectively
+     * to not require the {@code com.sun.management} package in OSGi environments
+     */
+    private final Method allocatedBytes;
+
+    private final Map<String, Stats> phases = new LinkedHashMap<>();
+    private final Map<String, Map<String, Stats>> observers = new LinkedHashMap<>();
+    private final Map<String, Long> archives = new LinkedHashMap<>();
+    private final Map<Class<?>, String> eventNames = new HashMap<>();
+
+    private Timing currentPhase;
+
+    public StartupProfiler(boolean enabled, String reportFile)
+    {
+        this.enabled = enabled;
+        this.reportFile = reportFile;
+        if (enabled)
+        {
+            threadMXBean = ManagementFactory.getThreadMXBean();
+            cpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+            allocatedBytes = findAllocatedBytesMethod(threadMXBean);
+        }
+        else
+        {
+            threadMXBean = null;
+            cpuTimeSupported = false;
+            allocatedBytes = null;
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Ends the currently running phase and starts measuring the given one.
+     * Phases with the same name get summed up.
+     */
+    public void startPhase(String name)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        endPhase();
+        currentPhase = start(phaseStats(name));
+    }
+
+    /**
+     * Ends the currently running phase, if any.
+     */
+    public void endPhase()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        Timing phase = currentPhase;
+        currentPhase = null;
+        if (phase != null)
+        {
+            phase.close();
+        }
+    }
+
+    /**
+     * Measures the invocation of the given observer method for the given container lifecycle event.
+     * The invocations get summed up per event type and observer.
+     *
+     * @return the running measurement which gets recorded on {@link Timing#close()}
+     */
+    public Timing observer(Object event, ObserverMethod<?> observer)
+    {
+        if (!enabled)
+        {
+            return NO_TIMING;
+        }
+        return start(observerStats(getEventName(event.getClass()), getObserverName(observer)));
+    }
+
+    /**
+     * Records the time which was needed to scan the given archive.
+     */
+    public synchronized void archiveScanned(String name, long nanos)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        archives.merge(name, nanos, Long::sum);
+    }
+
+    /**
+     * Logs the summary and writes or logs the full JSON report.
+     */
+    public void report()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+        endPhase();
+
+        if (logger.isLoggable(Level.INFO))
+        {
+            logger.info(toSummary());
+        }
+
+        String json = toJson();
+        if (reportFile == null)
+        {
+            if (logger.isLoggable(Level.FINE))
+            {
+                logger.fine(json);
+            }
+            return;
+        }
+
+        try
+        {
+            Path path = Paths.get(reportFile);
+            if (path.getParent() != null)
+            {
+                Files.createDirectories(path.getParent());
+            }
+            Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Could not write the startup profile to " + reportFile, e);
+        }
+    }
+
+    /**
+     * @return a single line listing the phases as well as the slowest observers and archives
+     */
+    public synchronized String toSummary()
+    {
+        StringBuilder summary = new StringBuilder("Startup profile - phases:");
+        for (Map.Entry<String, Stats> phase : phases.entrySet())
+        {
+            summary.append(' ').append(phase.getKey()).append('=').append(toMillis(phase.getValue().wallNanos)).append("ms");
+        }
+
+        List<ObserverEntry> slowestObservers = sortedObservers();
+        if (!slowestObservers.isEmpty())
+        {
+            summary.append(" - slowest observers:");
+            for (ObserverEntry observer : slowestObservers.subList(0, Math.min(SUMMARY_ENTRIES, slowestObservers.size())))
+            {
+                summary.append(' ').append(observer.observer)
+                       .append('(').append(observer.event).append(" x").append(observer.stats.count).append(")=")
+                       .append(toMillis(observer.stats.wallNanos)).append("ms");
+            }
+        }
+
+        List<Map.Entry<String, Long>> slowestArchives = sortedArchives();
+        if (!slowestArchives.isEmpty())
+        {
+            summary.append(" - slowest archives:");
+            for (Map.Entry<String, Long> archive : slowestArchives.subList(0, Math.min(SUMMARY_ENTRIES, slowestArchives.size())))
+            {
+                summary.append(' ').append(archive.getKey()).append('=').append(toMillis(archive.getValue())).append("ms");
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * @return the full report as JSON object with the arrays {@code phases}, {@code observers} and {@code archives}.
+     *         Times are in nanoseconds, a value of -1 means that the JVM doesn't support the measurement.
+     */
+    public synchronized String toJson()
+    {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\n  \"phases\": [");
+        boolean first = true;
+        for (Map.Entry<String, Stats> phase : phases.entrySet())
+        {
+            json.append(first ? "\n" : ",\n").append("    {\"name\": ");
+            appendString(json, phase.getKey());
+            appendStats(json, phase.getValue());
+            json.append('}');
+            first = false;
+        }
+
+        json.append("\n  ],\n  \"observers\": [");
+        first = true;
+        for (ObserverEntry observer : sortedObservers())
+        {
+            json.append(first ? "\n" : ",\n").append("    {\"event\": ");
+            appendString(json, observer.event);
+            json.append(", \"observer\": ");
+            appendString(json, observer.observer);
+            appendStats(json, observer.stats);
+            json.append('}');
+            first = false;
+        }
+
+        json.append("\n  ],\n  \"archives\": [");
+        first = true;
+        for (Map.Entry<String, Long> archive : sortedArchives())
+        {
+            json.append(first ? "\n" : ",\n").append("    {\"name\": ");
+            appendString(json, archive.getKey());
+            json.append(", \"wallNanos\": ").append(archive.getValue()).append('}');
+            first = false;
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    public synchronized void clear()
+    {
+        currentPhase = null;
+        phases.clear();
+        observers.clear();
+        archives.clear();
+        eventNames.clear();
+    }
+
+    private Timing start(Stats stats)
+    {
+        return new Timing(this, stats, System.nanoTime(), cpuTime(), allocatedBytes());
+    }
+
+    private synchronized Stats phaseStats(String name)
+    {
+        return phases.computeIfAbsent(name, n -> new Stats());
+    }
+
+    private synchronized Stats observerStats(String event, String observer)
+    {
+        return observers.computeIfAbsent(event, e -> new LinkedHashMap<>()).computeIfAbsent(observer, o -> new Stats());
+    }
+
+    private synchronized void record(Stats stats, long wallNanos, long cpuNanos, long allocated)
+    {
+        stats.count++;
+        stats.wallNanos += wallNanos;
+        stats.cpuNanos = cpuNanos < 0 || stats.cpuNanos < 0 ? -1 : stats.cpuNanos + cpuNanos;
+        stats.allocatedBytes = allocated < 0 || stats.allocatedBytes < 0 ? -1 : stats.allocatedBytes + allocated;
+    }
+
+    private long cpuTime()
+    {
+        return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long allocatedBytes()
+    {
+        if (allocatedBytes == null)
+        {
+            return -1;
+        }
+        try
+        {
+            return (Long) allocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the container lifecycle event interface, e.g. {@code ProcessAnnotatedType} for {@code ProcessAnnotatedTypeImpl}
+     */
+    private synchronized String getEventName(Class<?> eventClass)
+    {
+        return eventNames.computeIfAbsent(eventClass, type ->
+        {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+            {
+                for (Class<?> itf : current.getInterfaces())
+                {
+                    if (itf.getName().startsWith("jakarta.enterprise.inject.spi."))
+                    {
+                        return itf.getSimpleName();
+                    }
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    private static String getObserverName(ObserverMethod<?> observer)
+    {
+        Class<?> beanClass = observer.getBeanClass();
+        String beanClassName = beanClass == null ? observer.getClass().getName() : beanClass.getName();
+        if (observer instanceof ObserverMethodImpl && ((ObserverMethodImpl<?>) observer).getObserverMethod() != null)
+        {
+            return beanClassName + '#' + ((ObserverMethodImpl<?>) observer).getObserverMethod().getJavaMember().getName();
+        }
+        return beanClassName;
+    }
+
+    private List<ObserverEntry> sortedObservers()
+    {
+        List<ObserverEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Stats>> event : observers.entrySet())
+        {
+            for (Map.Entry<String, Stats> observer : event.getValue().entrySet())
+            {
+                entries.add(new ObserverEntry(event.getKey(), observer.getKey(), observer.getValue()));
+            }
+        }
+        entries.sort(Comparator.comparingLong((ObserverEntry e) -> e.stats.wallNanos).reversed());
+        return entries;
+    }
+
+    private List<Map.Entry<String, Long>> sortedArchives()
+    {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(archives.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries;
+    }
+
+    private static Method findAllocatedBytesMethod(ThreadMXBean bean)
+    {
+        try
+        {
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean", false, ClassLoader.getSystemClassLoader());
+            if (!type.isInstance(bean) || !Boolean.TRUE.equals(type.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean)))
+            {
+                return null;
+            }
+            return type.getMethod("getThreadAllocatedBytes", long.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException | LinkageError e)
+        {
+            return null;
+        }
+    }
+
+    private static long toMillis(long nanos)
+    {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static void appendStats(StringBuilder json, Stats stats)
+    {
+        json.append(", \"count\": ").append(stats.count)
+            .append(", \"wallNanos\": ").append(stats.wallNanos)
+            .append(", \"cpuNanos\": ").append(stats.cpuNanos)
+            .append(", \"allocatedBytes\": ").append(stats.allocatedBytes);
+    }
+
+    private static void appendString(StringBuilder json, String value)
+    {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+            {
+                json.append('\\').append(c);
+            }
+            else if (c < 0x20)
+            {
+                json.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+
+    /**
+     * A running measurement, gets recorded when it gets closed.
+     */
+    public static final class Timing implements AutoCloseable
+    {
+        private final StartupProfiler profiler;
+        private final Stats stats;
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocatedStart;
+
+        private Timing(StartupProfiler profiler, Stats stats, long wallStart, long cpuStart, long allocatedStart)
+        {
+            this.profiler = profiler;
+            this.stats = stats;
+            this.wallStart = wallStart;
+            this.cpuStart = cpuStart;
+            this.allocatedStart = allocatedStart;
+        }
+
+        @Override
+        public void close()
+        {
+            if (profiler == null)
+            {
+                return;
+            }
+            long wall = System.nanoTime() - wallStart;
+            long cpu = cpuStart < 0 ? -1 : profiler.cpuTime() - cpuStart;
+            long allocated = allocatedStart < 0 ? -1 : profiler.allocatedBytes() - allocatedStart;
+            profiler.record(stats, wall, cpu, allocated);
+        }
+    }
+
+    private static final class Stats
+    {
+        private int count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+    }
+
+    private static final class ObserverEntry
+    {
+        private final String event;
+        private final String observer;
+        private final Stats stats;
+
+        private ObserverEntry(String event, String observer, Stats stats)
+        {
+            this.event = event;
+            this.observer = observer;
+            this.stats = stats;
+        }
+    }
+}
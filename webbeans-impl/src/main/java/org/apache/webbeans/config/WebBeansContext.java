@@ -57,6 +57,7 @@ import org.apache.webbeans.portable.events.ExtensionLoader;
 import org.apache.webbeans.proxy.SubclassProxyFactory;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.ProxyRegistry;
 import org.apache.webbeans.service.DefaultInjectionPointService;
 import org.apache.webbeans.service.DefaultLoaderService;
 import org.apache.webbeans.spi.BeanArchiveService;
@@ -68,6 +69,7 @@ import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
+import org.apache.webbeans.util.ClassResolutionCache;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveService;
@@ -98,6 +100,7 @@ public class WebBeansContext
     private final InterceptorDecoratorProxyFactory interceptorDecoratorProxyFactory;
     private final NormalScopeProxyFactory normalScopeProxyFactory;
     private final SubclassProxyFactory subclassProxyFactory;
+    private final ProxyRegistry proxyRegistry = new ProxyRegistry();
     private final OpenWebBeansConfiguration openWebBeansConfiguration;
     private final PluginLoader pluginLoader = new PluginLoader();
     private final SerializableBeanVault serializableBeanVault = new SerializableBeanVault();
@@ -112,6 +115,8 @@ public class WebBeansContext
     private BeanArchiveService beanArchiveService;
     private final InterceptorResolutionService interceptorResolutionService = new InterceptorResolutionService(this);
     private final DeploymentValidationService deploymentValidationService = new DeploymentValidationService(this);
+    private final ClassResolutionCache classResolutionCache = new ClassResolutionCache();
+    private final StartupProfiler startupProfiler;
     private ScannerService scannerService;
     private ContextsService contextsService;
     private final ConversationManager conversationManager;
@@ -135,6 +140,8 @@ public class WebBeansContext
     {
         this.openWebBeansConfiguration = openWebBeansConfiguration != null ? openWebBeansConfiguration : new OpenWebBeansConfiguration();
         annotationManager = new AnnotationManager(this);
+        startupProfiler = new StartupProfiler(this.openWebBeansConfiguration.isStartupProfilerEnabled(),
+                this.openWebBeansConfiguration.getStartupProfilerReport());
 
         //pluggable service-loader
         if (initialServices == null || !initialServices.containsKey(LoaderService.class))
@@ -333,6 +340,22 @@ public class WebBeansContext
         return interceptorResolutionService;
     }
 
+    /**
+     * @return the cache of the classes which got resolved during the deployment
+     */
+    public ClassResolutionCache getClassResolutionCache()
+    {
+        return classResolutionCache;
+    }
+
+    /**
+     * @return the profiler which records the timings of the container start
+     */
+    public StartupProfiler getStartupProfiler()
+    {
+        return startupProfiler;
+    }
+
     public PluginLoader getPluginLoader()
     {
         return pluginLoader;
@@ -359,6 +382,11 @@ public class WebBeansContext
         return subclassProxyFactory;
     }
 
+    public ProxyRegistry getProxyRegistry()
+    {
+        return proxyRegistry;
+    }
+
     public TransactionService getTransactionService() // used in event bus so ensure it is a plain getter at runtime
     {
         if (transactionService == null)
@@ -636,6 +664,9 @@ public class WebBeansContext
 
         managerMap.clear();
         serviceMap.clear();
+        classResolutionCache.clear();
+        startupProfiler.clear();
+        proxyRegistry.clear();
     }
 
     private void destroyServices(Collection<Object> services)
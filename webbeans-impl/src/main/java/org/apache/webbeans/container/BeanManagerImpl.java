@@ -80,7 +80,9 @@ import org.apache.webbeans.component.creation.MethodProducerFactory;
 import org.apache.webbeans.component.third.PassivationCapableThirdpartyBeanImpl;
 import org.apache.webbeans.component.third.ThirdpartyBeanImpl;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.BuiltInScope;
 import org.apache.webbeans.context.CustomAlterablePassivatingContextImpl;
+import org.apache.webbeans.context.CustomContextRegistry;
 import org.apache.webbeans.context.CustomPassivatingContextImpl;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.decorator.DecoratorComparator;
@@ -95,8 +97,6 @@ import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.portable.LazyInterceptorDefinedInjectionTarget;
 import org.apache.webbeans.portable.events.discovery.ErrorStack;
-import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
-import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
 import org.apache.webbeans.spi.adaptor.ELAdaptor;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
@@ -122,24 +122,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     private static final long serialVersionUID = 2L;
 
     /**
-     * Holds the non-standard contexts with key = scope type
-     * This will get used if more than 1 scope exists.
+     * Holds the non-standard contexts.
      * Since the contexts will only get added through the
      * {@link org.apache.webbeans.portable.events.discovery.AfterBeanDiscoveryImpl}
      * we don't even need a ConcurrentHashMap.
-     * @see #singleContextMap
      */
-    private Map<Class<? extends Annotation>, List<Context>> contextMap = new HashMap<>();
-
-    /**
-     * This will hold non-standard contexts where only one Context implementation got registered
-     * for the given key = scope type
-     * Since the contexts will only get added through the
-     * {@link org.apache.webbeans.portable.events.discovery.AfterBeanDiscoveryImpl}
-     * we don't even need a ConcurrentHashMap.
-     * @see #contextMap
-     */
-    private Map<Class<? extends Annotation>, Context> singleContextMap = new HashMap<>();
+    private final CustomContextRegistry customContexts = new CustomContextRegistry();
 
     /**Deployment archive beans*/
     private Set<Bean<?>> deploymentBeans = new HashSet<>();
@@ -291,55 +279,24 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         Asserts.assertNotNull(scopeType, "scopeType");
 
-        Context standardContext = webBeansContext.getContextsService().getCurrentContext(scopeType);
-
-        if(standardContext != null && standardContext.isActive())
-        {
-            return standardContext;
-        }
-
-        // this is by far the most case
-        Context singleContext = singleContextMap.get(scopeType);
-        if (singleContext != null)
+        if (!customContexts.isCustomScope(scopeType))
         {
-            if (!singleContext.isActive())
-            {
-                throw new ContextNotActiveException("WebBeans context with scope type annotation @"
-                                                    + scopeType.getSimpleName()
-                                                    + " does not exist within current thread");
-            }
-            return singleContext;
-        }
-
-        // the spec also allows for multiple contexts existing for the same scope type
-        // but in this case only one must be active at a time (for the current thread)
-        List<Context> others = contextMap.get(scopeType);
-        Context found = null;
+            Context standardContext = webBeansContext.getContextsService().getCurrentContext(scopeType);
 
-        if(others != null)
-        {
-            for(Context otherContext : others)
+            if(standardContext != null && standardContext.isActive())
             {
-                if(otherContext.isActive())
-                {
-                    if (found != null)
-                    {
-                        throw new IllegalStateException("More than one active context exists with scope type annotation @"
-                                                        + scopeType.getSimpleName());
-                    }
-
-                    found = otherContext;
-                }
+                return standardContext;
             }
         }
 
-        if (found == null)
+        Context customContext = customContexts.getActiveContext(scopeType);
+        if (customContext == null)
         {
             throw new ContextNotActiveException("WebBeans context with scope type annotation @"
                                                 + scopeType.getSimpleName() + " does not exist within current thread");
         }
 
-        return found;
+        return customContext;
     }
 
     @Override
@@ -423,10 +380,27 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         }
     }
 
+    /**
+     * Forgets the passivation ids of beans which got removed from the deployment again.
+     * This goes by the beans and not by their ids, as a disabled bean has no id anymore.
+     *
+     * @see #addPassivationInfo(Bean)
+     */
+    public void removePassivationInfo(Set<Bean<?>> beans)
+    {
+        if (!beans.isEmpty())
+        {
+            passivationBeans.values().removeIf(beans::contains);
+        }
+    }
+
 
     public BeanManager addContext(Context context)
     {
-        addContext(context.getScope(), wrapCustomContext(context));
+        Asserts.assertNotNull(context, "context");
+        Asserts.assertNotNull(context.getScope(), "scopeType");
+
+        customContexts.addContext(wrapCustomContext(context), context);
 
         return this;
 
@@ -547,39 +521,6 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return deploymentBeans;
     }
 
-    private void addContext(Class<? extends Annotation> scopeType, jakarta.enterprise.context.spi.Context context)
-    {
-        Asserts.assertNotNull(scopeType, "scopeType");
-        Asserts.assertNotNull(context, "context");
-
-        List<Context> contextList = contextMap.get(scopeType);
-
-        if(contextList == null)
-        {
-            Context singleContext = singleContextMap.get(scopeType);
-            if (singleContext == null)
-            {
-                // first put them into the singleContextMap
-                singleContextMap.put(scopeType, context);
-            }
-            else
-            {
-                // from the 2nd Context for this scopetype on, we need to maintain a List for them
-                contextList = new ArrayList<>();
-                contextList.add(singleContext);
-                contextList.add(context);
-
-                contextMap.put(scopeType, contextList);
-                singleContextMap.remove(scopeType);
-            }
-        }
-        else
-        {
-            contextList.add(context);
-        }
-
-    }
-
     @Override
     public Reference getReference() throws NamingException
     {
@@ -653,13 +594,25 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             return null;
         }
 
-        //Injected instance
-        Object instance = null;
+        //Find the injection point Bean
+        Bean<?> injectedBean = injectionResolver.getInjectionPointBean(injectionPoint);
 
+        return getInjectableReference(injectionPoint, injectedBean, ownerCreationalContext);
+    }
 
-        //Find the injection point Bean
-        Bean<Object> injectedBean = (Bean<Object>)injectionResolver.getInjectionPointBean(injectionPoint);
+    /**
+     * Like {@link #getInjectableReference(InjectionPoint, CreationalContext)} but with an already resolved Bean.
+     *
+     * @param injectionPoint the injection point to get the reference for
+     * @param bean the resolved Bean for the given injection point
+     * @param ownerCreationalContext the CreationalContext of the instance which owns the injection point
+     */
+    public Object getInjectableReference(InjectionPoint injectionPoint, Bean<?> bean, CreationalContext<?> ownerCreationalContext)
+    {
+        //Injected instance
+        Object instance = null;
 
+        Bean<Object> injectedBean = (Bean<Object>) bean;
 
         if(WebBeansUtil.isDependent(injectedBean))
         {
@@ -864,10 +817,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
                 throw new IllegalArgumentException(e);
             }
         } // TODO else constructor rules are a bit different
-        GProcessInjectionPoint event = webBeansContext.getWebBeansUtil().fireProcessInjectionPointEvent(injectionPoint);
-        injectionPoint = event.getInjectionPoint();
-        event.setStarted();
-        return injectionPoint;
+        return webBeansContext.getWebBeansUtil().fireProcessInjectionPointEventIfObserved(injectionPoint);
     }
 
     public <X> ProducerFactory<X> getProducerFactory(AnnotatedField<? super X> field, Bean<X> bean)
@@ -1063,6 +1013,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     @Override
     public boolean isNormalScope(Class<? extends Annotation> scopeType)
     {
+        BuiltInScope builtInScope = BuiltInScope.of(scopeType);
+        if (builtInScope != BuiltInScope.CUSTOM)
+        {
+            return builtInScope.isNormal();
+        }
+
         Boolean isNormal = isScopeTypeNormalCache.get(scopeType);
 
         if (isNormal != null)
@@ -1088,6 +1044,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     @Override
     public boolean isPassivatingScope(Class<? extends Annotation> annotationType)
     {
+        BuiltInScope builtInScope = BuiltInScope.of(annotationType);
+        if (builtInScope != BuiltInScope.CUSTOM)
+        {
+            return builtInScope.isPassivating();
+        }
+
         for(ExternalScope extScope : additionalScopes)
         {
             if (extScope.getScope().equals(annotationType))
@@ -1256,10 +1218,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
                 throw new IllegalArgumentException(ie);
             }
         }
-        GProcessInjectionTarget event = webBeansContext.getWebBeansUtil().fireProcessInjectionTargetEvent(injectionTarget, type);
-        InjectionTarget it = event.getInjectionTarget();
-        event.setStarted();
-        return it;
+        return webBeansContext.getWebBeansUtil().fireProcessInjectionTargetEventIfObserved(injectionTarget, type);
     }
 
 
@@ -1461,12 +1420,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         scopeAnnotations.clear();
         nonscopeAnnotations.clear();
         clearCacheProxies();
-        singleContextMap.clear();
-        contextMap.clear();
+        customContexts.clear();
         deploymentBeans.clear();
         errorStack.clear();
         producersForJavaEeComponents.clear();
         passivationBeans.clear();
+        webBeansContext.getInterceptorResolutionService().clear();
         webBeansContext.getInterceptorsManager().clear();
         webBeansContext.getDecoratorsManager().clear();
         webBeansContext.getAnnotatedElementFactory().clear();
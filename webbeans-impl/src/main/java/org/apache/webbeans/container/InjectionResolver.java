@@ -132,6 +132,11 @@ public class InjectionResolver
     {
         this.startup = startup;
     }
+
+    public boolean isStartup()
+    {
+        return startup;
+    }
     
     /**
      * Clear caches.
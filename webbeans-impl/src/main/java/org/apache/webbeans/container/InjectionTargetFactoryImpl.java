@@ -24,7 +24,6 @@ import org.apache.webbeans.component.ManagedBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.configurator.AnnotatedTypeConfiguratorImpl;
 import org.apache.webbeans.portable.InjectionTargetImpl;
-import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
 import org.apache.webbeans.util.Asserts;
 
 import jakarta.annotation.PostConstruct;
@@ -69,9 +68,7 @@ public class InjectionTargetFactoryImpl<T> implements InjectionTargetFactory<T>
         {
             ManagedBean.class.cast(bean).setOriginalInjectionTarget(injectionTarget);
         }
-        GProcessInjectionTarget event = webBeansContext.getWebBeansUtil().fireProcessInjectionTargetEvent(injectionTarget, at);
-        InjectionTarget it = event.getInjectionTarget();
-        event.setStarted();
+        InjectionTarget<T> it = webBeansContext.getWebBeansUtil().fireProcessInjectionTargetEventIfObserved(injectionTarget, at);
 
         // creating the InjectionTarget must only be done once.
         this.annotatedType = null;
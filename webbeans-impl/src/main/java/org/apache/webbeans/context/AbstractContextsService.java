@@ -21,6 +21,7 @@ package org.apache.webbeans.context;
 import java.lang.annotation.Annotation;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ContextException;
 import jakarta.enterprise.context.SessionScoped;
@@ -75,6 +76,34 @@ public abstract class AbstractContextsService implements ContextsService
         return getCurrentContext(scopeType);
     }
 
+    /**
+     * Resolves the lookup of the current Context for the given scope once.
+     * The normal-scoped proxies invoke the returned accessor on each method invocation,
+     * thus implementations should return an accessor which doesn't need to compare the scope again.
+     *
+     * @return the accessor for the current Context, which might return {@code null} or an inactive Context
+     */
+    public Supplier<Context> getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        return () -> getCurrentContext(scopeType);
+    }
+
+    /**
+     * @return whether a subclass replaced the {@link #getCurrentContext(Class)} lookup of the given implementation,
+     *         in which case a specialized {@link #getContextAccessor(Class)} must not bypass it
+     */
+    protected boolean overridesCurrentContextLookup(Class<? extends AbstractContextsService> implementation)
+    {
+        try
+        {
+            return getClass().getMethod("getCurrentContext", Class.class).getDeclaringClass() != implementation;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return true;
+        }
+    }
+
     @Override
     public void init(Object initializeObject)
     {
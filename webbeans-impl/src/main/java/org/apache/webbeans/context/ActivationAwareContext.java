@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import jakarta.enterprise.context.spi.Context;
+
+/**
+ * Custom {@link Context} implementations which get registered via
+ * {@link jakarta.enterprise.inject.spi.AfterBeanDiscovery#addContext(Context)}
+ * can implement this interface to tell OpenWebBeans when they get activated or deactivated.
+ *
+ * For such contexts the result of resolving the active context for the current thread
+ * gets cached until the next signal and {@link Context#isActive()} will not get invoked
+ * on every access of a contextual reference.
+ *
+ * @see CustomContextRegistry
+ */
+public interface ActivationAwareContext extends Context
+{
+    /**
+     * Gets invoked by the container once when the context gets registered.
+     * The given listener must get invoked whenever the result of {@link Context#isActive()}
+     * might change for any thread, e.g. when the context gets started or ended.
+     * The listener is thread safe and cheap to invoke.
+     *
+     * @param listener to notify about activation and deactivation
+     */
+    void addActivationListener(Runnable listener);
+}
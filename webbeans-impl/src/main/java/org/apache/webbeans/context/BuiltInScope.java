@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ConversationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.SessionScoped;
+import jakarta.inject.Singleton;
+import java.lang.annotation.Annotation;
+
+/**
+ * The scopes which are handled by the {@link org.apache.webbeans.spi.ContextsService}.
+ * Allows to dispatch on a scope type via switch instead of a chain of equals checks.
+ */
+public enum BuiltInScope
+{
+    REQUEST(RequestScoped.class, true, false),
+    SESSION(SessionScoped.class, true, true),
+    APPLICATION(ApplicationScoped.class, true, false),
+    CONVERSATION(ConversationScoped.class, true, true),
+    DEPENDENT(Dependent.class, false, false),
+    SINGLETON(Singleton.class, false, false),
+
+    /**
+     * any other scope
+     */
+    CUSTOM(null, false, false);
+
+    private static final BuiltInScope[] VALUES = values();
+
+    /**
+     * We only store the ordinal as the scope annotations usually get loaded by a parent ClassLoader.
+     * Storing the enum itself would pin our ClassLoader.
+     */
+    private static final ClassValue<Integer> ORDINALS = new ClassValue<Integer>()
+    {
+        @Override
+        protected Integer computeValue(Class<?> type)
+        {
+            for (BuiltInScope scope : VALUES)
+            {
+                if (scope.scopeType == type)
+                {
+                    return scope.ordinal();
+                }
+            }
+            return CUSTOM.ordinal();
+        }
+    };
+
+    private final Class<? extends Annotation> scopeType;
+    private final boolean normal;
+    private final boolean passivating;
+
+    BuiltInScope(Class<? extends Annotation> scopeType, boolean normal, boolean passivating)
+    {
+        this.scopeType = scopeType;
+        this.normal = normal;
+        this.passivating = passivating;
+    }
+
+    /**
+     * @return the built-in scope for the given scope annotation or {@link #CUSTOM}
+     */
+    public static BuiltInScope of(Class<? extends Annotation> scopeType)
+    {
+        return VALUES[ORDINALS.get(scopeType)];
+    }
+
+    /**
+     * @return the scope annotation or {@code null} for {@link #CUSTOM}
+     */
+    public Class<? extends Annotation> getScopeType()
+    {
+        return scopeType;
+    }
+
+    public boolean isNormal()
+    {
+        return normal;
+    }
+
+    public boolean isPassivating()
+    {
+        return passivating;
+    }
+}
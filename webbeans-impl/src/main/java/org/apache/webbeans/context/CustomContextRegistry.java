@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import jakarta.enterprise.context.spi.Context;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the contexts which got registered via
+ * {@link jakarta.enterprise.inject.spi.AfterBeanDiscovery#addContext(Context)}.
+ *
+ * Every scope gets an integer slot. If all contexts of a scope are {@link ActivationAwareContext}s
+ * then the index of the context which was active for the current thread gets cached
+ * until one of the contexts signals an activation change. Otherwise all contexts of the
+ * scope get asked whether they are active, as required to detect multiple active contexts.
+ *
+ * Contexts only get added during {@link jakarta.enterprise.inject.spi.AfterBeanDiscovery},
+ * thus we don't need any concurrent structures for the registration itself.
+ */
+public class CustomContextRegistry
+{
+    private final Map<Class<? extends Annotation>, Slot> slots = new HashMap<>();
+
+    /**
+     * Per thread and slot the pair of [version, index + 1 of the active context or 0 if none is active].
+     * We only store ints to not leak any contexts or their ClassLoaders via pooled threads.
+     */
+    private ThreadLocal<int[]> resolvedContexts = new ThreadLocal<>();
+
+    /**
+     * @param context the context as it should get returned, maybe wrapped
+     * @param original the context as it got registered by the user
+     */
+    public void addContext(Context context, Context original)
+    {
+        Class<? extends Annotation> scopeType = context.getScope();
+        Slot slot = slots.get(scopeType);
+        if (slot == null)
+        {
+            slot = new Slot(slots.size(), BuiltInScope.of(scopeType) == BuiltInScope.CUSTOM);
+            slots.put(scopeType, slot);
+        }
+        slot.add(context, original);
+    }
+
+    /**
+     * @return {@code true} if contexts got registered for the given scope and the scope
+     *         is not one of the scopes which are handled by the {@link org.apache.webbeans.spi.ContextsService}.
+     */
+    public boolean isCustomScope(Class<? extends Annotation> scopeType)
+    {
+        Slot slot = slots.get(scopeType);
+        return slot != null && slot.custom;
+    }
+
+    /**
+     * @return the active context for the given scope or {@code null} if there is none
+     * @throws IllegalStateException if more than one context is active for the given scope
+     */
+    public Context getActiveContext(Class<? extends Annotation> scopeType)
+    {
+        Slot slot = slots.get(scopeType);
+        if (slot == null)
+        {
+            return null;
+        }
+
+        if (!slot.activationAware)
+        {
+            // we cannot cache anything as a 2nd context might have become active in the meantime
+            int found = slot.findActive(scopeType);
+            return found < 0 ? null : slot.contexts[found];
+        }
+
+        int position = slot.index * 2;
+        int[] resolved = resolvedContexts.get();
+        if (resolved == null || resolved.length <= position)
+        {
+            resolved = resolved == null ? new int[slots.size() * 2] : Arrays.copyOf(resolved, slots.size() * 2);
+            resolvedContexts.set(resolved);
+        }
+
+        int version = slot.version.get();
+        if (resolved[position] == version)
+        {
+            int cached = resolved[position + 1];
+            return cached == 0 ? null : slot.contexts[cached - 1];
+        }
+
+        int found = slot.findActive(scopeType);
+        resolved[position] = version;
+        resolved[position + 1] = found + 1;
+        return found < 0 ? null : slot.contexts[found];
+    }
+
+    public void clear()
+    {
+        slots.clear();
+        resolvedContexts = new ThreadLocal<>();
+    }
+
+
+    private static final class Slot
+    {
+        private final int index;
+        private final boolean custom;
+        private final AtomicInteger version = new AtomicInteger(1);
+        private Context[] contexts = new Context[0];
+        private boolean activationAware = true;
+
+        private Slot(int index, boolean custom)
+        {
+            this.index = index;
+            this.custom = custom;
+        }
+
+        private void add(Context context, Context original)
+        {
+            contexts = Arrays.copyOf(contexts, contexts.length + 1);
+            contexts[contexts.length - 1] = context;
+
+            if (original instanceof ActivationAwareContext)
+            {
+                ((ActivationAwareContext) original).addActivationListener(this::activationChanged);
+            }
+            else
+            {
+                activationAware = false;
+            }
+        }
+
+        private void activationChanged()
+        {
+            // 0 is reserved for 'not yet resolved'
+            version.updateAndGet(v -> v == -1 ? 1 : v + 1);
+        }
+
+        private int findActive(Class<? extends Annotation> scopeType)
+        {
+            // the spec also allows for multiple contexts existing for the same scope type
+            // but in this case only one must be active at a time (for the current thread)
+            int found = -1;
+            for (int i = 0; i < contexts.length; i++)
+            {
+                if (contexts[i].isActive())
+                {
+                    if (found >= 0)
+                    {
+                        throw new IllegalStateException("More than one active context exists with scope type annotation @"
+                                                        + scopeType.getSimpleName());
+                    }
+                    found = i;
+                }
+            }
+            return found;
+        }
+    }
+}
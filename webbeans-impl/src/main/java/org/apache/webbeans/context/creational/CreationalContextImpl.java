@@ -32,9 +32,10 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /** {@inheritDoc} */
 public class CreationalContextImpl<T> implements CreationalContext<T>, Serializable
@@ -48,21 +49,27 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private transient T delegate;
     
     /**
-     * The injection point objects to be injected into injection points of type InjectionPoint
+     * The injection point objects to be injected into injection points of type InjectionPoint.
+     * Used as a stack, the current injection point is at {@code injectionPointCount - 1}.
      */
-    private transient LinkedList<InjectionPoint> injectionPoints;
+    private transient InjectionPoint[] injectionPoints;
+
+    private transient int injectionPointCount;
     
     /**
      * The EventMetadata objects to be injected into injection points of type EventMetadata
      */
     private transient LinkedList<EventMetadata> eventMetadata;
 
+    private static final AtomicReferenceFieldUpdater<CreationalContextImpl, DependentInstances> DEPENDENT_OBJECTS_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(CreationalContextImpl.class, DependentInstances.class, "dependentObjects");
+
     /**
      * Contextual bean dependent instances
      *
      * <p><b>ATTENTION</b> This variable gets initiated lazily!</p>
      */
-    private List<DependentCreationalContext<?>> dependentObjects;
+    private transient volatile DependentInstances dependentObjects;
 
     /**
      * Contains the currently created bean
@@ -117,29 +124,35 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
 
     public InjectionPoint getInjectionPoint()
     {
-        if (injectionPoints == null || injectionPoints.isEmpty())
+        if (injectionPointCount == 0)
         {
             return null;
         }
-        return injectionPoints.peek();
+        return injectionPoints[injectionPointCount - 1];
     }
 
     public void putInjectionPoint(InjectionPoint injectionPoint)
     {
         if (injectionPoints == null)
         {
-            injectionPoints = new LinkedList<>();
+            injectionPoints = new InjectionPoint[4];
+        }
+        else if (injectionPointCount == injectionPoints.length)
+        {
+            injectionPoints = Arrays.copyOf(injectionPoints, injectionPointCount * 2);
         }
-        injectionPoints.push(injectionPoint);
+        injectionPoints[injectionPointCount++] = injectionPoint;
     }
 
     public InjectionPoint removeInjectionPoint()
     {
-        if (injectionPoints == null || injectionPoints.isEmpty())
+        if (injectionPointCount == 0)
         {
             return null;
         }
-        return injectionPoints.pop();
+        InjectionPoint injectionPoint = injectionPoints[--injectionPointCount];
+        injectionPoints[injectionPointCount] = null;
+        return injectionPoint;
     }
 
     public EventMetadata getEventMetadata()
@@ -193,103 +206,71 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             DependentCreationalContext<K> dependentCreational = new DependentCreationalContext<>(dependent);
             dependentCreational.setInstance(instance);
 
-            synchronized(this)
+            DependentInstances dependents = dependentObjects;
+            if (dependents == null)
             {
-                if (dependentObjects == null)
-                {
-                    dependentObjects = new ArrayList<>();
-                }
-
-                if (dependent == bean)
-                {
-                    dependentObjects.add(0, dependentCreational);
-                }
-                else
-                {
-                    dependentObjects.add(dependentCreational);
-                }
+                DEPENDENT_OBJECTS_UPDATER.compareAndSet(this, null, new DependentInstances());
+                dependents = dependentObjects;
             }
+
+            // instances of the bean itself get destroyed before all its dependents
+            dependents.add(dependentCreational, dependent == bean);
         }
     }
 
     public boolean containsDependent(Contextual<?> contextual, Object instance)
     {
-        if (dependentObjects == null)
-        {
-            return false;
-        }
-        synchronized (this)
-        {
-            for (DependentCreationalContext<?> dependentCreationalContext: dependentObjects)
-            {
-                if (dependentCreationalContext.getContextual().equals(contextual) && dependentCreationalContext.getInstance() == instance)
-                {
-                    return true;
-                }
-            }
-            return false;
-        }
+        DependentInstances dependents = dependentObjects;
+        return dependents != null && dependents.contains(contextual, instance);
     }
 
     public <X> void destroyDependent(X instance)
     {
-        if (dependentObjects == null)
+        DependentInstances dependents = dependentObjects;
+        if (dependents == null)
         {
             return;
         }
-        synchronized (this)
+
+        DependentCreationalContext<?> dependentContext = dependents.remove(instance);
+        if (dependentContext != null)
         {
-            for (Iterator<DependentCreationalContext<?>> i = dependentObjects.iterator(); i.hasNext();)
-            {
-                DependentCreationalContext<?> dependentContext = i.next();
-                if (dependentContext.getInstance() == instance)
-                {
-                    Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
-                    CreationalContext<X> creationalContext = (CreationalContext<X>)this;
-                    dependentContextual.destroy(instance, creationalContext);
-                    if (dependentObjects != null)
-                    {
-                        i.remove();
-                    } // else previous destroy removed it
-                    break;
-                }
-            }
+            Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
+            CreationalContext<X> creationalContext = (CreationalContext<X>)this;
+            dependentContextual.destroy(instance, creationalContext);
         }
     }
 
     @SuppressWarnings("unchecked")
     public void removeAllDependents()
     {
-        if (dependentObjects == null || destroying)
+        DependentInstances dependents = dependentObjects;
+        if (dependents == null || destroying)
         {
             return;
         }
         
         destroying = true;
 
-        synchronized(this)
+        // this is kind of an emergency valve...
+        int maxRemoval = dependents.size() * 3;
+        while (!dependents.isEmpty() && maxRemoval > 0)
         {
-            if (dependentObjects != null)
+            // the destroyal might register a fresh PreDestroy interceptor as dependent object,
+            // so we drain until nothing is left
+            for (DependentCreationalContext<?> dependentContext : dependents.drain())
             {
-                // this is kind of an emergency valve...
-                int maxRemoval = dependentObjects.size() * 3;
-                while (!dependentObjects.isEmpty() && maxRemoval > 0)
-                {
-                    // we don't use an iterator because the destroyal might register a 
-                    // fresh PreDestroy interceptor as dependent object...
-                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentObjects.get(0);
-                    dependentObjects.remove(0);
-                    dependent.getContextual().destroy((T) dependent.getInstance(), this);
-                    maxRemoval--;
-                }
-                    
-                if (maxRemoval == 0)
-                {
-                    throw new WebBeansException("infinite loop detected while destroying bean " + bean);
-                }
+                DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentContext;
+                dependent.getContextual().destroy((T) dependent.getInstance(), this);
+                maxRemoval--;
             }
         }
 
+        if (!dependents.isEmpty())
+        {
+            throw new WebBeansException("infinite loop detected while destroying bean " + bean);
+        }
+
         dependentObjects = null;
     }
     
@@ -332,7 +313,8 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private void writeObject(ObjectOutputStream s)
     throws IOException
     {
-        s.writeObject(dependentObjects);
+        DependentInstances dependents = dependentObjects;
+        s.writeObject(dependents != null ? new ArrayList<>(dependents.snapshot()) : null);
 
         String id = WebBeansUtil.getPassivationId(bean);
         if (bean != null && id != null)
@@ -354,7 +336,7 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     throws IOException, ClassNotFoundException
     {
         webBeansContext = WebBeansContext.currentInstance();
-        dependentObjects = (List<DependentCreationalContext<?>>)s.readObject();
+        List<DependentCreationalContext<?>> dependents = (List<DependentCreationalContext<?>>)s.readObject();
 
         String id = (String) s.readObject();
         if (id != null)
@@ -362,6 +344,15 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             bean = (Bean<T>) webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
         }
 
+        if (dependents != null)
+        {
+            dependentObjects = new DependentInstances();
+            for (DependentCreationalContext<?> dependent : dependents)
+            {
+                dependentObjects.add(dependent, dependent.getContextual() == bean);
+            }
+        }
+
     }
 
     @Override
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.creational;
+
+import jakarta.enterprise.context.spi.Contextual;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the &#0064;Dependent instances of a {@link CreationalContextImpl}.
+ *
+ * <p>Dependents are keyed by the identity of their instance, so registering and
+ * destroying a single dependent is O(1) and doesn't need to take a monitor.
+ * {@link #drain()} hands out all remaining dependents in destruction order:
+ * instances of the owning bean itself first, then all other dependents in
+ * reverse order of their registration.</p>
+ */
+final class DependentInstances
+{
+    /**
+     * Orders instances of the owning bean before all other dependents.
+     */
+    private static final long OWNER_OFFSET = Long.MAX_VALUE / 2;
+
+    private static final Comparator<Entry> DESTRUCTION_ORDER = Comparator.comparingLong((Entry e) -> e.order).reversed();
+
+    private final ConcurrentMap<InstanceKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param dependent the dependent to track
+     * @param owner whether the instance belongs to the bean which owns the CreationalContext
+     */
+    void add(DependentCreationalContext<?> dependent, boolean owner)
+    {
+        long order = sequence.incrementAndGet() + (owner ? OWNER_OFFSET : 0);
+        entries.compute(new InstanceKey(dependent.getInstance()), (key, previous) -> new Entry(dependent, order, previous));
+    }
+
+    boolean contains(Contextual<?> contextual, Object instance)
+    {
+        for (Entry entry = entries.get(new InstanceKey(instance)); entry != null; entry = entry.previous)
+        {
+            if (entry.dependent.getContextual().equals(contextual))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking the most recently registered dependent for the given instance.
+     *
+     * @return the removed dependent or {@code null} if the instance is not tracked
+     */
+    DependentCreationalContext<?> remove(Object instance)
+    {
+        Entry[] removed = new Entry[1];
+        entries.computeIfPresent(new InstanceKey(instance), (key, entry) ->
+        {
+            removed[0] = entry;
+            return entry.previous;
+        });
+        return removed[0] != null ? removed[0].dependent : null;
+    }
+
+    /**
+     * Removes all currently tracked dependents.
+     *
+     * @return the removed dependents in the order they have to get destroyed
+     */
+    List<DependentCreationalContext<?>> drain()
+    {
+        List<Entry> drained = new ArrayList<>(entries.size());
+        for (InstanceKey key : entries.keySet())
+        {
+            for (Entry entry = entries.remove(key); entry != null; entry = entry.previous)
+            {
+                drained.add(entry);
+            }
+        }
+        drained.sort(DESTRUCTION_ORDER);
+
+        List<DependentCreationalContext<?>> dependents = new ArrayList<>(drained.size());
+        for (Entry entry : drained)
+        {
+            dependents.add(entry.dependent);
+        }
+        return dependents;
+    }
+
+    /**
+     * @return all tracked dependents in registration order without removing them
+     */
+    List<DependentCreationalContext<?>> snapshot()
+    {
+        List<Entry> all = new ArrayList<>(entries.size());
+        for (Entry head : entries.values())
+        {
+            for (Entry entry = head; entry != null; entry = entry.previous)
+            {
+                all.add(entry);
+            }
+        }
+        all.sort(Comparator.comparingLong(e -> e.order));
+
+        List<DependentCreationalContext<?>> dependents = new ArrayList<>(all.size());
+        for (Entry entry : all)
+        {
+            dependents.add(entry.dependent);
+        }
+        return dependents;
+    }
+
+    boolean isEmpty()
+    {
+        return entries.isEmpty();
+    }
+
+    int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Immutable registration, chained if the very same instance got registered more than once.
+     */
+    private static final class Entry
+    {
+        private final DependentCreationalContext<?> dependent;
+        private final long order;
+        private final Entry previous;
+
+        private Entry(DependentCreationalContext<?> dependent, long order, Entry previous)
+        {
+            this.dependent = dependent;
+            this.order = order;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Map key comparing the wrapped instance by identity.
+     */
+    private static final class InstanceKey
+    {
+        private final Object instance;
+        private final int hash;
+
+        private InstanceKey(Object instance)
+        {
+            this.instance = instance;
+            this.hash = System.identityHashCode(instance);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof InstanceKey && ((InstanceKey) o).instance == instance;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
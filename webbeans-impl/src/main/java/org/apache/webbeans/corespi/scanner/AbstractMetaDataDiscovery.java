@@ -24,15 +24,18 @@ import static java.util.stream.Collectors.toMap;
 
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
 import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ScanCache;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
 import org.apache.webbeans.spi.BdaScannerService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.util.ClassResolutionCache;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.UrlSet;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -46,10 +49,16 @@ import jakarta.decorator.Decorator;
 import jakarta.enterprise.context.Dependent;
 import jakarta.interceptor.Interceptor;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -100,6 +109,12 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
 
     protected String[] scanningExcludes;
 
+    /**
+     * compiled from the {@link #scanningExcludes}, gets compiled again if subclasses replace them
+     */
+    private ScanExclusionMatcher scanningExcludesMatcher;
+    private String[] compiledScanningExcludes;
+
     protected ClassLoader loader;
     protected CdiArchive archive;
     protected OwbAnnotationFinder finder;
@@ -132,14 +147,41 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                     .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
             extensionJars.clear(); // no more needed
         }
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        String scanCacheDirectory = configuration.getScanCacheDirectory();
         archive = new CdiArchive(
                 beanArchiveService, WebBeansUtil.getCurrentClassLoader(),
-                beanDeploymentUrls, userFilter, getAdditionalArchive());
-        finder = new OwbAnnotationFinder(archive);
+                beanDeploymentUrls, userFilter, getAdditionalArchive(),
+                configuration.useMappedJarScanning(),
+                scanCacheDirectory == null ? null : new ScanCache(Paths.get(scanCacheDirectory)),
+                configuration.isSkipNonBeanClasses());
+        try
+        {
+            finder = new OwbAnnotationFinder(archive);
+        }
+        finally
+        {
+            archive.close();
+        }
+        archive.applyScanCache(finder);
+
+        StartupProfiler profiler = webBeansContext.getStartupProfiler();
+        if (profiler.isEnabled())
+        {
+            archive.scanTimes().forEach(profiler::archiveScanned);
+        }
 
         return finder;
     }
 
+    /**
+     * @return the annotation index of the scanned classes or {@code null} if the classes didn't get scanned (yet)
+     */
+    public OwbAnnotationFinder getAnnotationFinder()
+    {
+        return finder;
+    }
+
     protected Archive getAdditionalArchive()
     {
         return null;
@@ -335,17 +377,15 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         }
         else
         {
-            if (path.contains("geronimo-"))
+            int geronimoIdx = path.lastIndexOf("geronimo-");
+            int slashIdx = geronimoIdx > 0 ? path.indexOf('/', geronimoIdx) : -1;
+            if (geronimoIdx > 0 && path.charAt(geronimoIdx - 1) == '/' && (slashIdx < 0 || slashIdx >= path.length() - 2))
             {
-                // we could check for META-INF/maven/org.apache.geronimo.specs presence there but this is faster
-                final File file = Files.toFile(url);
-                if (file != null)
+                // we could check for META-INF/maven/org.apache.geronimo.specs presence there but this is faster.
+                // The file name is the last path segment, only followed by the '!/' of jar: URLs.
+                if (path.indexOf("_spec", geronimoIdx) > 0)
                 {
-                    final String filename = file.getName();
-                    if (filename.startsWith("geronimo-") && filename.contains("_spec"))
-                    {
-                        return true;
-                    }
+                    return true;
                 }
             }
         }
@@ -358,15 +398,13 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         // lazy init - required when using DS CdiTestRunner
         initScanningExcludes();
 
-        for (String p : scanningExcludes)
+        String[] excludes = scanningExcludes;
+        if (scanningExcludesMatcher == null || compiledScanningExcludes != excludes)
         {
-            int i = path.indexOf(p);
-            if (i > 0)
-            {
-                return i;
-            }
+            scanningExcludesMatcher = new ScanExclusionMatcher(Arrays.asList(excludes));
+            compiledScanningExcludes = excludes;
         }
-        return -1;
+        return scanningExcludesMatcher.indexOf(path, 1);
     }
 
 
@@ -421,10 +459,56 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
             OpenWebBeansConfiguration owbConfiguration = WebBeansContext.currentInstance().getOpenWebBeansConfiguration();
             String scanningExcludesProperty = owbConfiguration.getProperty(OpenWebBeansConfiguration.SCAN_EXCLUSION_PATHS);
             List<String> excludes = owbConfiguration.splitValues(scanningExcludesProperty);
+            for (String exclusionFile : owbConfiguration.splitValues(owbConfiguration.getProperty(OpenWebBeansConfiguration.SCAN_EXCLUSION_FILES)))
+            {
+                excludes.addAll(readScanningExcludes(exclusionFile));
+            }
             scanningExcludes = excludes.toArray(new String[excludes.size()]);
         }
     }
 
+    /**
+     * Reads a list of scan exclusion paths, one per line. Empty lines and lines starting with '#' get ignored.
+     * @param exclusionFile either a ClassLoader resource or a file path
+     */
+    protected List<String> readScanningExcludes(String exclusionFile)
+    {
+        ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+        URL url = classLoader == null ? null : classLoader.getResource(exclusionFile);
+        try
+        {
+            if (url == null)
+            {
+                File file = new File(exclusionFile);
+                if (!file.isFile())
+                {
+                    logger.warning("Cannot find the scan exclusion file " + exclusionFile);
+                    return Collections.emptyList();
+                }
+                url = file.toURI().toURL();
+            }
+
+            List<String> excludes = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)))
+            {
+                String line;
+                while ((line = reader.readLine()) != null)
+                {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#"))
+                    {
+                        excludes.add(line);
+                    }
+                }
+            }
+            return excludes;
+        }
+        catch (IOException e)
+        {
+            throw new WebBeansDeploymentException("Cannot read the scan exclusion file " + exclusionFile, e);
+        }
+    }
+
     /**
      * add the given beans.xml path to the locations list
      * @param beanArchiveUrl location path
@@ -468,6 +552,13 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
             ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
             boolean dontSkipNCDFT = !(webBeansContext != null &&
                     webBeansContext.getOpenWebBeansConfiguration().isSkipNoClassDefFoundErrorTriggers());
+            boolean skipNonBeanClasses = webBeansContext != null &&
+                    webBeansContext.getOpenWebBeansConfiguration().isSkipNonBeanClasses();
+
+            // the BeansDeployer probes for NoClassDefFoundErrors anyway before the class gets used,
+            // so with the pre-filter enabled we neither initialise the class nor probe it here
+            boolean probeNCDFT = dontSkipNCDFT && !skipNonBeanClasses;
+            ClassResolutionCache classResolutionCache = webBeansContext != null ? webBeansContext.getClassResolutionCache() : null;
 
             for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
             {
@@ -487,10 +578,18 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                             }
                         }
 
-                        Class<?> clazz = ClassUtil.getClassFromName(className, loader, dontSkipNCDFT);
+                        if (skipNonBeanClasses && finder.isNonBeanClass(className))
+                        {
+                            // don't even load classes which can never become a bean
+                            continue;
+                        }
+
+                        Class<?> clazz = classResolutionCache == null ?
+                                ClassUtil.getClassFromName(className, loader, probeNCDFT) :
+                                classResolutionCache.getClassFromName(className, loader, probeNCDFT);
                         if (clazz != null)
                         {
-                            if (dontSkipNCDFT)
+                            if (probeNCDFT)
                             {
                                 // try to provoke a NoClassDefFoundError exception which is thrown
                                 // if some dependencies of the class are missing
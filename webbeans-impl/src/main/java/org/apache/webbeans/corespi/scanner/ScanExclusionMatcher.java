@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * Finds any of the configured
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#SCAN_EXCLUSION_PATHS}
+ * in a classpath entry with a single pass over the path.
+ *
+ * This is an Aho-Corasick automaton which gets compiled into a full transition table
+ * over the characters used in the patterns. Any other character leads back to the root.
+ * The automaton is immutable and thus can be shared between threads.
+ */
+public final class ScanExclusionMatcher
+{
+    private static final int ROOT = 0;
+
+    private final char[] alphabet;
+    private final int[] asciiIndex = new int[128];
+
+    /**
+     * transitions[state * alphabet.length + charIndex]
+     */
+    private final int[] transitions;
+
+    /**
+     * length of the pattern ending in this state or 0
+     */
+    private final int[] patternLength;
+
+    /**
+     * the next state on the failure chain which ends a pattern or -1
+     */
+    private final int[] outputLink;
+
+    private final int maxPatternLength;
+
+    public ScanExclusionMatcher(Collection<String> patterns)
+    {
+        TreeSet<Character> chars = new TreeSet<>();
+        int maxLength = 0;
+        for (String pattern : patterns)
+        {
+            for (int i = 0; i < pattern.length(); i++)
+            {
+                chars.add(pattern.charAt(i));
+            }
+            maxLength = Math.max(maxLength, pattern.length());
+        }
+        maxPatternLength = maxLength;
+
+        alphabet = new char[chars.size()];
+        int idx = 0;
+        for (Character c : chars)
+        {
+            alphabet[idx++] = c;
+        }
+        Arrays.fill(asciiIndex, -1);
+        for (int i = 0; i < alphabet.length; i++)
+        {
+            if (alphabet[i] < asciiIndex.length)
+            {
+                asciiIndex[alphabet[i]] = i;
+            }
+        }
+
+        // first build the trie of all patterns, -1 marks a missing edge
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        trie.add(newState());
+        lengths.add(0);
+        for (String pattern : patterns)
+        {
+            if (pattern.isEmpty())
+            {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++)
+            {
+                int c = charIndex(pattern.charAt(i));
+                if (trie.get(state)[c] < 0)
+                {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    lengths.add(0);
+                }
+                state = trie.get(state)[c];
+            }
+            lengths.set(state, pattern.length());
+        }
+
+        int stateCount = trie.size();
+        transitions = new int[Math.max(1, stateCount * alphabet.length)];
+        patternLength = new int[stateCount];
+        outputLink = new int[stateCount];
+        int[] failure = new int[stateCount];
+        for (int state = 0; state < stateCount; state++)
+        {
+            patternLength[state] = lengths.get(state);
+        }
+
+        // then add the failure transitions breadth first
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputLink[ROOT] = -1;
+        for (int c = 0; c < alphabet.length; c++)
+        {
+            int next = trie.get(ROOT)[c];
+            if (next < 0)
+            {
+                transitions[c] = ROOT;
+            }
+            else
+            {
+                transitions[c] = next;
+                failure[next] = ROOT;
+                outputLink[next] = -1;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty())
+        {
+            int state = queue.poll();
+            for (int c = 0; c < alphabet.length; c++)
+            {
+                int next = trie.get(state)[c];
+                int fallback = transitions[failure[state] * alphabet.length + c];
+                if (next < 0)
+                {
+                    transitions[state * alphabet.length + c] = fallback;
+                }
+                else
+                {
+                    transitions[state * alphabet.length + c] = next;
+                    failure[next] = fallback;
+                    outputLink[next] = patternLength[fallback] > 0 ? fallback : outputLink[fallback];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param path the path to search in
+     * @param fromIndex matches starting before this index get ignored
+     * @return the smallest index at which one of the patterns starts or -1 if none got found
+     */
+    public int indexOf(String path, int fromIndex)
+    {
+        if (alphabet.length == 0)
+        {
+            return -1;
+        }
+
+        int found = -1;
+        int state = ROOT;
+        for (int i = 0; i < path.length(); i++)
+        {
+            if (found >= 0 && i - maxPatternLength + 1 > found)
+            {
+                // no later match can start before the one we have
+                break;
+            }
+
+            int c = charIndex(path.charAt(i));
+            state = c < 0 ? ROOT : transitions[state * alphabet.length + c];
+
+            for (int output = patternLength[state] > 0 ? state : outputLink[state]; output > 0; output = outputLink[output])
+            {
+                int start = i - patternLength[output] + 1;
+                if (start >= fromIndex && (found < 0 || start < found))
+                {
+                    found = start;
+                }
+            }
+        }
+        return found;
+    }
+
+    private int[] newState()
+    {
+        int[] state = new int[alphabet.length];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private int charIndex(char c)
+    {
+        if (c < asciiIndex.length)
+        {
+            return asciiIndex[c];
+        }
+        int idx = Arrays.binarySearch(alphabet, c);
+        return idx < 0 ? -1 : idx;
+    }
+}
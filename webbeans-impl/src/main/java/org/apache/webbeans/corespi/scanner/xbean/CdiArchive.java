@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.corespi.scanner.xbean;
 
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
 import org.apache.xbean.finder.archive.Archive;
@@ -26,36 +27,86 @@ import org.apache.xbean.finder.archive.CompositeArchive;
 import org.apache.xbean.finder.archive.FilteredArchive;
 import org.apache.xbean.finder.filter.Filter;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * this delegate pattern is interesting
  * because we will be able to add
  * some exclusion config through it
  * using Filter + FilterArchive
+ *
+ * If a {@link ScanCache} is given then unchanged jars don't get scanned at all.
+ * Their classes get added to the finder via {@link #applyScanCache(OwbAnnotationFinder)}.
  */
-public class CdiArchive implements Archive
+public class CdiArchive implements Archive, Closeable
 {
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(CdiArchive.class);
+
     /**
      * key: URL#toExternalForm of the scanned classpath entry
      * value: small data container with URL and class names
      */
     private final Map<String, FoundClasses> classesByUrl = new HashMap<>();
 
+    /**
+     * key: URL#toExternalForm of the scanned classpath entry
+     * value: nanoseconds spent to read and parse the classes of the entry
+     */
+    private final Map<String, Long> scanTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final List<Archive> archives = new ArrayList<>();
+    private final List<String> archiveNames = new ArrayList<>();
+    private final ClassLoader loader;
+    private final boolean mappedJars;
+    private final ScanCache scanCache;
+    private final boolean skipNonBeanClasses;
+    private final List<CacheableJar> cacheableJars = new ArrayList<>();
+    private final List<MappedJarArchive> mappedJarArchives = new ArrayList<>();
     private final Archive delegate;
 
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
     {
-        Collection<Archive> archives = new ArrayList<>();
+        this(beanArchiveService, loader, urls, userFilter, customArchive, false, null, false);
+    }
+
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, boolean mappedJars, ScanCache scanCache)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, mappedJars, scanCache, false);
+    }
+
+    /**
+     * @param mappedJars whether jar files get read via {@link MappedJarArchive}
+     * @param scanCache the cache for the scan results of jars or {@code null}
+     * @param skipNonBeanClasses whether the classes which can never be beans get skipped,
+     *                           see {@link OwbAnnotationFinder#isNonBeanClass(String)}
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, boolean mappedJars, ScanCache scanCache,
+                      boolean skipNonBeanClasses)
+    {
+        this.loader = loader;
+        this.mappedJars = mappedJars;
+        this.scanCache = scanCache;
+        this.skipNonBeanClasses = skipNonBeanClasses;
         boolean customAdded = false;
         for (URL url : urls.values())
         {
@@ -63,29 +114,114 @@ public class CdiArchive implements Archive
 
             BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
             final boolean custom = "openwebbeans".equals(url.getProtocol());
-            Archive archive = new FilteredArchive(
-                    custom ? customArchive : ClasspathArchive.archive(loader, url),
-                    new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
+            BeanArchiveFilter filter = new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter);
+            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
+
+            Archive archive;
+            File jar = scanCache == null || custom ? null : ScanCache.toJarFile(url);
+            if (jar != null)
+            {
+                CacheableJar cacheableJar = new CacheableJar(jar, urlClasses, scanCache.read(jar));
+                cacheableJars.add(cacheableJar);
+                if (cacheableJar.isCached(filter))
+                {
+                    continue;
+                }
+                archive = new RecordingArchive(createArchive(loader, url), cacheableJar.classNames);
+            }
+            else
+            {
+                archive = custom ? customArchive : createArchive(loader, url);
+            }
             if (!customAdded && custom)
             {
                 customAdded = true;
             }
 
-            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
-            archives.add(archive);
+            archives.add(new FilteredArchive(archive, filter));
+            archiveNames.add(url.toExternalForm());
         }
         if (!customAdded && customArchive != null)
         {
             archives.add(userFilter != null ? new FilteredArchive(customArchive, userFilter) : customArchive);
+            archiveNames.add("openwebbeans:custom");
         }
         delegate = new CompositeArchive(archives);
     }
 
+    protected Archive createArchive(ClassLoader loader, URL url)
+    {
+        if (!mappedJars)
+        {
+            return ClasspathArchive.archive(loader, url);
+        }
+        Archive archive = MappedJarArchive.archive(loader, url);
+        if (archive instanceof MappedJarArchive)
+        {
+            mappedJarArchives.add((MappedJarArchive) archive);
+        }
+        return archive;
+    }
+
+    /**
+     * Releases the memory-mapped jar files, must get called once the scanning is done.
+     * The archive stays usable.
+     */
+    @Override
+    public void close()
+    {
+        mappedJarArchives.forEach(MappedJarArchive::close);
+        mappedJarArchives.clear();
+    }
+
     public Map<String, FoundClasses> classesByUrl()
     {
         return classesByUrl;
     }
 
+    /**
+     * Adds the classes of all cached jars to the finder and updates
+     * the cache for all jars which got scanned.
+     * Must get called after the finder got created.
+     */
+    public void applyScanCache(OwbAnnotationFinder finder)
+    {
+        for (CacheableJar cacheableJar : cacheableJars)
+        {
+            if (cacheableJar.cached != null)
+            {
+                for (String className : cacheableJar.urlClasses)
+                {
+                    ScanCache.CachedClass cachedClass = cacheableJar.cached.getCachedClass(className);
+                    finder.addCachedClass(cachedClass.getName(), cachedClass.getSuperType(), cachedClass.getAnnotations(),
+                                          cachedClass.isNonBeanClass());
+                }
+            }
+            else
+            {
+                scanCache.write(cacheableJar.jar, cacheableJar.classNames, new HashSet<>(cacheableJar.urlClasses), finder);
+            }
+        }
+        cacheableJars.clear();
+    }
+
+    /**
+     * @return {@code true} if the finder needs to collect the classes which can never be beans,
+     *         either to skip them or to store them in the {@link ScanCache}
+     */
+    public boolean isCollectingNonBeanClasses()
+    {
+        return skipNonBeanClasses || scanCache != null;
+    }
+
+    /**
+     * @return the nanoseconds spent on reading and parsing each archive, in the order of the scanning
+     */
+    public Map<String, Long> scanTimes()
+    {
+        return scanTimes;
+    }
+
     @Override
     public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
     {
@@ -95,13 +231,161 @@ public class CdiArchive implements Archive
     @Override
     public Class<?> loadClass(String className) throws ClassNotFoundException
     {
-        return delegate.loadClass(className);
+        try
+        {
+            return delegate.loadClass(className);
+        }
+        catch (ClassNotFoundException e)
+        {
+            if (scanCache == null || loader == null)
+            {
+                throw e;
+            }
+            // the class might be in a cached jar which is not part of the delegate
+            return loader.loadClass(className);
+        }
     }
 
     @Override
     public Iterator<Entry> iterator()
     {
-        return delegate.iterator();
+        return new ArchiveIterator();
+    }
+
+    /**
+     * Iterates over all entries of all archives and measures the time spent per archive.
+     * As the AnnotationFinder parses each entry between two calls to {@link #hasNext()}
+     * the parsing time gets included.
+     */
+    private class ArchiveIterator implements Iterator<Entry>
+    {
+        private int index = -1;
+        private Iterator<Entry> current = Collections.emptyIterator();
+        private long started;
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!current.hasNext())
+            {
+                if (index >= 0)
+                {
+                    archiveScanned(archiveNames.get(index), System.nanoTime() - started);
+                }
+                if (++index >= archives.size())
+                {
+                    return false;
+                }
+                started = System.nanoTime();
+                current = archives.get(index).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Entry next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void archiveScanned(String name, long nanos)
+        {
+            scanTimes.put(name, nanos);
+            if (logger.isLoggable(Level.FINE))
+            {
+                logger.fine("Scanned " + name + " in " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+            }
+        }
+    }
+
+    private static final class CacheableJar
+    {
+        private final File jar;
+        private final List<String> urlClasses;
+        private final List<String> classNames = new ArrayList<>();
+        private ScanCache.Entry cached;
+
+        private CacheableJar(File jar, List<String> urlClasses, ScanCache.Entry cached)
+        {
+            this.jar = jar;
+            this.urlClasses = urlClasses;
+            this.cached = cached;
+        }
+
+        /**
+         * The cache can only be used if we parsed all classes which pass the filters now.
+         * As a side effect this collects the classes of the bean archive.
+         */
+        private boolean isCached(BeanArchiveFilter filter)
+        {
+            if (cached == null)
+            {
+                return false;
+            }
+            for (String className : cached.getClassNames())
+            {
+                if (filter.accept(className) && cached.getCachedClass(className) == null)
+                {
+                    urlClasses.clear();
+                    cached = null;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Collects the names of all classes of the archive, also those which get filtered afterwards.
+     */
+    private static final class RecordingArchive implements Archive
+    {
+        private final Archive archive;
+        private final List<String> classNames;
+
+        private RecordingArchive(Archive archive, List<String> classNames)
+        {
+            this.archive = archive;
+            this.classNames = classNames;
+        }
+
+        @Override
+        public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+        {
+            return archive.getBytecode(className);
+        }
+
+        @Override
+        public Class<?> loadClass(String className) throws ClassNotFoundException
+        {
+            return archive.loadClass(className);
+        }
+
+        @Override
+        public Iterator<Entry> iterator()
+        {
+            Iterator<Entry> entries = archive.iterator();
+            return new Iterator<Entry>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Entry next()
+                {
+                    Entry entry = entries.next();
+                    classNames.add(entry.getName());
+                    return entry;
+                }
+            };
+        }
     }
 
     public static final class FoundClasses
@@ -0,0 +1,464 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.xbean.asm9.ClassReader;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClasspathArchive;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An {@link Archive} which memory-maps a jar file and reads its central directory
+ * directly instead of going through {@link java.util.jar.JarFile}.
+ *
+ * Stored entries get copied once out of the mapped file. Deflated entries get inflated
+ * with an {@link Inflater} and into a buffer which both get reused per thread.
+ * Thus a stream returned by {@link Entry#getBytecode()} or {@link #getBytecode(String)}
+ * must be fully consumed before the same thread reads the next entry, which is what the
+ * {@link org.apache.xbean.finder.AnnotationFinder} does. The {@link OwbAnnotationFinder}
+ * parses these bytes directly, without copying them into another buffer.
+ *
+ * The mapping gets released via {@link #close()} once the scanning is done, otherwise
+ * the jar file would stay mapped (and locked on Windows) until the GC collects it.
+ *
+ * Jars which need features we don't handle (zip64, multi-release jars, encrypted
+ * entries or other compression methods) get scanned by the xbean archives instead.
+ */
+public class MappedJarArchive implements Archive, Closeable
+{
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    /**
+     * Bigger classes get their own buffer to not keep huge arrays per thread.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+
+    /**
+     * Releases a mapping right away via sun.misc.Unsafe#invokeCleaner, does nothing if that is not available.
+     */
+    private static final Consumer<ByteBuffer> UNMAPPER = createUnmapper();
+
+    private final ClassLoader loader;
+    private final File file;
+
+    /**
+     * {@code null} once the archive got closed. Guarded by this.
+     */
+    private MappedByteBuffer jar;
+
+    /**
+     * key: the resource name of the class file, value: the position of its central directory entry
+     */
+    private final Map<String, Integer> classFiles;
+
+    private MappedJarArchive(ClassLoader loader, File file, MappedByteBuffer jar, Map<String, Integer> classFiles)
+    {
+        this.loader = loader;
+        this.file = file;
+        this.jar = jar;
+        this.classFiles = classFiles;
+    }
+
+    /**
+     * @return a memory-mapped archive for the given jar or the xbean archive if the jar cannot be mapped
+     */
+    public static Archive archive(ClassLoader loader, URL url)
+    {
+        File file = toJarFile(url);
+        if (file != null)
+        {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                if (channel.size() < Integer.MAX_VALUE)
+                {
+                    // the mapping stays valid after the channel got closed
+                    MappedByteBuffer jar = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    Map<String, Integer> classFiles = null;
+                    try
+                    {
+                        jar.order(ByteOrder.LITTLE_ENDIAN);
+                        classFiles = readCentralDirectory(jar);
+                    }
+                    finally
+                    {
+                        if (classFiles == null)
+                        {
+                            UNMAPPER.accept(jar);
+                        }
+                    }
+                    if (classFiles != null)
+                    {
+                        return new MappedJarArchive(loader, file, jar, classFiles);
+                    }
+                }
+            }
+            catch (IOException | RuntimeException e)
+            {
+                // let xbean deal with it
+            }
+        }
+        return ClasspathArchive.archive(loader, url);
+    }
+
+    private static Consumer<ByteBuffer> createUnmapper()
+    {
+        try
+        {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            return buffer ->
+            {
+                try
+                {
+                    invokeCleaner.invoke(unsafe, buffer);
+                }
+                catch (ReflectiveOperationException | RuntimeException e)
+                {
+                    // the GC releases the mapping once the buffer got collected
+                }
+            };
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            // the GC releases the mapping once the buffer got collected
+            return buffer ->
+            {
+            };
+        }
+    }
+
+    private static File toJarFile(URL url)
+    {
+        String externalForm = url.toExternalForm();
+        if ("jar".equals(url.getProtocol()))
+        {
+            // only jar:file:/some.jar!/ but no nested jars
+            if (!externalForm.startsWith("jar:file:") || !externalForm.endsWith("!/") || externalForm.indexOf("!/") != externalForm.length() - 2)
+            {
+                return null;
+            }
+            externalForm = externalForm.substring("jar:".length(), externalForm.length() - 2);
+        }
+        else if (!"file".equals(url.getProtocol()))
+        {
+            return null;
+        }
+
+        try
+        {
+            File file = new File(new URL(externalForm).toURI());
+            return file.isFile() ? file : null;
+        }
+        catch (IOException | URISyntaxException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return the class files of the jar or {@code null} if the jar is not supported
+     */
+    private static Map<String, Integer> readCentralDirectory(ByteBuffer jar)
+    {
+        int end = findEndOfCentralDirectory(jar);
+        if (end < 0)
+        {
+            return null;
+        }
+
+        int entries = Short.toUnsignedInt(jar.getShort(end + 10));
+        long offset = Integer.toUnsignedLong(jar.getInt(end + 16));
+        if (entries == 0xFFFF || offset == 0xFFFFFFFFL || offset >= jar.limit())
+        {
+            // zip64
+            return null;
+        }
+
+        Map<String, Integer> classFiles = new LinkedHashMap<>(entries * 2);
+        int position = (int) offset;
+        for (int i = 0; i < entries; i++)
+        {
+            if (jar.getInt(position) != CENTRAL_DIRECTORY_ENTRY)
+            {
+                return null;
+            }
+
+            int flags = Short.toUnsignedInt(jar.getShort(position + 8));
+            int method = Short.toUnsignedInt(jar.getShort(position + 10));
+            int nameLength = Short.toUnsignedInt(jar.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(jar.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(jar.getShort(position + 32));
+            String name = readString(jar, position + 46, nameLength);
+
+            if (name.startsWith("META-INF/versions/"))
+            {
+                // multi-release jars need the manifest and version handling of xbean
+                return null;
+            }
+            // like xbean we skip anything which cannot be a class in a package
+            if (name.endsWith(".class") && !name.endsWith("module-info.class")
+                && name.indexOf('.') == name.length() - ".class".length())
+            {
+                if ((flags & 1) != 0 || (method != STORED && method != DEFLATED)
+                    || jar.getInt(position + 20) == 0xFFFFFFFF || jar.getInt(position + 24) == 0xFFFFFFFF)
+                {
+                    return null;
+                }
+                classFiles.put(name, position);
+            }
+
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return classFiles;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer jar)
+    {
+        // the record has 22 bytes plus an optional comment of up to 64k
+        int lowest = Math.max(0, jar.limit() - 22 - 0xFFFF);
+        for (int position = jar.limit() - 22; position >= lowest; position--)
+        {
+            if (jar.getInt(position) == END_OF_CENTRAL_DIRECTORY)
+            {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static String readString(ByteBuffer jar, int position, int length)
+    {
+        byte[] bytes = new byte[length];
+        jar.duplicate().position(position).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+    {
+        int generics = className.indexOf('<');
+        if (generics > 0)
+        {
+            className = className.substring(0, generics);
+        }
+        String name = className.endsWith(".class") ? className : className.replace('.', '/') + ".class";
+
+        Integer centralDirectoryEntry = classFiles.get(name);
+        if (centralDirectoryEntry == null)
+        {
+            throw new ClassNotFoundException(className);
+        }
+        return read(centralDirectoryEntry);
+    }
+
+    @Override
+    public Class<?> loadClass(String className) throws ClassNotFoundException
+    {
+        return loader.loadClass(className);
+    }
+
+    @Override
+    public Iterator<Entry> iterator()
+    {
+        Iterator<Map.Entry<String, Integer>> files = classFiles.entrySet().iterator();
+        return new Iterator<Entry>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return files.hasNext();
+            }
+
+            @Override
+            public Entry next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<String, Integer> file = files.next();
+                String className = file.getKey().substring(0, file.getKey().length() - ".class".length()).replace('/', '.');
+                int centralDirectoryEntry = file.getValue();
+                return new Entry()
+                {
+                    @Override
+                    public String getName()
+                    {
+                        return className;
+                    }
+
+                    @Override
+                    public InputStream getBytecode() throws IOException
+                    {
+                        return read(centralDirectoryEntry);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Releases the mapping of the jar file. The archive stays usable,
+     * reading an entry afterwards maps the jar file just for this single read.
+     */
+    @Override
+    public void close()
+    {
+        MappedByteBuffer mapping;
+        synchronized (this)
+        {
+            mapping = jar;
+            jar = null;
+        }
+        if (mapping != null)
+        {
+            UNMAPPER.accept(mapping);
+        }
+    }
+
+    private InputStream read(int centralDirectoryEntry) throws IOException
+    {
+        synchronized (this)
+        {
+            // the returned stream doesn't reference the mapping, thus it can get released afterwards
+            if (jar != null)
+            {
+                return read(jar, centralDirectoryEntry);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try
+            {
+                mapping.order(ByteOrder.LITTLE_ENDIAN);
+                return read(mapping, centralDirectoryEntry);
+            }
+            finally
+            {
+                UNMAPPER.accept(mapping);
+            }
+        }
+    }
+
+    private static InputStream read(ByteBuffer jar, int centralDirectoryEntry) throws IOException
+    {
+        int method = Short.toUnsignedInt(jar.getShort(centralDirectoryEntry + 10));
+        int compressedSize = jar.getInt(centralDirectoryEntry + 20);
+        int size = jar.getInt(centralDirectoryEntry + 24);
+        int localHeader = jar.getInt(centralDirectoryEntry + 42);
+        if (jar.getInt(localHeader) != LOCAL_FILE_HEADER)
+        {
+            throw new IOException("Invalid local file header at " + localHeader);
+        }
+
+        // the extra field of the local header might differ from the one in the central directory
+        int data = localHeader + 30 + Short.toUnsignedInt(jar.getShort(localHeader + 26)) + Short.toUnsignedInt(jar.getShort(localHeader + 28));
+        ByteBuffer compressed = jar.duplicate().position(data).limit(data + compressedSize);
+        if (method == STORED)
+        {
+            // the ClassReader needs an array anyway
+            byte[] bytes = new byte[compressedSize];
+            compressed.get(bytes);
+            return new BytecodeInputStream(bytes, 0, bytes.length);
+        }
+
+        byte[] buffer = BUFFER.get();
+        if (buffer.length < size)
+        {
+            buffer = new byte[size];
+            if (size <= MAX_REUSED_BUFFER_SIZE)
+            {
+                BUFFER.set(buffer);
+            }
+        }
+
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+        try
+        {
+            int read = 0;
+            while (read < size && !inflater.finished())
+            {
+                int inflated = inflater.inflate(buffer, read, size - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    throw new IOException("Truncated deflated entry at " + localHeader);
+                }
+                read += inflated;
+            }
+            return new BytecodeInputStream(buffer, 0, read);
+        }
+        catch (DataFormatException e)
+        {
+            throw new IOException("Invalid deflated entry at " + localHeader, e);
+        }
+    }
+
+    /**
+     * Gives the {@link OwbAnnotationFinder} access to the bytes of the class,
+     * so it can hand them to the {@link ClassReader} without copying them again.
+     */
+    static final class BytecodeInputStream extends ByteArrayInputStream
+    {
+        private BytecodeInputStream(byte[] bytes, int offset, int length)
+        {
+            super(bytes, offset, length);
+        }
+
+        ClassReader newClassReader()
+        {
+            return new ClassReader(buf, pos, count - pos);
+        }
+    }
+}
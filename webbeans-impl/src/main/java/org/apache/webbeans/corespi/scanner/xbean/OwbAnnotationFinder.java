@@ -18,11 +18,21 @@
  */
 package org.apache.webbeans.corespi.scanner.xbean;
 
+import org.apache.xbean.asm9.ClassReader;
+import org.apache.xbean.asm9.Opcodes;
 import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.archive.ClassesArchive;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -31,6 +41,21 @@ import java.util.stream.Stream;
  */
 public class OwbAnnotationFinder extends AnnotationFinder
 {
+    private static final String DECORATOR = "jakarta.decorator.Decorator";
+    private static final String INJECT = "jakarta.inject.Inject";
+
+    /**
+     * Classes which can never become a managed bean according to their bytecode.
+     * This must not get initialised in the declaration as the super constructor already scans.
+     */
+    private Set<String> nonBeanClasses;
+
+    /**
+     * Classes which didn't get read from their bytecode but got restored from the {@link ScanCache}
+     * or read via reflection, thus we don't know all annotations of their members.
+     */
+    private Set<String> incompleteClasses;
+
     public OwbAnnotationFinder(Archive archive, boolean checkRuntimeAnnotation)
     {
         super(archive, checkRuntimeAnnotation);
@@ -58,6 +83,7 @@ public class OwbAnnotationFinder extends AnnotationFinder
             // ignore, will not affect all cases
         }
         Stream.of(classes).forEach(c -> super.readClassDef(c));
+        incompleteClasses = new HashSet<>(classInfos.keySet());
     }
 
     public ClassInfo getClassInfo(String className)
@@ -65,4 +91,271 @@ public class OwbAnnotationFinder extends AnnotationFinder
         return classInfos.get(className);
     }
 
+    /**
+     * @return {@code true} if the bytecode of the class shows that it can never be a managed bean:
+     *         annotations, interfaces, enums, abstract classes which are no decorator and
+     *         classes without a no-arg or {@code @Inject} constructor (which includes non-static inner classes).
+     */
+    public boolean isNonBeanClass(String className)
+    {
+        return nonBeanClasses != null && nonBeanClasses.contains(className);
+    }
+
+    /**
+     * @return {@code true} if the bytecode of the class got read by this finder
+     */
+    public boolean isIndexed(String className)
+    {
+        return classInfos.containsKey(className);
+    }
+
+    /**
+     * @return the names of all annotation types which are used on the indexed classes,
+     *         their fields, methods, constructors and parameters
+     */
+    public Set<String> getUsedAnnotations()
+    {
+        Set<String> usedAnnotations = new HashSet<>();
+        for (ClassInfo classInfo : classInfos.values())
+        {
+            anyAnnotation(classInfo, annotation ->
+            {
+                usedAnnotations.add(annotation);
+                return false;
+            });
+        }
+        return usedAnnotations;
+    }
+
+    /**
+     * Finds all classes for which an AnnotatedType created via reflection might contain one of the given annotations.
+     * This are the classes which carry one of the annotations on the class itself, a field, method, constructor
+     * or parameter, or which extend such a class. Classes for which the bytecode doesn't tell us all of this,
+     * e.g. because one of their superclasses didn't get scanned, always count as a match.
+     *
+     * @param annotationNames names of the annotation types
+     * @return the names of all indexed classes which might carry one of the given annotations
+     */
+    public Set<String> findClassesWithAnnotations(Set<String> annotationNames)
+    {
+        Map<String, Boolean> matches = new HashMap<>();
+        Set<String> classes = new HashSet<>();
+        for (String className : classInfos.keySet())
+        {
+            if (mightHaveAnnotations(className, annotationNames, matches))
+            {
+                classes.add(className);
+            }
+        }
+        return classes;
+    }
+
+    private boolean mightHaveAnnotations(String className, Set<String> annotationNames, Map<String, Boolean> matches)
+    {
+        Boolean match = matches.get(className);
+        if (match != null)
+        {
+            return match;
+        }
+
+        ClassInfo classInfo = classInfos.get(className);
+        if (classInfo == null)
+        {
+            // a superclass which didn't get scanned
+            match = !Object.class.getName().equals(className);
+        }
+        else if (incompleteClasses != null && incompleteClasses.contains(className))
+        {
+            match = true;
+        }
+        else
+        {
+            match = anyAnnotation(classInfo, annotationNames::contains)
+                    || classInfo.getSuperType() != null && mightHaveAnnotations(classInfo.getSuperType(), annotationNames, matches);
+        }
+        matches.put(className, match);
+        return match;
+    }
+
+    /**
+     * @return {@code true} as soon as the predicate matches an annotation name of the class, its fields, methods,
+     *         constructors or parameters
+     */
+    private static boolean anyAnnotation(ClassInfo classInfo, Predicate<String> predicate)
+    {
+        if (anyAnnotation(classInfo.getAnnotations(), predicate))
+        {
+            return true;
+        }
+        for (FieldInfo field : classInfo.getFields())
+        {
+            if (anyAnnotation(field.getAnnotations(), predicate))
+            {
+                return true;
+            }
+        }
+        // xbean records the constructors as methods named <init>
+        for (MethodInfo method : classInfo.getMethods())
+        {
+            if (anyAnnotation(method.getAnnotations(), predicate))
+            {
+                return true;
+            }
+            for (List<AnnotationInfo> parameterAnnotations : method.getParameterAnnotations())
+            {
+                if (anyAnnotation(parameterAnnotations, predicate))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean anyAnnotation(List<AnnotationInfo> annotations, Predicate<String> predicate)
+    {
+        for (AnnotationInfo annotationInfo : annotations)
+        {
+            if (predicate.test(annotationInfo.getName()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void readClassDef(String className, InputStream in) throws IOException
+    {
+        boolean collectNonBeanClasses = isCollectingNonBeanClasses();
+        boolean mapped = in instanceof MappedJarArchive.BytecodeInputStream;
+        if (!collectNonBeanClasses && !mapped)
+        {
+            super.readClassDef(className, in);
+            return;
+        }
+
+        // same as xbean does, but we keep the ClassReader to also get the access flags of the class
+        // and let it parse the bytes of a MappedJarArchive without copying them into another buffer
+        ClassReader classReader;
+        try
+        {
+            classReader = mapped ? ((MappedJarArchive.BytecodeInputStream) in).newClassReader() : new ClassReader(in);
+            classReader.accept(new InfoBuildingVisitor(), ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Unable to read class definition for " + className, e);
+        }
+        finally
+        {
+            in.close();
+        }
+        if (!collectNonBeanClasses)
+        {
+            return;
+        }
+
+        String name = classReader.getClassName().replace('/', '.');
+        if (isNonBeanClass(classReader.getAccess(), classInfos.get(name)))
+        {
+            if (nonBeanClasses == null)
+            {
+                nonBeanClasses = new HashSet<>();
+            }
+            nonBeanClasses.add(name);
+        }
+    }
+
+    /**
+     * Only the {@link CdiArchive} knows whether anybody is interested in the non bean classes.
+     * Other archives always get them collected.
+     */
+    private boolean isCollectingNonBeanClasses()
+    {
+        Archive archive = getArchive();
+        return !(archive instanceof CdiArchive) || ((CdiArchive) archive).isCollectingNonBeanClasses();
+    }
+
+    private static boolean isNonBeanClass(int access, ClassInfo classInfo)
+    {
+        if ((access & (Opcodes.ACC_INTERFACE | Opcodes.ACC_ENUM)) != 0)
+        {
+            // also covers annotations
+            return true;
+        }
+        if (classInfo == null)
+        {
+            return false;
+        }
+        if ((access & Opcodes.ACC_ABSTRACT) != 0 && !hasAnnotation(classInfo.getAnnotations(), DECORATOR))
+        {
+            return true;
+        }
+
+        // xbean records the constructors as methods named <init>
+        boolean constructorFound = false;
+        for (MethodInfo method : classInfo.getMethods())
+        {
+            if (!"<init>".equals(method.getName()))
+            {
+                continue;
+            }
+            constructorFound = true;
+
+            // a non-static inner class gets the outer instance as additional parameter
+            if ("()V".equals(method.getDescriptor()) || hasAnnotation(method.getAnnotations(), INJECT))
+            {
+                return false;
+            }
+        }
+
+        // every class has a constructor, if we didn't see any we don't know anything
+        return constructorFound;
+    }
+
+    private static boolean hasAnnotation(List<AnnotationInfo> annotations, String annotation)
+    {
+        for (AnnotationInfo annotationInfo : annotations)
+        {
+            if (annotation.equals(annotationInfo.getName()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a class which didn't get parsed but got restored from the {@link ScanCache}.
+     */
+    public void addCachedClass(String className, String superType, List<String> annotations, boolean nonBeanClass)
+    {
+        if (nonBeanClass)
+        {
+            if (nonBeanClasses == null)
+            {
+                nonBeanClasses = new HashSet<>();
+            }
+            nonBeanClasses.add(className);
+        }
+
+        if (incompleteClasses == null)
+        {
+            incompleteClasses = new HashSet<>();
+        }
+        incompleteClasses.add(className);
+
+        ClassInfo classInfo = new ClassInfo(className, superType);
+        for (String annotation : annotations)
+        {
+            // AnnotationInfo expects the type descriptor
+            AnnotationInfo annotationInfo = new AnnotationInfo("L" + annotation.replace('.', '/') + ";");
+            classInfo.getAnnotations().add(annotationInfo);
+            initAnnotationInfos(annotation).add(classInfo);
+        }
+        classInfos.put(className, classInfo);
+        originalInfos.put(className, classInfo);
+    }
+
 }
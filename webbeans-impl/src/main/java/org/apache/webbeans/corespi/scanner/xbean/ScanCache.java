@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.AnnotationFinder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the scan results of jar files in a directory to not read and parse
+ * them again on the next start as long as they didn't change.
+ *
+ * A jar gets identified by its path, size and last modification time.
+ * We store the names of all its classes and for those which passed the filters of the
+ * bean archive their super class, class level annotations and whether they can be a bean at all. If the filters accept
+ * a class on the next start which we didn't parse before, then the jar gets scanned again.
+ *
+ * Only the class level information is available for cached jars, thus the
+ * {@link AnnotationFinder} doesn't know about annotated methods, fields or interfaces
+ * of those classes.
+ */
+public class ScanCache
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ScanCache.class);
+
+    private static final String VERSION = "owb-scan-cache-2";
+    private static final String NOT_PARSED = "-";
+
+    private final Path directory;
+
+    public ScanCache(Path directory)
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the jar file of the given URL or {@code null} if it is no jar we could cache
+     */
+    public static File toJarFile(URL url)
+    {
+        if (!"file".equals(url.getProtocol()) || !url.getPath().endsWith(".jar"))
+        {
+            return null;
+        }
+        try
+        {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        }
+        catch (URISyntaxException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return the cached classes of the given jar or {@code null} if it is not cached or changed since
+     */
+    public Entry read(File jar)
+    {
+        Path cacheFile = cacheFile(jar);
+        if (!Files.isRegularFile(cacheFile))
+        {
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8))
+        {
+            if (!VERSION.equals(reader.readLine()) || !fingerprint(jar).equals(reader.readLine()))
+            {
+                return null;
+            }
+
+            Map<String, CachedClass> classes = new LinkedHashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                String[] parts = line.split("\t", -1);
+                if (parts.length != 4)
+                {
+                    return null;
+                }
+                CachedClass cachedClass = NOT_PARSED.equals(parts[1]) ? null : new CachedClass(
+                        parts[0], parts[1].isEmpty() ? null : parts[1],
+                        parts[2].isEmpty() ? Collections.emptyList() : Arrays.asList(parts[2].split(",")),
+                        "1".equals(parts[3]));
+                classes.put(parts[0], cachedClass);
+            }
+            return new Entry(classes);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            if (logger.isLoggable(Level.FINE))
+            {
+                logger.log(Level.FINE, "Ignoring unreadable scan cache " + cacheFile, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param classNames all classes of the jar
+     * @param acceptedClassNames the classes which passed the filters
+     * @param finder which parsed the accepted classes
+     */
+    public void write(File jar, Collection<String> classNames, Set<String> acceptedClassNames, OwbAnnotationFinder finder)
+    {
+        Path cacheFile = cacheFile(jar);
+        try
+        {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8))
+            {
+                writer.write(VERSION);
+                writer.newLine();
+                writer.write(fingerprint(jar));
+                writer.newLine();
+                for (String className : classNames)
+                {
+                    AnnotationFinder.ClassInfo classInfo = acceptedClassNames.contains(className) ? finder.getClassInfo(className) : null;
+                    writer.write(className);
+                    writer.write('\t');
+                    if (classInfo == null)
+                    {
+                        writer.write(NOT_PARSED);
+                        writer.write("\t\t");
+                    }
+                    else
+                    {
+                        writer.write(classInfo.getSuperType() == null ? "" : classInfo.getSuperType());
+                        writer.write('\t');
+                        StringBuilder annotations = new StringBuilder();
+                        for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+                        {
+                            if (annotations.length() > 0)
+                            {
+                                annotations.append(',');
+                            }
+                            annotations.append(annotationInfo.getName());
+                        }
+                        writer.write(annotations.toString());
+                        writer.write('\t');
+                        writer.write(finder.isNonBeanClass(className) ? "1" : "0");
+                    }
+                    writer.newLine();
+                }
+            }
+            // concurrently starting applications must not see a partially written file
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Could not write the scan cache " + cacheFile, e);
+        }
+    }
+
+    private Path cacheFile(File jar)
+    {
+        String path = jar.getAbsolutePath();
+        return directory.resolve(jar.getName() + "-" + Integer.toHexString(path.hashCode()) + ".scan");
+    }
+
+    private static String fingerprint(File jar)
+    {
+        return jar.getAbsolutePath() + '\t' + jar.length() + '\t' + jar.lastModified();
+    }
+
+
+    /**
+     * The cached classes of a single jar.
+     */
+    public static final class Entry
+    {
+        /**
+         * key: the name of each class of the jar
+         * value: the parsed information or {@code null} if the class didn't pass the filters
+         */
+        private final Map<String, CachedClass> classes;
+
+        private Entry(Map<String, CachedClass> classes)
+        {
+            this.classes = classes;
+        }
+
+        public Collection<String> getClassNames()
+        {
+            return classes.keySet();
+        }
+
+        /**
+         * @return the parsed information of the class or {@code null} if it didn't pass the filters before
+         */
+        public CachedClass getCachedClass(String className)
+        {
+            return classes.get(className);
+        }
+    }
+
+    public static final class CachedClass
+    {
+        private final String name;
+        private final String superType;
+        private final List<String> annotations;
+        private final boolean nonBeanClass;
+
+        private CachedClass(String name, String superType, List<String> annotations, boolean nonBeanClass)
+        {
+            this.name = name;
+            this.superType = superType;
+            this.annotations = new ArrayList<>(annotations);
+            this.nonBeanClass = nonBeanClass;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String getSuperType()
+        {
+            return superType;
+        }
+
+        public List<String> getAnnotations()
+        {
+            return annotations;
+        }
+
+        /**
+         * @see OwbAnnotationFinder#isNonBeanClass(String)
+         */
+        public boolean isNonBeanClass()
+        {
+            return nonBeanClass;
+        }
+    }
+}
@@ -19,17 +19,12 @@
 package org.apache.webbeans.corespi.se;
 
 import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
-import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.BusyConversationException;
 import jakarta.enterprise.context.ContextException;
-import jakarta.enterprise.context.ConversationScoped;
-import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.context.NonexistentConversationException;
-import jakarta.enterprise.context.RequestScoped;
-import jakarta.enterprise.context.SessionScoped;
 import jakarta.enterprise.context.spi.Context;
-import jakarta.inject.Singleton;
 
 import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
 import org.apache.webbeans.annotation.DestroyedLiteral;
@@ -37,6 +32,7 @@ import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
+import org.apache.webbeans.context.BuiltInScope;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
@@ -84,30 +80,26 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     @Override
     public void endContext(Class<? extends Annotation> scopeType, Object endParameters)
     {
-        
-        if(scopeType.equals(RequestScoped.class))
-        {
-            stopRequestContext();
-        }
-        else if(scopeType.equals(SessionScoped.class))
-        {
-            stopSessionContext();
-        }
-        else if(scopeType.equals(ApplicationScoped.class))
-        {
-            stopApplicationContext();
-        }
-        else if(scopeType.equals(ConversationScoped.class))
-        {
-            stopConversationContext();
-        }
-        else if(scopeType.equals(Singleton.class))
-        {
-            stopSingletonContext();
+        switch (BuiltInScope.of(scopeType))
+        {
+            case REQUEST:
+                stopRequestContext();
+                break;
+            case SESSION:
+                stopSessionContext();
+                break;
+            case APPLICATION:
+                stopApplicationContext();
+                break;
+            case CONVERSATION:
+                stopConversationContext();
+                break;
+            case SINGLETON:
+                stopSingletonContext();
+                break;
+            default:
+                // do nothing for Dependent.class
         }
-
-        // do nothing for Dependent.class
-
     }
 
 
@@ -117,35 +109,50 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     @Override
     public Context getCurrentContext(Class<? extends Annotation> scopeType)
     {
-        if(scopeType.equals(RequestScoped.class))
-        {
-            return getCurrentRequestContext();
-        }
-        else if(scopeType.equals(SessionScoped.class))
-        {
-            return getCurrentSessionContext();
-        }
-        else if(scopeType.equals(ApplicationScoped.class))
-        {
-            return applicationContext;
-        }
-        else if(scopeType.equals(ConversationScoped.class) && supportsConversation)
-        {
-            return getCurrentConversationContext();
+        switch (BuiltInScope.of(scopeType))
+        {
+            case REQUEST:
+                return getCurrentRequestContext();
+            case SESSION:
+                return getCurrentSessionContext();
+            case APPLICATION:
+                return applicationContext;
+            case CONVERSATION:
+                return supportsConversation ? getCurrentConversationContext() : null;
+            case DEPENDENT:
+                return getCurrentDependentContext();
+            case SINGLETON:
+                return getCurrentSingletonContext();
+            default:
+                return null;
         }
-        else if(scopeType.equals(Dependent.class))
+    }
+
+
+    @Override
+    public Supplier<Context> getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if (overridesCurrentContextLookup(BaseSeContextsService.class))
         {
-            return getCurrentDependentContext();
+            return super.getContextAccessor(scopeType);
         }
-        else if(scopeType.equals(Singleton.class))
+
+        switch (BuiltInScope.of(scopeType))
         {
-            return getCurrentSingletonContext();
+            case REQUEST:
+                return this::getCurrentRequestContext;
+            case SESSION:
+                return this::getCurrentSessionContext;
+            case APPLICATION:
+                return () -> applicationContext;
+            case SINGLETON:
+                return this::getCurrentSingletonContext;
+            default:
+                // conversation support might get switched at runtime
+                return super.getContextAccessor(scopeType);
         }
-
-        return null;
     }
 
-
     /**
      * {@inheritDoc}
      */
@@ -154,29 +161,26 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         try
         {
-            if(scopeType.equals(RequestScoped.class))
-            {
-                startRequestContext();
-            }
-            else if(scopeType.equals(SessionScoped.class))
-            {
-                startSessionContext();
-            }
-            else if(scopeType.equals(ApplicationScoped.class))
-            {
-                startApplicationContext();
-            }
-            else if(scopeType.equals(ConversationScoped.class))
+            switch (BuiltInScope.of(scopeType))
             {
-                startConversationContext();
+                case REQUEST:
+                    startRequestContext();
+                    break;
+                case SESSION:
+                    startSessionContext();
+                    break;
+                case APPLICATION:
+                    startApplicationContext();
+                    break;
+                case CONVERSATION:
+                    startConversationContext();
+                    break;
+                case SINGLETON:
+                    startSingletonContext();
+                    break;
+                default:
+                    // do nothing for Dependent.class
             }
-            else if(scopeType.equals(Singleton.class))
-            {
-                startSingletonContext();
-            }
-
-            // do nothing for Dependent.class
-
         }
         catch (ContextException ce)
         {
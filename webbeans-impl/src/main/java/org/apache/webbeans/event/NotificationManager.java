@@ -75,12 +75,13 @@ import jakarta.enterprise.inject.spi.ProcessSyntheticObserverMethod;
 
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
-import org.apache.webbeans.portable.events.ProcessAnnotatedTypeImpl;
 import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
@@ -130,6 +131,11 @@ public class NotificationManager
     // idea is to be able to skip O(n) events in favor of an algorithm closer to O(1) impl
     // statistically, it is not rare to not use all these events so we enable to skip most of them
     private Map<Type, Set<ObserverMethod<?>>> processAnnotatedTypeObservers;
+
+    /**
+     * only set while the ProcessAnnotatedType events of the scanned classes get fired
+     */
+    private WithAnnotationsIndex withAnnotationsIndex;
     private Map<Type, Set<ObserverMethod<?>>> processBeanAttributesObservers;
     private Map<Type, Set<ObserverMethod<?>>> processInjectionTargetObservers;
     private Map<Type, Set<ObserverMethod<?>>> processManagedBeanObservers;
@@ -169,6 +175,7 @@ public class NotificationManager
         hasContextLifecycleEventObservers.clear();
 
         processAnnotatedTypeObservers = null;
+        withAnnotationsIndex = null;
         processBeanAttributesObservers = null;
         processInjectionTargetObservers = null;
         processManagedBeanObservers = null;
@@ -231,15 +238,66 @@ public class NotificationManager
 
     public boolean hasProcessAnnotatedTypeObservers()
     {
-        cacheIfNeeded(new ProcessAnnotatedTypeImpl<>(null, null));
-        return !processAnnotatedTypeObservers.isEmpty();
+        return hasLifecycleObservers(ProcessAnnotatedType.class);
+    }
+
+    /**
+     * Allows the deployment to skip creating container lifecycle events nobody is interested in.
+     * The observers get resolved once per event kind and cached until {@link #clearCaches()}.
+     *
+     * @param eventType the container lifecycle event class, e.g. {@code GProcessInjectionPoint.class}
+     * @return {@code false} if there is no observer for this kind of container lifecycle event,
+     *         thus the event doesn't need to get created at all
+     */
+    public boolean hasLifecycleObservers(Class<?> eventType)
+    {
+        return cacheIfNeeded(eventType) == null;
+    }
+
+    /**
+     * Lets the {@link jakarta.enterprise.inject.spi.WithAnnotations} filters of the ProcessAnnotatedType observers
+     * use the bytecode annotation index of the scanner to skip all classes which can't match.
+     *
+     * @param finder the annotation index of the scanned classes or {@code null} to stop using it
+     */
+    public void setWithAnnotationsIndex(OwbAnnotationFinder finder)
+    {
+        if (finder == null || !hasProcessAnnotatedTypeObservers())
+        {
+            withAnnotationsIndex = null;
+            return;
+        }
+        withAnnotationsIndex = new WithAnnotationsIndex(finder, processAnnotatedTypeObservers,
+                webBeansContext.getClassResolutionCache(), WebBeansUtil.getCurrentClassLoader());
+    }
+
+    /**
+     * @return {@code false} if we know that no ProcessAnnotatedType observer is interested in the given AnnotatedType,
+     *         thus the event doesn't need to get fired at all
+     */
+    public boolean isProcessAnnotatedTypeObserved(AnnotatedType<?> annotatedType)
+    {
+        String className = getIndexedClassName(annotatedType);
+        return className == null || withAnnotationsIndex.isObserved(className);
+    }
+
+    /**
+     * @return the class name if the {@link #withAnnotationsIndex} can be used for the given AnnotatedType, otherwise {@code null}
+     */
+    private String getIndexedClassName(AnnotatedType<?> annotatedType)
+    {
+        if (withAnnotationsIndex == null || !webBeansContext.getAnnotatedElementFactory().isDefaultAnnotatedType(annotatedType))
+        {
+            return null;
+        }
+        return annotatedType.getJavaClass().getName();
     }
 
     public <T> Collection<ObserverMethod<? super T>> resolveObservers(T event, EventMetadataImpl metadata, boolean isLifecycleEvent)
     {
         if (isLifecycleEvent) // goal here is to skip any resolution if not needed
         {
-            Collection observerMethods = cacheIfNeeded(event);
+            Collection observerMethods = cacheIfNeeded(event.getClass());
             if (observerMethods != null) // emptyList()
             {
                 return observerMethods;
@@ -263,9 +321,9 @@ public class NotificationManager
         return observersMethods;
     }
 
-    private <T> Collection<ObserverMethod<?>> cacheIfNeeded(final T event)
+    private Collection<ObserverMethod<?>> cacheIfNeeded(final Class<?> eventType)
     {
-        if (event instanceof ProcessAnnotatedType)
+        if (ProcessAnnotatedType.class.isAssignableFrom(eventType))
         {
             if (processAnnotatedTypeObservers == null)
             {
@@ -276,7 +334,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessManagedBean)
+        else if (ProcessManagedBean.class.isAssignableFrom(eventType))
         {
             if (processManagedBeanObservers == null)
             {
@@ -294,7 +352,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessProducerField)
+        else if (ProcessProducerField.class.isAssignableFrom(eventType))
         {
             if (processProducerFieldObservers == null)
             {
@@ -312,7 +370,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessProducerMethod)
+        else if (ProcessProducerMethod.class.isAssignableFrom(eventType))
         {
             if (processProducerMethodObservers == null)
             {
@@ -330,7 +388,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessSyntheticBean)
+        else if (ProcessSyntheticBean.class.isAssignableFrom(eventType))
         {
             if (processSyntheticBeanObservers == null)
             {
@@ -348,7 +406,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessSyntheticObserverMethod)
+        else if (ProcessSyntheticObserverMethod.class.isAssignableFrom(eventType))
         {
             if (processSyntheticObserverMethodObservers == null)
             {
@@ -366,7 +424,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessBean)
+        else if (ProcessBean.class.isAssignableFrom(eventType))
         {
             if (processBeanObservers == null)
             {
@@ -377,7 +435,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessBeanAttributes)
+        else if (ProcessBeanAttributes.class.isAssignableFrom(eventType))
         {
             if (processBeanAttributesObservers == null)
             {
@@ -388,7 +446,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessInjectionTarget)
+        else if (ProcessInjectionTarget.class.isAssignableFrom(eventType))
         {
             if (processInjectionTargetObservers == null)
             {
@@ -399,7 +457,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessInjectionPoint)
+        else if (ProcessInjectionPoint.class.isAssignableFrom(eventType))
         {
             if (processInjectionPointObservers == null)
             {
@@ -410,7 +468,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessObserverMethod)
+        else if (ProcessObserverMethod.class.isAssignableFrom(eventType))
         {
             if (processObserverMethodObservers == null)
             {
@@ -421,7 +479,7 @@ public class NotificationManager
                 return emptyList();
             }
         }
-        else if (event instanceof ProcessProducer)
+        else if (ProcessProducer.class.isAssignableFrom(eventType))
         {
             if (processProducerObservers == null)
             {
@@ -439,13 +497,15 @@ public class NotificationManager
     private <T> Collection<ObserverMethod<? super T>> filterByWithAnnotations(Collection<ObserverMethod<? super T>> observersMethods, AnnotatedType annotatedType)
     {
         List<ObserverMethod<? super T>> observerMethodsWithAnnotations = new ArrayList<>();
+        String indexedClassName = getIndexedClassName(annotatedType);
 
         for (ObserverMethod<? super T> observerMethod : observersMethods)
         {
             Class[] withAnnotations = ((ContainerEventObserverMethodImpl) observerMethod).getWithAnnotations();
             if (withAnnotations != null && withAnnotations.length > 0)
             {
-                if (annotatedTypeHasAnnotations(annotatedType, withAnnotations))
+                if ((indexedClassName == null || withAnnotationsIndex.canMatch(observerMethod, indexedClassName))
+                        && annotatedTypeHasAnnotations(annotatedType, withAnnotations))
                 {
                     observerMethodsWithAnnotations.add(observerMethod);
                 }
@@ -997,6 +1057,9 @@ public class NotificationManager
         {
             return;
         }
+        StartupProfiler profiler = isLifecycleEvent && webBeansContext.getStartupProfiler().isEnabled()
+                ? webBeansContext.getStartupProfiler() : null;
+
         // synchronous case
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
@@ -1004,7 +1067,14 @@ public class NotificationManager
             {
                 TransactionPhase phase = observer.getTransactionPhase();
 
-                if (phase == null || phase == TransactionPhase.IN_PROGRESS)
+                if (profiler != null && (phase == null || phase == TransactionPhase.IN_PROGRESS))
+                {
+                    try (StartupProfiler.Timing ignored = profiler.observer(context.getEvent(), observer))
+                    {
+                        invokeObserverMethod(context, observer);
+                    }
+                }
+                else if (phase == null || phase == TransactionPhase.IN_PROGRESS)
                 {
                     invokeObserverMethod(context, observer);
                 }
@@ -1168,6 +1238,12 @@ public class NotificationManager
         }
 
         ObserverMethodImpl<T> observer = new ObserverMethodImpl(ownerBean, annotatedMethod, annotatedParameter);
+        if (!hasLifecycleObservers(GProcessObserverMethod.class))
+        {
+            addObserver(observer);
+            return observer;
+        }
+
         GProcessObserverMethod event = new GProcessObserverMethod(webBeansContext, annotatedMethod, observer);
         webBeansContext.getBeanManagerImpl().fireEvent(event, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
         webBeansContext.getWebBeansUtil().inspectDefinitionErrorStack("There are errors that are added by ProcessObserverMethod event observers for " +
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.event;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.enterprise.inject.spi.ProcessSyntheticAnnotatedType;
+
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.util.ClassResolutionCache;
+import org.apache.webbeans.util.ClassUtil;
+
+/**
+ * Precomputes via the bytecode annotation index of the scanner which of the scanned classes
+ * can match the {@link jakarta.enterprise.inject.spi.WithAnnotations} filters of the
+ * {@link jakarta.enterprise.inject.spi.ProcessAnnotatedType} observers.
+ *
+ * The candidate sets are a superset of the classes which really match, thus the reflective check
+ * still needs to get done for the candidates. All other classes can be skipped without looking
+ * at their AnnotatedType. This is only valid for the AnnotatedTypes which got created from the classes
+ * via reflection, not for AnnotatedTypes which got modified or added by Extensions.
+ */
+class WithAnnotationsIndex
+{
+    private final OwbAnnotationFinder finder;
+
+    /**
+     * candidate class names per observer method with a WithAnnotations filter
+     */
+    private final Map<ObserverMethod<?>, Set<String>> candidates = new IdentityHashMap<>();
+
+    /**
+     * whether there is any observer which gets all ProcessAnnotatedType events
+     */
+    private final boolean unfilteredObserver;
+
+    WithAnnotationsIndex(OwbAnnotationFinder finder, Map<Type, Set<ObserverMethod<?>>> observers,
+                         ClassResolutionCache classResolutionCache, ClassLoader loader)
+    {
+        this.finder = finder;
+
+        boolean unfiltered = false;
+        Set<String> usedAnnotations = null;
+        Map<Set<Class<?>>, Set<String>> candidatesPerFilter = new HashMap<>();
+        for (Map.Entry<Type, Set<ObserverMethod<?>>> entry : observers.entrySet())
+        {
+            if (ProcessSyntheticAnnotatedType.class.isAssignableFrom(ClassUtil.getClass(entry.getKey())))
+            {
+                // never gets notified about scanned classes
+                continue;
+            }
+            for (ObserverMethod<?> observer : entry.getValue())
+            {
+                Class<?>[] withAnnotations = observer instanceof ContainerEventObserverMethodImpl
+                        ? ((ContainerEventObserverMethodImpl<?>) observer).getWithAnnotations()
+                        : null;
+                if (withAnnotations == null || withAnnotations.length == 0)
+                {
+                    unfiltered = true;
+                    continue;
+                }
+
+                if (usedAnnotations == null)
+                {
+                    usedAnnotations = finder.getUsedAnnotations();
+                }
+                Set<String> annotations = usedAnnotations;
+                Set<Class<?>> filter = new HashSet<>(Arrays.asList(withAnnotations));
+                candidates.put(observer, candidatesPerFilter.computeIfAbsent(filter,
+                        f -> finder.findClassesWithAnnotations(getMatchingAnnotations(f, annotations, classResolutionCache, loader))));
+            }
+        }
+        unfilteredObserver = unfiltered;
+    }
+
+    /**
+     * @return {@code false} if none of the observers can be interested in the given class
+     */
+    boolean isObserved(String className)
+    {
+        if (unfilteredObserver || !finder.isIndexed(className))
+        {
+            return true;
+        }
+        for (Set<String> classes : candidates.values())
+        {
+            if (classes.contains(className))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code false} if the given observer is not interested in the given class
+     */
+    boolean canMatch(ObserverMethod<?> observer, String className)
+    {
+        Set<String> classes = candidates.get(observer);
+        return classes == null || !finder.isIndexed(className) || classes.contains(className);
+    }
+
+    /**
+     * Like {@code NotificationManager#hasAnnotation} we match the annotations themselves
+     * and all annotations which are annotated with them.
+     */
+    private static Set<String> getMatchingAnnotations(Set<Class<?>> filter, Set<String> usedAnnotations,
+                                                      ClassResolutionCache classResolutionCache, ClassLoader loader)
+    {
+        Set<String> matching = new HashSet<>();
+        for (Class<?> withAnnotation : filter)
+        {
+            matching.add(withAnnotation.getName());
+        }
+        for (String usedAnnotation : usedAnnotations)
+        {
+            if (matching.contains(usedAnnotation))
+            {
+                continue;
+            }
+            Class<?> annotationType = classResolutionCache.getClassFromName(usedAnnotation, loader, false);
+            if (annotationType == null || !annotationType.isAnnotation())
+            {
+                // reflection doesn't show annotations which cannot get loaded either
+                continue;
+            }
+            if (isAnnotatedWith(annotationType.getAnnotations(), filter))
+            {
+                matching.add(usedAnnotation);
+            }
+        }
+        return matching;
+    }
+
+    private static boolean isAnnotatedWith(Annotation[] metaAnnotations, Collection<Class<?>> filter)
+    {
+        for (Annotation metaAnnotation : metaAnnotations)
+        {
+            for (Class<?> withAnnotation : filter)
+            {
+                if (withAnnotation.isAssignableFrom(metaAnnotation.annotationType()))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
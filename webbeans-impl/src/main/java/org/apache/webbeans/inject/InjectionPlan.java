@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.IllegalProductException;
+import jakarta.enterprise.inject.TransientReference;
+import jakarta.enterprise.inject.spi.AnnotatedParameter;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import org.apache.webbeans.component.AbstractProducerBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.proxy.InstanceFactory;
+import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.ExceptionUtil;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Pre-computed construction, field and method injection for a single InjectionTarget.
+ *
+ * <p>The plan resolves the {@link Bean} of every injection point once and accesses
+ * the injected members via {@link MethodHandle}s, so {@link #inject(Object, CreationalContextImpl)}
+ * neither has to walk the injection points nor to use reflection for each instance.
+ * The steps are ordered like the reflective injection: superclass first and within a class
+ * all fields before all methods.</p>
+ *
+ * <p>If a constructor got set, {@link #newInstance(CreationalContextImpl)} invokes it
+ * via an {@link InstanceFactory}, which is a generated class if the constructor is accessible.</p>
+ *
+ * <p>A plan must only get built after the deployment finished, as it caches the bean resolution.</p>
+ *
+ * <p>Exceptions thrown by the constructor or an initializer method get wrapped into a
+ * {@link WebBeansException} with an {@link InvocationTargetException} as cause,
+ * exactly like {@link InjectableConstructor} and {@link InjectableMethod} do.</p>
+ *
+ * @see InjectableField
+ * @see InjectableMethod
+ */
+public final class InjectionPlan<T>
+{
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType CONSTRUCTOR_INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final BeanManagerImpl beanManager;
+    private final Step[] steps;
+    private final ConstructorStep<T> constructor;
+
+    private InjectionPlan(BeanManagerImpl beanManager, List<Step> steps, ConstructorStep<T> constructor)
+    {
+        this.beanManager = beanManager;
+        this.steps = steps.toArray(new Step[steps.size()]);
+        this.constructor = constructor;
+    }
+
+    /**
+     * Creates a new instance with the constructor set via {@link Builder#setConstructor}.
+     */
+    public T newInstance(CreationalContextImpl<T> creationalContext)
+    {
+        if (constructor == null)
+        {
+            throw new IllegalStateException("No constructor defined in this InjectionPlan");
+        }
+        return constructor.newInstance(this, creationalContext);
+    }
+
+    public void inject(T instance, CreationalContextImpl<T> creationalContext)
+    {
+        for (Step step : steps)
+        {
+            step.inject(this, instance, creationalContext);
+        }
+    }
+
+    private Object[] getArguments(ResolvedInjectionPoint[] parameters, CreationalContextImpl<?> creationalContext,
+                                  CreationalContextImpl<?> transientCreationalContext)
+    {
+        Object[] arguments = parameters.length == 0 ? NO_ARGUMENTS : new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++)
+        {
+            arguments[i] = getReference(parameters[i], creationalContext, transientCreationalContext);
+        }
+        return arguments;
+    }
+
+    private Object getReference(ResolvedInjectionPoint point, CreationalContextImpl<?> creationalContext, CreationalContextImpl<?> transientCreationalContext)
+    {
+        if (point.delegate)
+        {
+            return creationalContext.getDelegate();
+        }
+
+        CreationalContext<?> injectionPointContext = point.transientReference ? transientCreationalContext : creationalContext;
+        Object injected = beanManager.getInjectableReference(point.injectionPoint, point.bean, injectionPointContext);
+
+        if (injected == null)
+        {
+            if (point.normalScoped)
+            {
+                throw new IllegalStateException("InjectableReference is 'null' for " + point.injectionPoint.toString());
+            }
+            return point.defaultValue;
+        }
+
+        /*X TODO see spec issue CDI-140 */
+        if (point.dependentProducer && !(injected instanceof Serializable)
+            && creationalContext.getBean() != null && beanManager.isPassivatingScope(creationalContext.getBean().getScope()))
+        {
+            throw new IllegalProductException("A producer method or field of scope @Dependent returns an unserializable object for injection " +
+                    "into an injection point " + point.injectionPoint + " that requires a passivation capable dependency");
+        }
+
+        return injected;
+    }
+
+    /**
+     * Collects the members to inject in their injection order.
+     */
+    public static final class Builder<T>
+    {
+        private final WebBeansContext webBeansContext;
+        private final List<Step> steps = new ArrayList<>();
+        private ConstructorStep<T> constructor;
+
+        public Builder(WebBeansContext webBeansContext)
+        {
+            this.webBeansContext = webBeansContext;
+        }
+
+        /**
+         * @param injectionPoints the injection points of the constructor parameters
+         * @param instanceFactory the generated factory invoking the constructor,
+         *                        or {@code null} to invoke it via a {@link MethodHandle}
+         */
+        public Builder<T> setConstructor(Constructor<T> constructor, List<InjectionPoint> injectionPoints, InstanceFactory<T> instanceFactory)
+        {
+            InstanceFactory<T> factory = instanceFactory;
+            if (factory == null)
+            {
+                try
+                {
+                    if (!constructor.isAccessible())
+                    {
+                        webBeansContext.getSecurityService().doPrivilegedSetAccessible(constructor, true);
+                    }
+                    MethodHandle invoker = MethodHandles.lookup().unreflectConstructor(constructor);
+                    factory = new MethodHandleInstanceFactory<>(
+                            invoker.asSpreader(Object[].class, constructor.getParameterCount()).asType(CONSTRUCTOR_INVOKER_TYPE));
+                }
+                catch (IllegalAccessException e)
+                {
+                    throw new WebBeansException(e);
+                }
+            }
+
+            ResolvedInjectionPoint[] parameters = new ResolvedInjectionPoint[constructor.getParameterCount()];
+            boolean transientReference = false;
+            for (InjectionPoint injectionPoint : injectionPoints)
+            {
+                ResolvedInjectionPoint parameter = resolve(injectionPoint);
+                parameters[((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition()] = parameter;
+                transientReference |= parameter.transientReference;
+            }
+            this.constructor = new ConstructorStep<>(factory, parameters, transientReference);
+            return this;
+        }
+
+        public Builder<T> addField(Field field, InjectionPoint injectionPoint)
+        {
+            MethodHandle setter;
+            try
+            {
+                if (!field.isAccessible())
+                {
+                    webBeansContext.getSecurityService().doPrivilegedSetAccessible(field, true);
+                }
+                setter = MethodHandles.lookup().unreflectSetter(field);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new WebBeansException(e);
+            }
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            steps.add(new FieldStep(setter.asType(FIELD_SETTER_TYPE), resolve(injectionPoint)));
+            return this;
+        }
+
+        /**
+         * @param injectionPoints the injection points of the method parameters, maybe empty for initializer methods
+         */
+        public Builder<T> addMethod(Method method, List<InjectionPoint> injectionPoints)
+        {
+            MethodHandle invoker;
+            try
+            {
+                if (!method.isAccessible())
+                {
+                    webBeansContext.getSecurityService().doPrivilegedSetAccessible(method, true);
+                }
+                invoker = MethodHandles.lookup().unreflect(method);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new WebBeansException(e);
+            }
+            if (Modifier.isStatic(method.getModifiers()))
+            {
+                invoker = MethodHandles.dropArguments(invoker, 0, Object.class);
+            }
+            int parameterCount = method.getParameterCount();
+            invoker = invoker.asSpreader(Object[].class, parameterCount).asType(METHOD_INVOKER_TYPE);
+
+            ResolvedInjectionPoint[] parameters = new ResolvedInjectionPoint[parameterCount];
+            boolean transientReference = false;
+            for (InjectionPoint injectionPoint : injectionPoints)
+            {
+                ResolvedInjectionPoint parameter = resolve(injectionPoint);
+                parameters[((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition()] = parameter;
+                transientReference |= parameter.transientReference;
+            }
+            steps.add(new MethodStep(invoker, parameters, transientReference));
+            return this;
+        }
+
+        public InjectionPlan<T> build()
+        {
+            return new InjectionPlan<>(webBeansContext.getBeanManagerImpl(), steps, constructor);
+        }
+
+        private ResolvedInjectionPoint resolve(InjectionPoint injectionPoint)
+        {
+            if (injectionPoint.isDelegate())
+            {
+                return new ResolvedInjectionPoint(injectionPoint, null, false, false, false, null, true);
+            }
+
+            BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+            Bean<?> bean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+            boolean dependentProducer = WebBeansUtil.isDependent(bean) && !injectionPoint.isTransient() && bean instanceof AbstractProducerBean;
+            Class<?> type = ClassUtil.getClass(injectionPoint.getType());
+            return new ResolvedInjectionPoint(
+                    injectionPoint, bean,
+                    injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class),
+                    dependentProducer,
+                    beanManager.isNormalScope(bean.getScope()),
+                    type != null && type.isPrimitive() ? ClassUtil.getDefaultValue(type) : null,
+                    false);
+        }
+    }
+
+    private interface Step
+    {
+        <T> void inject(InjectionPlan<T> plan, T instance, CreationalContextImpl<T> creationalContext);
+    }
+
+    private static final class FieldStep implements Step
+    {
+        private final MethodHandle setter;
+        private final ResolvedInjectionPoint injectionPoint;
+
+        private FieldStep(MethodHandle setter, ResolvedInjectionPoint injectionPoint)
+        {
+            this.setter = setter;
+            this.injectionPoint = injectionPoint;
+        }
+
+        @Override
+        public <T> void inject(InjectionPlan<T> plan, T instance, CreationalContextImpl<T> creationalContext)
+        {
+            Object value = plan.getReference(injectionPoint, creationalContext, null);
+            try
+            {
+                setter.invokeExact((Object) instance, value);
+            }
+            catch (RuntimeException | Error e)
+            {
+                throw e;
+            }
+            catch (Throwable e)
+            {
+                throw new WebBeansException(e);
+            }
+        }
+    }
+
+    private static final class MethodStep implements Step
+    {
+        private final MethodHandle invoker;
+        private final ResolvedInjectionPoint[] parameters;
+        private final boolean transientReference;
+
+        private MethodStep(MethodHandle invoker, ResolvedInjectionPoint[] parameters, boolean transientReference)
+        {
+            this.invoker = invoker;
+            this.parameters = parameters;
+            this.transientReference = transientReference;
+        }
+
+        @Override
+        public <T> void inject(InjectionPlan<T> plan, T instance, CreationalContextImpl<T> creationalContext)
+        {
+            CreationalContextImpl<?> transientCreationalContext = transientReference
+                    ? plan.beanManager.createCreationalContext(creationalContext.getContextual())
+                    : null;
+            try
+            {
+                invoke(instance, plan.getArguments(parameters, creationalContext, transientCreationalContext));
+            }
+            finally
+            {
+                if (transientCreationalContext != null)
+                {
+                    transientCreationalContext.release();
+                }
+            }
+        }
+
+        private void invoke(Object instance, Object[] arguments)
+        {
+            try
+            {
+                Object ignored = invoker.invokeExact(instance, arguments);
+            }
+            catch (Throwable e)
+            {
+                throw new WebBeansException(new InvocationTargetException(e));
+            }
+        }
+    }
+
+    private static final class ConstructorStep<T>
+    {
+        private final InstanceFactory<T> instanceFactory;
+        private final ResolvedInjectionPoint[] parameters;
+        private final boolean transientReference;
+
+        private ConstructorStep(InstanceFactory<T> instanceFactory, ResolvedInjectionPoint[] parameters, boolean transientReference)
+        {
+            this.instanceFactory = instanceFactory;
+            this.parameters = parameters;
+            this.transientReference = transientReference;
+        }
+
+        private T newInstance(InjectionPlan<T> plan, CreationalContextImpl<T> creationalContext)
+        {
+            CreationalContextImpl<?> transientCreationalContext = transientReference
+                    ? plan.beanManager.createCreationalContext(creationalContext.getContextual())
+                    : null;
+            try
+            {
+                Object[] arguments;
+                try
+                {
+                    // InjectableConstructor also wraps resolution failures of the parameters
+                    arguments = plan.getArguments(parameters, creationalContext, transientCreationalContext);
+                }
+                catch (Exception e)
+                {
+                    throw new WebBeansException(e);
+                }
+
+                try
+                {
+                    return instanceFactory.newInstance(arguments);
+                }
+                catch (Throwable e)
+                {
+                    throw new WebBeansException(new InvocationTargetException(e));
+                }
+            }
+            finally
+            {
+                if (transientCreationalContext != null)
+                {
+                    transientCreationalContext.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Invokes a constructor which is not accessible from a generated {@link InstanceFactory}.
+     */
+    private static final class MethodHandleInstanceFactory<T> implements InstanceFactory<T>
+    {
+        private final MethodHandle invoker;
+
+        private MethodHandleInstanceFactory(MethodHandle invoker)
+        {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public T newInstance(Object[] parameters)
+        {
+            try
+            {
+                return (T) invoker.invokeExact(parameters);
+            }
+            catch (Throwable e)
+            {
+                // like the generated factories: pass on whatever the constructor threw
+                throw ExceptionUtil.throwAsRuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * An injection point together with everything which can get resolved upfront.
+     */
+    private static final class ResolvedInjectionPoint
+    {
+        private final InjectionPoint injectionPoint;
+        private final Bean<?> bean;
+        private final boolean transientReference;
+        private final boolean dependentProducer;
+        private final boolean normalScoped;
+        private final Object defaultValue;
+        private final boolean delegate;
+
+        private ResolvedInjectionPoint(InjectionPoint injectionPoint, Bean<?> bean, boolean transientReference, boolean dependentProducer,
+                                       boolean normalScoped, Object defaultValue, boolean delegate)
+        {
+            this.injectionPoint = injectionPoint;
+            this.bean = bean;
+            this.transientReference = transientReference;
+            this.dependentProducer = dependentProducer;
+            this.normalScoped = normalScoped;
+            this.defaultValue = defaultValue;
+            this.delegate = delegate;
+        }
+    }
+}
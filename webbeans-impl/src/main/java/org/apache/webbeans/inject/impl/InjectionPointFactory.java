@@ -22,7 +22,6 @@ import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.NamedLiteral;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
-import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.spi.InjectionPointService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -158,9 +157,7 @@ public class InjectionPointFactory
 
         if (fireEvent)
         {
-            GProcessInjectionPoint event = webBeansContext.getWebBeansUtil().fireProcessInjectionPointEvent(injectionPoint);
-            injectionPoint = event.getInjectionPoint();
-            event.setStarted();
+            injectionPoint = webBeansContext.getWebBeansUtil().fireProcessInjectionPointEventIfObserved(injectionPoint);
         }
 
         return injectionPoint;
@@ -180,10 +177,7 @@ public class InjectionPointFactory
         InjectionPointImpl injectionPoint = new InjectionPointImpl(owner, Arrays.asList(qualifierAnnots), parameter);
         if (fireEvent)
         {
-            GProcessInjectionPoint event = webBeansContext.getWebBeansUtil().fireProcessInjectionPointEvent(injectionPoint);
-            InjectionPoint ip = event.getInjectionPoint();
-            event.setStarted();
-            return ip;
+            return webBeansContext.getWebBeansUtil().fireProcessInjectionPointEventIfObserved(injectionPoint);
         }
         return injectionPoint;
     }
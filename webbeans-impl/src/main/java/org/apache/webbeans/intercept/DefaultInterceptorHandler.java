@@ -237,6 +237,11 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             if (!SelfInterceptorBean.class.isInstance(interceptor))
             {
                 Object value = in.readObject();
+                if (webBeansContext.getInterceptorResolutionService().isSharedInterceptor(interceptor))
+                {
+                    // don't create a 2nd instance of a shared interceptor
+                    value = webBeansContext.getInterceptorResolutionService().getSharedInterceptorInstance(interceptor);
+                }
                 tmpInstances.put(interceptor, value);
             }
             else
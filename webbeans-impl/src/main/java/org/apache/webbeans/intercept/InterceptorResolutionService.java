@@ -19,6 +19,7 @@
 package org.apache.webbeans.intercept;
 
 import org.apache.webbeans.annotation.AnnotationManager;
+import org.apache.webbeans.annotation.SharedInterceptor;
 import org.apache.webbeans.component.BeanAttributesImpl;
 import org.apache.webbeans.component.SelfInterceptorBean;
 import org.apache.webbeans.component.creation.BeanAttributesBuilder;
@@ -45,7 +46,10 @@ import jakarta.enterprise.inject.spi.AnnotatedConstructor;
 import jakarta.enterprise.inject.spi.AnnotatedMethod;
 import jakarta.enterprise.inject.spi.AnnotatedParameter;
 import jakarta.enterprise.inject.spi.AnnotatedType;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.Decorator;
+import jakarta.enterprise.inject.spi.InjectionPoint;
 import jakarta.enterprise.inject.spi.InterceptionType;
 import jakarta.enterprise.inject.spi.Interceptor;
 import jakarta.inject.Inject;
@@ -55,12 +59,15 @@ import jakarta.interceptor.Interceptors;
 import jakarta.interceptor.InvocationContext;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -69,6 +76,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -86,6 +95,23 @@ public class InterceptorResolutionService
      */
     private volatile Boolean enforceCheckedException;
 
+    /**
+     * Interceptors which got requested to be shared and are stateless.
+     * @see #defineSharedInterceptors(Collection)
+     */
+    private final Set<Interceptor<?>> sharedInterceptors = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Interceptors which got requested to be shared but are not stateless, with the reason.
+     * They get instantiated per intercepted instance and reported by {@link #validateSharedInterceptors()}.
+     */
+    private final Map<Interceptor<?>, String> invalidSharedInterceptors = new ConcurrentHashMap<>();
+
+    /**
+     * The single instance of each shared interceptor together with its CreationalContext.
+     */
+    private final ConcurrentMap<Interceptor<?>, Map.Entry<Object, CreationalContext<?>>> sharedInterceptorInstances = new ConcurrentHashMap<>();
+
 
     public InterceptorResolutionService(WebBeansContext webBeansContext)
     {
@@ -805,33 +831,178 @@ public class InterceptorResolutionService
     public <T> Map<Interceptor<?>, Object> createInterceptorInstances(BeanInterceptorInfo interceptorInfo,
                                                                       CreationalContextImpl<T> creationalContextImpl)
     {
+        if (interceptorInfo != null && interceptorInfo.sharedInterceptorInstances != null)
+        {
+            // all interceptors of this bean are shared
+            return interceptorInfo.sharedInterceptorInstances;
+        }
+
         Map<Interceptor<?>,Object> interceptorInstances  = new HashMap<>();
         if (interceptorInfo != null)
         {
             // apply interceptorInfo
+            boolean allShared = true;
 
             // create EJB-style interceptors
             for (Interceptor interceptorBean : interceptorInfo.getEjbInterceptors())
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                allShared &= putInterceptorInstance(interceptorInstances, interceptorBean, creationalContextImpl);
             }
 
             // create CDI-style interceptors
             for (Interceptor interceptorBean : interceptorInfo.getCdiInterceptors())
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                allShared &= putInterceptorInstance(interceptorInstances, interceptorBean, creationalContextImpl);
             }
             for (Interceptor interceptorBean : interceptorInfo.getConstructorCdiInterceptors())
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                allShared &= putInterceptorInstance(interceptorInstances, interceptorBean, creationalContextImpl);
+            }
+
+            // the self interceptor gets added per instance, so we can only reuse the map without it
+            if (allShared && !interceptorInstances.isEmpty() && interceptorInfo.getSelfInterceptorBean() == null)
+            {
+                interceptorInstances = Collections.unmodifiableMap(interceptorInstances);
+                interceptorInfo.sharedInterceptorInstances = interceptorInstances;
             }
         }
         return interceptorInstances;
     }
 
+    /**
+     * @return {@code true} if the shared instance of the interceptor got used
+     */
+    private <T> boolean putInterceptorInstance(Map<Interceptor<?>, Object> interceptorInstances, Interceptor interceptorBean,
+                                               CreationalContextImpl<T> creationalContextImpl)
+    {
+        if (sharedInterceptors.contains(interceptorBean))
+        {
+            interceptorInstances.put(interceptorBean, getSharedInterceptorInstance(interceptorBean));
+            return true;
+        }
+
+        creationalContextImpl.putContextual(interceptorBean);
+        interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+        return false;
+    }
+
+    /**
+     * @return whether a single instance of the given interceptor gets used for all intercepted beans
+     */
+    public boolean isSharedInterceptor(Interceptor<?> interceptor)
+    {
+        return sharedInterceptors.contains(interceptor);
+    }
+
+    public <T> T getSharedInterceptorInstance(Interceptor<T> interceptor)
+    {
+        return (T) sharedInterceptorInstances.computeIfAbsent(interceptor, i ->
+        {
+            CreationalContext<T> creationalContext = webBeansContext.getBeanManagerImpl().createCreationalContext(interceptor);
+            return new AbstractMap.SimpleImmutableEntry<>(interceptor.create(creationalContext), creationalContext);
+        }).getKey();
+    }
+
+    /**
+     * Determines which of the interceptors annotated with {@link SharedInterceptor} or configured via
+     * {@link OpenWebBeansConfiguration#SHARED_INTERCEPTORS} can get shared. They must not have any instance state,
+     * thus only injected normal-scoped beans and the BeanManager are allowed as instance fields.
+     * All others keep getting instantiated per intercepted instance.
+     *
+     * @see #validateSharedInterceptors()
+     */
+    public void defineSharedInterceptors(Collection<Interceptor<?>> interceptors)
+    {
+        List<String> configuredSharedInterceptors = webBeansContext.getOpenWebBeansConfiguration().getSharedInterceptors();
+        for (Interceptor<?> interceptor : interceptors)
+        {
+            Class<?> interceptorClass = interceptor.getBeanClass();
+            if (!interceptorClass.isAnnotationPresent(SharedInterceptor.class)
+                && !configuredSharedInterceptors.contains(interceptorClass.getName()))
+            {
+                continue;
+            }
+
+            String problem = findSharedInterceptorProblem(interceptor);
+            if (problem == null)
+            {
+                sharedInterceptors.add(interceptor);
+            }
+            else
+            {
+                invalidSharedInterceptors.put(interceptor, problem);
+            }
+        }
+    }
+
+    /**
+     * Reports the interceptors which got requested to be shared but are not stateless.
+     *
+     * @throws WebBeansDeploymentException if a shared interceptor is not stateless
+     * @see #defineSharedInterceptors(Collection)
+     */
+    public void validateSharedInterceptors()
+    {
+        if (!invalidSharedInterceptors.isEmpty())
+        {
+            throw new WebBeansDeploymentException(invalidSharedInterceptors.values().iterator().next());
+        }
+    }
+
+    private String findSharedInterceptorProblem(Interceptor<?> interceptor)
+    {
+        Class<?> interceptorClass = interceptor.getBeanClass();
+        for (Class<?> clazz = interceptorClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+        {
+            for (Field field : clazz.getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isAnnotationPresent(Inject.class))
+                {
+                    return "Shared interceptor " + interceptorClass.getName() + " must not have instance state but has the field " + field;
+                }
+            }
+        }
+
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        for (InjectionPoint injectionPoint : interceptor.getInjectionPoints())
+        {
+            if (injectionPoint.getType() == BeanManager.class)
+            {
+                continue;
+            }
+            Bean<?> injectedBean;
+            try
+            {
+                injectedBean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+            }
+            catch (RuntimeException e)
+            {
+                // the injection point itself gets reported by the regular validation
+                return "Shared interceptor " + interceptorClass.getName() + " has an unresolvable injection point " + injectionPoint;
+            }
+            if (!beanManager.isNormalScope(injectedBean.getScope()))
+            {
+                return "Shared interceptor " + interceptorClass.getName() + " must only inject normal-scoped beans but injects " + injectionPoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Destroys the instances of all shared interceptors.
+     */
+    public void clear()
+    {
+        for (Map.Entry<Interceptor<?>, Map.Entry<Object, CreationalContext<?>>> entry : sharedInterceptorInstances.entrySet())
+        {
+            Interceptor<Object> interceptor = (Interceptor<Object>) entry.getKey();
+            interceptor.destroy(entry.getValue().getKey(), (CreationalContext<Object>) entry.getValue().getValue());
+        }
+        sharedInterceptorInstances.clear();
+        sharedInterceptors.clear();
+        invalidSharedInterceptors.clear();
+    }
+
     public <T> T createProxiedInstance(T instance, CreationalContextImpl<T> creationalContextImpl,
                                        CreationalContext<T> creationalContext,
                                        BeanInterceptorInfo interceptorInfo,
@@ -945,6 +1116,11 @@ public class InterceptorResolutionService
          */
         private Map<InterceptionType, LifecycleMethodInfo> lifecycleMethodInterceptorInfos;
 
+        /**
+         * The interceptor instances if all interceptors of the bean are shared ones.
+         */
+        private volatile Map<Interceptor<?>, Object> sharedInterceptorInstances;
+
 
         public List<Decorator<?>> getDecorators()
         {
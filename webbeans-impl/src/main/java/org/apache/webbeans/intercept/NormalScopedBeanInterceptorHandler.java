@@ -28,8 +28,13 @@ import jakarta.inject.Provider;
 import java.io.NotSerializableException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.spi.ContextsService;
 
 /**
  * <p>A Provider which handles all NormalScoped proxying.
@@ -55,6 +60,11 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
      */
     private String beanPassivationId;
 
+    /**
+     * The scope specific lookup of the current Context, resolved on first use.
+     */
+    private transient volatile Supplier<Context> contextAccessor;
+
     public NormalScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         this.beanManager = beanManager;
@@ -86,7 +96,7 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
         Object webbeansInstance;
 
         //Context of the bean
-        Context context = beanManager.getContext(bean.getScope());
+        Context context = getContext();
 
         //Already saved in context?
         webbeansInstance = context.get(bean);
@@ -107,6 +117,39 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
         return webbeansInstance;
     }
 
+    private Context getContext()
+    {
+        Supplier<Context> accessor = contextAccessor;
+        if (accessor == null)
+        {
+            accessor = createContextAccessor();
+            contextAccessor = accessor;
+        }
+
+        Context context = accessor.get();
+        if (context == null || !context.isActive())
+        {
+            // custom or multiple contexts for this scope, or not active at all
+            return beanManager.getContext(bean.getScope());
+        }
+        return context;
+    }
+
+    private Supplier<Context> createContextAccessor()
+    {
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            ContextsService contextsService = ((BeanManagerImpl) beanManager).getWebBeansContext().getContextsService();
+            if (contextsService instanceof AbstractContextsService)
+            {
+                return ((AbstractContextsService) contextsService).getContextAccessor(bean.getScope());
+            }
+        }
+
+        Class<? extends Annotation> scope = bean.getScope();
+        return () -> beanManager.getContext(scope);
+    }
+
     /**
      * The following code gets generated into the proxy:
      *
@@ -18,12 +18,16 @@
  */
 package org.apache.webbeans.lifecycle;
 
+import java.lang.management.ManagementFactory;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import jakarta.enterprise.inject.spi.BeanManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.apache.webbeans.config.BeansDeployer;
 import org.apache.webbeans.config.OWBLogConst;
@@ -61,6 +65,9 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
     private final BeanManagerImpl beanManager;
     protected final WebBeansContext webBeansContext;
 
+    /**The name of the registered ProxyRegistry MBean, if any*/
+    private ObjectName proxyRegistryName;
+
     protected AbstractLifeCycle()
     {
         this(null);
@@ -128,6 +135,7 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         logger.fine("Scanning classpaths for beans artifacts.");
 
         //Scan
+        webBeansContext.getStartupProfiler().startPhase("scan");
         scannerService.scan();
         
         //Deploy beans
@@ -135,6 +143,12 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
 
         //Deploy
         deployer.deploy(scannerService);
+        webBeansContext.getStartupProfiler().report();
+
+        if (webBeansContext.getOpenWebBeansConfiguration().isProxyRegistryJmxEnabled())
+        {
+            registerProxyRegistry();
+        }
 
         //Start actual starting on sub-classes
         afterStartApplication(startupObject);
@@ -186,12 +200,52 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         }
         finally
         {
+            unregisterProxyRegistry();
             started.set(false);
             // Clear singleton list
             WebBeansFinder.clearInstances(WebBeansUtil.getCurrentClassLoader());
         }
     }
 
+    private void registerProxyRegistry()
+    {
+        try
+        {
+            ObjectName name = new ObjectName("org.apache.webbeans:type=ProxyRegistry,deployment="
+                                             + Integer.toHexString(System.identityHashCode(webBeansContext)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(webBeansContext.getProxyRegistry(), name);
+            proxyRegistryName = name;
+        }
+        catch (JMException e)
+        {
+            logger.log(Level.WARNING, "Unable to register the ProxyRegistry MBean", e);
+        }
+    }
+
+    private void unregisterProxyRegistry()
+    {
+        if (proxyRegistryName == null)
+        {
+            return;
+        }
+        try
+        {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(proxyRegistryName))
+            {
+                mBeanServer.unregisterMBean(proxyRegistryName);
+            }
+        }
+        catch (JMException e)
+        {
+            logger.log(Level.WARNING, "Unable to unregister the ProxyRegistry MBean", e);
+        }
+        finally
+        {
+            proxyRegistryName = null;
+        }
+    }
+
     /**
      * @return the contextsService
      */
@@ -38,4 +38,11 @@ public abstract class AbstractEjbInjectionTarget<T> extends InjectionTargetImpl<
 
     @Override
     public abstract T produce(CreationalContext<T> creationalContext);
+
+    @Override
+    public boolean isDestroyNeeded()
+    {
+        // the EJB container has to get notified about every instance
+        return true;
+    }
 }
@@ -183,6 +183,30 @@ public abstract class AbstractProducer<T> implements Producer<T>
         return interceptorInfo != null && proxyClass != null;
     }
 
+    /**
+     * Whether destroying an instance created by this producer has any observable effect,
+     * e.g. invokes a callback, a disposer, an interceptor or a decorator.
+     * The answer is only reliable after {@link #defineInterceptorStack} got invoked.
+     *
+     * @return {@code false} if the container can drop the instance without destroying it
+     */
+    public boolean isDestroyNeeded()
+    {
+        return true;
+    }
+
+    /**
+     * @return whether the defined interceptor stack contains any interceptor or decorator
+     */
+    protected boolean hasInterceptorsOrDecorators()
+    {
+        return proxyClass != null
+            || !interceptorInfo.getDecorators().isEmpty()
+            || !interceptorInfo.getEjbInterceptors().isEmpty()
+            || !interceptorInfo.getCdiInterceptors().isEmpty()
+            || !interceptorInfo.getConstructorCdiInterceptors().isEmpty();
+    }
+
     protected boolean isDelegateInjection(CreationalContextImpl<?> cc)
     {
         InjectionPoint ip = cc.getInjectionPoint();
@@ -109,6 +109,16 @@ public final class AnnotatedElementFactory
         return getAnnotatedTypeCache(annotatedClass).get(OWB_DEFAULT_KEY);
     }
 
+    /**
+     * @return {@code true} if the given AnnotatedType is the one which got created for its class via
+     *         {@link #newAnnotatedType(Class)}, thus it only contains what the class declares
+     */
+    public boolean isDefaultAnnotatedType(AnnotatedType<?> annotatedType)
+    {
+        ConcurrentMap<String, AnnotatedType<?>> annotatedTypes = annotatedTypeCache.get(annotatedType.getJavaClass());
+        return annotatedTypes != null && annotatedTypes.get(OWB_DEFAULT_KEY) == annotatedType;
+    }
+
     /**
      * Get all already registered AnnotatedTypes of the specified type. This will NOT create a new one!
      * @param annotatedClass
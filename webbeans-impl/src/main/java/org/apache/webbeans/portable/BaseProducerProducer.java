@@ -101,6 +101,12 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
         }
     }
 
+    @Override
+    public boolean isDestroyNeeded()
+    {
+        return disposalMethod != null || interceptorInfo != null && hasInterceptorsOrDecorators();
+    }
+
     @Override
     public void dispose(T instance)
     {
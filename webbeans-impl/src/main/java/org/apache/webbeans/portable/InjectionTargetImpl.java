@@ -26,6 +26,7 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.inject.InjectableConstructor;
 import org.apache.webbeans.inject.InjectableField;
 import org.apache.webbeans.inject.InjectableMethod;
+import org.apache.webbeans.inject.InjectionPlan;
 import org.apache.webbeans.intercept.ConstructorInterceptorInvocationContext;
 import org.apache.webbeans.intercept.DefaultInterceptorHandler;
 import org.apache.webbeans.intercept.InterceptorResolutionService;
@@ -70,6 +71,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -114,6 +117,16 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
 
     private List<Interceptor<?>> aroundConstructInterceptors;
 
+    /**
+     * Field and method injection, lazily built after the container started.
+     */
+    private volatile InjectionPlan<T> injectionPlan;
+
+    /**
+     * Constructor invocation, lazily built after the container started.
+     */
+    private volatile InjectionPlan<T> constructionPlan;
+
     public InjectionTargetImpl(AnnotatedType<T> annotatedType, Set<InjectionPoint> injectionPoints, WebBeansContext webBeansContext,
                                List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
     {
@@ -191,6 +204,19 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         return super.needsProxy() || !postConstructInterceptors.isEmpty() || !preDestroyInterceptors.isEmpty();
     }
     
+    @Override
+    public boolean isDestroyNeeded()
+    {
+        if (interceptorInfo == null)
+        {
+            // interceptor stack not yet defined, so we cannot tell
+            return true;
+        }
+        return hasInterceptorsOrDecorators()
+            || preDestroyMethods != null && !preDestroyMethods.isEmpty()
+            || preDestroyInterceptors != null && !preDestroyInterceptors.isEmpty();
+    }
+
     protected boolean hasAroundConstruct()
     {
         return aroundConstructInterceptors != null && !aroundConstructInterceptors.isEmpty();
@@ -198,13 +224,114 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
     
     protected T newInstance(CreationalContextImpl<T> creationalContext)
     {
+        InjectionPlan<T> plan = constructionPlan;
+        if (plan == null && !webBeansContext.getBeanManagerImpl().getInjectionResolver().isStartup())
+        {
+            plan = createConstructionPlan();
+            constructionPlan = plan;
+        }
+        if (plan != null)
+        {
+            return plan.newInstance(creationalContext);
+        }
         return new InjectableConstructor<>(getConstructor().getJavaMember(), this, creationalContext).doInjection();
     }
 
+    private InjectionPlan<T> createConstructionPlan()
+    {
+        Constructor<T> cons = getConstructor().getJavaMember();
+        List<InjectionPoint> constructorInjectionPoints = new ArrayList<>();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember().equals(cons))
+            {
+                constructorInjectionPoints.add(injectionPoint);
+            }
+        }
+        return new InjectionPlan.Builder<T>(webBeansContext)
+                .setConstructor(cons, constructorInjectionPoints, webBeansContext.getInterceptorDecoratorProxyFactory().createInstanceFactory(cons))
+                .build();
+    }
+
     @Override
     public void inject(T instance, CreationalContext<T> context)
     {
-        inject(instance.getClass(), unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        T internalInstance = unwrapProxyInstance(instance);
+        InjectionPlan<T> plan = getInjectionPlan();
+        if (plan != null && annotatedType.getJavaClass().isInstance(internalInstance))
+        {
+            plan.inject(internalInstance, (CreationalContextImpl<T>) context);
+            injectResources(internalInstance);
+        }
+        else
+        {
+            inject(instance.getClass(), internalInstance, (CreationalContextImpl<T>) context);
+        }
+    }
+
+    /**
+     * @return the cached InjectionPlan or {@code null} while the container is still starting up
+     */
+    private InjectionPlan<T> getInjectionPlan()
+    {
+        InjectionPlan<T> plan = injectionPlan;
+        if (plan == null)
+        {
+            if (webBeansContext.getBeanManagerImpl().getInjectionResolver().isStartup())
+            {
+                // bean resolution is not final yet
+                return null;
+            }
+            plan = createInjectionPlan();
+            injectionPlan = plan;
+        }
+        return plan;
+    }
+
+    private InjectionPlan<T> createInjectionPlan()
+    {
+        LinkedList<Class<?>> hierarchy = new LinkedList<>();
+        for (Class<?> type = annotatedType.getJavaClass(); type != null && !type.equals(Object.class); type = type.getSuperclass())
+        {
+            hierarchy.addFirst(type);
+        }
+
+        InjectionPlan.Builder<T> builder = new InjectionPlan.Builder<>(webBeansContext);
+        for (Class<?> type : hierarchy)
+        {
+            Map<Method, List<InjectionPoint>> methodInjectionPoints = new LinkedHashMap<>();
+            for (InjectionPoint injectionPoint : getInjectionPoints())
+            {
+                Member member = injectionPoint.getMember();
+                if (!member.getDeclaringClass().equals(type))
+                {
+                    continue;
+                }
+                if (member instanceof Field)
+                {
+                    builder.addField((Field) member, injectionPoint);
+                }
+                else if (member instanceof Method
+                        && !isProducerMethod(injectionPoint)
+                        && !isDisposalMethod(injectionPoint)
+                        && !isObserverMethod(injectionPoint))
+                {
+                    methodInjectionPoints.computeIfAbsent((Method) member, m -> new ArrayList<>()).add(injectionPoint);
+                }
+            }
+            for (Map.Entry<Method, List<InjectionPoint>> method : methodInjectionPoints.entrySet())
+            {
+                builder.addMethod(method.getKey(), method.getValue());
+            }
+            for (AnnotatedMethod<? super T> method : webBeansContext.getAnnotatedElementFactory().getFilteredAnnotatedMethods(annotatedType))
+            {
+                if (method.getDeclaringType().getJavaClass().equals(type) && method.isAnnotationPresent(Inject.class) && method.getParameters().isEmpty())
+                {
+                    builder.addMethod(method.getJavaMember(), Collections.emptyList());
+                }
+            }
+        }
+        return builder.build();
     }
 
     private void inject(Class<?> type, T instance, CreationalContextImpl<T> context)
@@ -29,12 +29,16 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.hash.XxHash64;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.service.ClassLoaderProxyService;
 import org.apache.webbeans.spi.DefiningClassService;
 import org.apache.webbeans.spi.InstantiatingClassService;
 import org.apache.xbean.asm9.ClassReader;
@@ -60,6 +64,10 @@ public abstract class AbstractProxyFactory
      */
     public static final int MODIFIER_VARARGS = 0x00000080;
 
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AbstractProxyFactory.class);
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
     protected final Unsafe unsafe;
 
     private final DefiningClassService definingService;
@@ -68,6 +76,12 @@ public abstract class AbstractProxyFactory
     private final boolean useStaticNames;
     private final boolean useXXhash64;
 
+    /**
+     * Generated factories for the proxy classes, only used if the {@link InstantiatingClassService}
+     * would invoke the public default constructor of the proxy anyway.
+     */
+    private final ClassValue<InstanceFactory<?>> proxyInstanceFactories;
+
     protected WebBeansContext webBeansContext;
 
     private final int javaVersion;
@@ -99,6 +113,39 @@ public abstract class AbstractProxyFactory
 
         // we have fallbacks bellow to try Unsafe anyways if we can't do otherwise
         unsafe = definingService == null || instantiatingService == null ? new Unsafe() : null;
+
+        proxyInstanceFactories = invokesDefaultConstructor(instantiatingService) ? new ClassValue<InstanceFactory<?>>()
+        {
+            @Override
+            protected InstanceFactory<?> computeValue(Class<?> proxyClass)
+            {
+                try
+                {
+                    return createInstanceFactory(proxyClass.getConstructor());
+                }
+                catch (NoSuchMethodException e)
+                {
+                    return null;
+                }
+            }
+        } : null;
+    }
+
+    private static boolean invokesDefaultConstructor(InstantiatingClassService instantiatingService)
+    {
+        if (instantiatingService == null)
+        {
+            return false;
+        }
+        try
+        {
+            Class<?> declaringClass = instantiatingService.getClass().getMethod("newInstance", Class.class).getDeclaringClass();
+            return declaringClass == ClassLoaderProxyService.class || declaringClass == ClassLoaderProxyService.LoadOnly.class;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
     }
 
     private int determineDefaultJavaVersion()
@@ -205,7 +252,9 @@ public abstract class AbstractProxyFactory
             throws ProxyGenerationException;
 
     /**
-     * Detect a free classname based on the given one
+     * Detect a free classname based on the given one.
+     * Hidden classes never occupy a name, thus factories have to cache their proxy classes
+     * themselves instead of relying on this lookup.
      * @param proxyClassName
      * @return
      * @deprecated use {@link #getUnusedProxyClassName(ClassLoader, String, Method[], Method[])}.
@@ -339,22 +388,173 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
+        Class<T> proxyClass;
         if (definingService != null)
         {
-            return definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+            proxyClass = definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+        }
+        else
+        {
+            proxyClass = unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
         }
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        webBeansContext.getProxyRegistry().register(getClass().getSimpleName(), proxyClass, classToProxy, proxyBytes.length);
+        return proxyClass;
     }
 
     protected <T> T newInstance(final Class<? extends T> proxyClass)
     {
         if (instantiatingService != null)
         {
+            InstanceFactory<?> instanceFactory = proxyInstanceFactories != null ? proxyInstanceFactories.get(proxyClass) : null;
+            if (instanceFactory != null)
+            {
+                try
+                {
+                    return proxyClass.cast(instanceFactory.newInstance(NO_PARAMETERS));
+                }
+                catch (Exception | LinkageError e)
+                {
+                    throw new IllegalStateException("Failed to create a new Proxy instance of " + proxyClass.getName(), e);
+                }
+            }
             return instantiatingService.newInstance(proxyClass);
         }
         return unsafe.unsafeNewInstance(proxyClass);
     }
 
+    /**
+     * Generates a class which directly invokes the given constructor instead of going through reflection.
+     * The generated class has a stable name, thus it also works with pre-generated classes,
+     * e.g. via {@link ClassLoaderProxyService.LoadOnly}.
+     *
+     * @param constructor the constructor to invoke
+     * @return the factory or {@code null} if the constructor cannot get invoked from a generated class
+     */
+    public <T> InstanceFactory<T> createInstanceFactory(Constructor<T> constructor)
+    {
+        Class<T> classToCreate = constructor.getDeclaringClass();
+        if (!isAccessibleFromGeneratedClass(constructor))
+        {
+            return null;
+        }
+
+        String factoryClassName = fixPreservedPackages(
+                (classToCreate.getSigners() != null ? getSignedClassProxyName(classToCreate) : classToCreate.getName()) + "$$OwbInstanceFactory");
+        try
+        {
+            byte[] factoryBytes = generateInstanceFactory(classToCreate, factoryClassName.replace('.', '/'), constructor);
+
+            Class<?> factoryClass;
+            if (definingService != null)
+            {
+                factoryClass = definingService.defineAndLoad(factoryClassName, factoryBytes, classToCreate);
+            }
+            else
+            {
+                factoryClass = unsafe.defineAndLoadClass(getProxyClassLoader(classToCreate), factoryClassName, factoryBytes, classToCreate);
+            }
+            webBeansContext.getProxyRegistry().register("InstanceFactory", factoryClass, classToCreate, factoryBytes.length);
+            return (InstanceFactory<T>) factoryClass.getConstructor().newInstance();
+        }
+        catch (Exception | LinkageError e)
+        {
+            // we just keep using reflection
+            logger.log(Level.FINE, "Unable to create an InstanceFactory for " + constructor, e);
+            return null;
+        }
+    }
+
+    private boolean isAccessibleFromGeneratedClass(Constructor<?> constructor)
+    {
+        Class<?> declaringClass = constructor.getDeclaringClass();
+        if (!Modifier.isPublic(constructor.getModifiers())
+                || Modifier.isAbstract(declaringClass.getModifiers())
+                || !isPublicType(declaringClass))
+        {
+            return false;
+        }
+        for (Class<?> parameterType : constructor.getParameterTypes())
+        {
+            if (!isPublicType(parameterType))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isPublicType(Class<?> type)
+    {
+        Class<?> componentType = type;
+        while (componentType.isArray())
+        {
+            componentType = componentType.getComponentType();
+        }
+        if (componentType.isPrimitive())
+        {
+            return true;
+        }
+        for (Class<?> current = componentType; current != null; current = current.getDeclaringClass())
+        {
+            if (!Modifier.isPublic(current.getModifiers()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] generateInstanceFactory(Class<?> classToCreate, String factoryClassFileName, Constructor<?> constructor)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        String classFileName = Type.getInternalName(classToCreate);
+
+        cw.visit(findJavaVersion(classToCreate), Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL + Opcodes.ACC_SUPER + Opcodes.ACC_SYNTHETIC,
+                factoryClassFileName, null, Type.getInternalName(Object.class), new String[]{Type.getInternalName(InstanceFactory.class)});
+        cw.visitSource(classFileName + ".java", null);
+
+        // same as for the proxies: never pick them up as beans
+        cw.visitAnnotation(Type.getDescriptor(Vetoed.class), true).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        // public Object newInstance(Object[] parameters) { return new ClassToCreate((P0) parameters[0], ...); }
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "newInstance", Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Object[].class)), null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(Opcodes.NEW, classFileName);
+        mv.visitInsn(Opcodes.DUP);
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            pushIntOntoStack(mv, i);
+            mv.visitInsn(Opcodes.AALOAD);
+
+            Class<?> parameterType = parameterTypes[i];
+            mv.visitTypeInsn(Opcodes.CHECKCAST, getCastType(parameterType));
+            if (parameterType.isPrimitive())
+            {
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, getWrapperType(parameterType), getPrimitiveMethod(parameterType),
+                        "()" + Type.getDescriptor(parameterType), false);
+            }
+        }
+
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, classFileName, "<init>", Type.getConstructorDescriptor(constructor), false);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
     private Method[] sortOutDuplicateMethods(Method[] methods)
     {
         if (methods == null || methods.length == 0)
@@ -436,7 +636,7 @@ public abstract class AbstractProxyFactory
         return cw.toByteArray();
     }
 
-    private int findJavaVersion(final Class<?> from)
+    protected int findJavaVersion(final Class<?> from)
     {
         final String resource = from.getName().replace('.', '/') + ".class";
         try (final InputStream stream = from.getClassLoader().getResourceAsStream(resource))
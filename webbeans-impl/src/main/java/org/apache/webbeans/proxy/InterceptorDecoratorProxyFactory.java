@@ -26,6 +26,8 @@ import org.apache.webbeans.intercept.InterceptorResolutionService;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.ConstantDynamic;
+import org.apache.xbean.asm9.Handle;
 import org.apache.xbean.asm9.Label;
 import org.apache.xbean.asm9.MethodVisitor;
 import org.apache.xbean.asm9.Opcodes;
@@ -34,8 +36,11 @@ import org.apache.xbean.asm9.Type;
 import jakarta.enterprise.inject.spi.AnnotatedType;
 import jakarta.enterprise.inject.spi.Bean;
 import java.io.ObjectStreamException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
@@ -69,10 +74,39 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
     private ConcurrentMap<AnnotatedType<?>, Class<?>> cachedProxyClassesByAt = new ConcurrentHashMap<>();
 
+    /**
+     * Whether the delegate and the InterceptorHandler get passed to the constructor and stored in final fields
+     * and whether the intercepted Methods get loaded as dynamic constants.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_FINAL_FIELDS
+     */
+    private final boolean finalFields;
+
+    /**
+     * The constructor taking the delegate and the InterceptorHandler,
+     * {@code null} for proxies which got generated without final fields.
+     */
+    private final ClassValue<Constructor<?>> finalFieldConstructors = new ClassValue<Constructor<?>>()
+    {
+        @Override
+        protected Constructor<?> computeValue(Class<?> proxyClass)
+        {
+            for (Constructor<?> constructor : proxyClass.getConstructors())
+            {
+                Class<?>[] parameterTypes = constructor.getParameterTypes();
+                if (parameterTypes.length == 2 && parameterTypes[1] == InterceptorHandler.class)
+                {
+                    return constructor;
+                }
+            }
+            return null;
+        }
+    };
+
 
     public InterceptorDecoratorProxyFactory(WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+        finalFields = webBeansContext.getOpenWebBeansConfiguration().useFinalInterceptorProxyFields();
     }
 
     public <T> T createProxyInstance(Class<? extends T> proxyClass, T instance, InterceptorHandler interceptorDecoratorStack)
@@ -80,6 +114,19 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     {
         Asserts.assertNotNull(instance);
 
+        Constructor<?> finalFieldConstructor = finalFieldConstructors.get(proxyClass);
+        if (finalFieldConstructor != null)
+        {
+            try
+            {
+                return proxyClass.cast(finalFieldConstructor.newInstance(instance, interceptorDecoratorStack));
+            }
+            catch (InstantiationException | IllegalAccessException | InvocationTargetException e)
+            {
+                throw new ProxyGenerationException(e);
+            }
+        }
+
         try
         {
             T proxy = newInstance(proxyClass);
@@ -237,6 +284,33 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         return (Class<T>) cachedProxyClasses.get(bean);
     }
 
+    /**
+     * Bootstrap method for the dynamic constants which hold the intercepted Methods of proxies
+     * with final fields. Once resolved the JIT can treat the Method as a constant.
+     */
+    public static Method interceptedMethod(MethodHandles.Lookup lookup, String name, Class<?> type, int methodIndex)
+            throws Throwable
+    {
+        Method[] interceptedMethods = (Method[]) lookup.findStaticGetter(lookup.lookupClass(), FIELD_INTERCEPTED_METHODS, Method[].class)
+                .invoke();
+        return interceptedMethods[methodIndex];
+    }
+
+    /**
+     * Dynamic constants need at least Java 11 bytecode,
+     * thus we only raise the class file version if final fields got requested.
+     */
+    @Override
+    protected int findJavaVersion(Class<?> from)
+    {
+        int version = super.findJavaVersion(from);
+        if (finalFields && (version & 0xFFFF) < Opcodes.V11)
+        {
+            return Opcodes.V11;
+        }
+        return version;
+    }
+
     @Override
     protected Class getMarkerInterface()
     {
@@ -246,12 +320,14 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     @Override
     protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
     {
+        int instanceFieldAccess = hasFinalFields(classToProxy) ? Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL : Opcodes.ACC_PRIVATE;
+
         // variable #1, the delegation point
-        cw.visitField(Opcodes.ACC_PRIVATE,
+        cw.visitField(instanceFieldAccess,
                 FIELD_PROXIED_INSTANCE, Type.getDescriptor(classToProxy), null, null).visitEnd();
 
         // variable #2, the invocation handler
-        cw.visitField(Opcodes.ACC_PRIVATE,
+        cw.visitField(instanceFieldAccess,
                 FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class), null, null).visitEnd();
 
         // variable #3, the Method[] of all intercepted methods.
@@ -312,17 +388,21 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // was: final String descriptor = Type.getConstructorDescriptor(classToProxy.getDeclaredConstructor());
         // but we need to get a default constructor even if the bean uses constructor injection
-        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", descriptor, null, null);
+        boolean passFields = hasFinalFields(classToProxy);
+        String proxyDescriptor = passFields
+                ? Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(classToProxy), Type.getType(InterceptorHandler.class))
+                : descriptor;
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", proxyDescriptor, null, null);
         mv.visitCode();
         mv.visitVarInsn(Opcodes.ALOAD, 0);
         mv.visitMethodInsn(Opcodes.INVOKESPECIAL, parentClassFileName, "<init>", descriptor, false);
 
         mv.visitVarInsn(Opcodes.ALOAD, 0);
-        mv.visitInsn(Opcodes.ACONST_NULL);
+        loadConstructorParameter(mv, passFields, 1);
         mv.visitFieldInsn(Opcodes.PUTFIELD, proxyClassFileName, FIELD_PROXIED_INSTANCE, Type.getDescriptor(classToProxy));
 
         mv.visitVarInsn(Opcodes.ALOAD, 0);
-        mv.visitInsn(Opcodes.ACONST_NULL);
+        loadConstructorParameter(mv, passFields, 2);
         mv.visitFieldInsn(Opcodes.PUTFIELD, proxyClassFileName, FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class));
 
         mv.visitInsn(Opcodes.RETURN);
@@ -330,6 +410,39 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         mv.visitEnd();
     }
 
+    /**
+     * The final fields get set in the proxy constructor, which has to invoke the default constructor
+     * of the proxied class. Classes which only have an injectable constructor keep using
+     * fields which get set after the proxy got allocated.
+     */
+    private boolean hasFinalFields(Class<?> classToProxy)
+    {
+        if (!finalFields || classToProxy.isInterface())
+        {
+            return finalFields;
+        }
+        try
+        {
+            return !Modifier.isPrivate(classToProxy.getDeclaredConstructor().getModifiers());
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
+    private void loadConstructorParameter(MethodVisitor mv, boolean passFields, int index)
+    {
+        if (passFields)
+        {
+            mv.visitVarInsn(Opcodes.ALOAD, index);
+        }
+        else
+        {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        }
+    }
+
     private boolean isIgnoredMethod(final Method delegatedMethod)
     {
         return "writeReplace".equals(delegatedMethod.getName());
@@ -453,43 +566,10 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // push try code
         mv.visitLabel(l0);
-        String classNameToOverride = method.getDeclaringClass().getName().replace('.', '/');
-        mv.visitLdcInsn(Type.getType("L" + classNameToOverride + ";"));
-
-        // the following code generates the bytecode for this line of Java:
-        // Method method = <proxy>.class.getMethod("add", new Class[] { <array of function argument classes> });
-
-        // get the method name to invoke, and push to stack
-        mv.visitLdcInsn(method.getName());
-
-        // create the Class[]
-        createArrayDefinition(mv, parameterTypes.length, Class.class);
 
         int length = 1;
-
-        // push parameters into array
-        for (int i = 0; i < parameterTypes.length; i++)
+        for (Class<?> parameterType : parameterTypes)
         {
-            // keep copy of array on stack
-            mv.visitInsn(Opcodes.DUP);
-
-            Class<?> parameterType = parameterTypes[i];
-
-            // push number onto stack
-            pushIntOntoStack(mv, i);
-
-            if (parameterType.isPrimitive())
-            {
-                String wrapperType = getWrapperType(parameterType);
-                mv.visitFieldInsn(Opcodes.GETSTATIC, wrapperType, "TYPE", "Ljava/lang/Class;");
-            }
-            else
-            {
-                mv.visitLdcInsn(Type.getType(parameterType));
-            }
-
-            mv.visitInsn(Opcodes.AASTORE);
-
             if (Long.TYPE.equals(parameterType) || Double.TYPE.equals(parameterType))
             {
                 length += 2;
@@ -511,26 +591,38 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         // get the invocationHandler field from this class
         mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class));
 
-        // add the Method from the static array as first parameter
-        mv.visitFieldInsn(Opcodes.GETSTATIC, proxyClassFileName, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class));
-
-        // push the methodIndex of the current method
-        if (methodIndex <128)
+        if (methodIndex >= 32267)
         {
-            mv.visitIntInsn(Opcodes.BIPUSH, methodIndex);
+            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
         }
-        else if (methodIndex < 32267)
+
+        if (finalFields)
         {
-            // for methods > 127 we need to push a short number as index
-            mv.visitIntInsn(Opcodes.SIPUSH, methodIndex);
+            // add the Method as dynamic constant which gets resolved on the first invocation
+            Handle bootstrap = new Handle(Opcodes.H_INVOKESTATIC, Type.getInternalName(InterceptorDecoratorProxyFactory.class), "interceptedMethod",
+                    MethodType.methodType(Method.class, MethodHandles.Lookup.class, String.class, Class.class, int.class).toMethodDescriptorString(),
+                    false);
+            mv.visitLdcInsn(new ConstantDynamic("method" + methodIndex, Type.getDescriptor(Method.class), bootstrap, methodIndex));
         }
         else
         {
-            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
-        }
+            // add the Method from the static array as first parameter
+            mv.visitFieldInsn(Opcodes.GETSTATIC, proxyClassFileName, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class));
+
+            // push the methodIndex of the current method
+            if (methodIndex < 128)
+            {
+                mv.visitIntInsn(Opcodes.BIPUSH, methodIndex);
+            }
+            else
+            {
+                // for methods > 127 we need to push a short number as index
+                mv.visitIntInsn(Opcodes.SIPUSH, methodIndex);
+            }
 
-        // and now load the Method from the array
-        mv.visitInsn(Opcodes.AALOAD);
+            // and now load the Method from the array
+            mv.visitInsn(Opcodes.AALOAD);
+        }
 
 
         // prepare the parameter array as Object[] and store it on the stack
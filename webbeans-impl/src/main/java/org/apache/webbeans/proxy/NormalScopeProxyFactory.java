@@ -65,6 +65,18 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
      */
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
 
+    /**
+     * The generated proxy class only depends on the proxied class and the ClassLoader.
+     * Thus all beans with the same proxied type, e.g. producer methods with different qualifiers,
+     * share one proxy class and only differ in their {@link Provider}.
+     */
+    private ConcurrentMap<ProxyClassKey, Class<?>> sharedProxyClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the generation of the proxy classes per proxied class.
+     */
+    private ConcurrentMap<ProxyClassKey, Object> proxyClassLocks = new ConcurrentHashMap<>();
+
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
     {
@@ -117,39 +129,49 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
     public <T> T createNormalScopeProxy(Bean<T> bean)
     {
-        ClassLoader classLoader;
-        if (bean.getBeanClass() != null)
-        {
-            classLoader = getProxyClassLoader(bean.getBeanClass());
-        }
-        else if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
-        {
-            classLoader = getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
-        }
-        else
+        ClassLoader classLoader = getProxyClassLoader(bean);
+
+        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
+
+        if (proxyClass == null)
         {
-            classLoader = WebBeansUtil.getCurrentClassLoader();
+            proxyClass = createProxyClass(bean, classLoader, getClassToProxy(bean));
         }
 
-        Class<T> classToProxy;
-        if (bean instanceof OwbBean)
+        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+    }
+
+    /**
+     * Creates the proxy class for the given bean without creating an instance.
+     * This allows to generate the proxy classes upfront.
+     */
+    public <T> Class<T> createProxyClass(Bean<T> bean)
+    {
+        return createProxyClass(bean, getProxyClassLoader(bean), getClassToProxy(bean));
+    }
+
+    private ClassLoader getProxyClassLoader(Bean<?> bean)
+    {
+        if (bean.getBeanClass() != null)
         {
-            classToProxy = ((OwbBean<T>) bean).getReturnType();
+            return getProxyClassLoader(bean.getBeanClass());
         }
-        else
+        else if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
         {
-            // TODO: that might be wrong sometimes
-            classToProxy = (Class<T>) bean.getBeanClass();
+            return getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
         }
+        return WebBeansUtil.getCurrentClassLoader();
+    }
 
-        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
-
-        if (proxyClass == null)
+    private <T> Class<T> getClassToProxy(Bean<T> bean)
+    {
+        if (bean instanceof OwbBean)
         {
-            proxyClass = createProxyClass(bean, classLoader, classToProxy);
+            return ((OwbBean<T>) bean).getReturnType();
         }
 
-        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+        // TODO: that might be wrong sometimes
+        return (Class<T>) bean.getBeanClass();
     }
 
     public Provider getInstanceProvider(ClassLoader classLoader, Bean<?> bean)
@@ -183,13 +205,31 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         }
     }
 
-    public synchronized <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
+    public <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
     {
         Class<T> proxyClass = (Class<T>) cachedProxyClasses.get(bean);
 
         if (proxyClass == null)
         {
-            proxyClass = createProxyClass(classLoader, classToProxy);
+            ProxyClassKey key = new ProxyClassKey(classToProxy, classLoader);
+            proxyClass = (Class<T>) sharedProxyClasses.get(key);
+            if (proxyClass == null)
+            {
+                // proxies for the same class must not get generated concurrently as they would compete for the same name
+                synchronized (proxyClassLocks.computeIfAbsent(key, k -> new Object()))
+                {
+                    proxyClass = (Class<T>) sharedProxyClasses.get(key);
+                    if (proxyClass == null)
+                    {
+                        proxyClass = createProxyClass(classLoader, classToProxy);
+                        Class<T> existing = (Class<T>) sharedProxyClasses.putIfAbsent(key, proxyClass);
+                        if (existing != null)
+                        {
+                            proxyClass = existing;
+                        }
+                    }
+                }
+            }
             cachedProxyClasses.putIfAbsent(bean, proxyClass);
         }
 
@@ -538,5 +578,4 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             throw ExceptionUtil.throwAsRuntimeException(e);
         }
     }
-
 }
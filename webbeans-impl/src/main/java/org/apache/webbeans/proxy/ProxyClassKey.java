@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+/**
+ * The interfaces of the proxy are determined by the proxied class,
+ * so the class and the ClassLoader identify a proxy class.
+ * This also works for hidden classes which cannot get looked up by name.
+ */
+final class ProxyClassKey
+{
+    private final Class<?> classToProxy;
+    private final ClassLoader classLoader;
+    private final int hashCode;
+
+    ProxyClassKey(Class<?> classToProxy, ClassLoader classLoader)
+    {
+        this.classToProxy = classToProxy;
+        this.classLoader = classLoader;
+        this.hashCode = 31 * classToProxy.hashCode() + System.identityHashCode(classLoader);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof ProxyClassKey))
+        {
+            return false;
+        }
+        ProxyClassKey other = (ProxyClassKey) o;
+        return classToProxy == other.classToProxy && classLoader == other.classLoader;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+}
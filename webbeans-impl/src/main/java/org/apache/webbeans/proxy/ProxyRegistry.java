@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Keeps track of all classes which got generated by the proxy factories of a single
+ * {@link org.apache.webbeans.config.WebBeansContext}.
+ *
+ * Servers which redeploy a lot can use this to watch the metaspace used by proxies.
+ * ClassLoaders which got created exclusively for hosting proxies are only referenced weakly,
+ * which allows to verify that they become unreachable after the container got shut down.
+ * The shutdown only resets the counters, the weakly referenced ClassLoaders stay tracked for this check.
+ */
+public class ProxyRegistry implements ProxyRegistryMXBean
+{
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * ClassLoaders which only got created to define proxies, e.g. by the
+     * {@link org.apache.webbeans.service.ClassLoaderProxyService}. Guarded by itself.
+     */
+    private final Map<ClassLoader, Boolean> proxyClassLoaders = new WeakHashMap<>();
+
+    /**
+     * @param kind usually the simple name of the proxy factory
+     * @param generatedClass the class which got defined
+     * @param proxiedClass the class the generated class got created for
+     * @param bytecodeSize the size of the generated bytecode
+     */
+    public void register(String kind, Class<?> generatedClass, Class<?> proxiedClass, int bytecodeSize)
+    {
+        Stats kindStats = stats.computeIfAbsent(kind, k -> new Stats());
+        kindStats.classes.increment();
+        kindStats.bytes.add(bytecodeSize);
+
+        ClassLoader classLoader = generatedClass.getClassLoader();
+        if (classLoader != null && classLoader != proxiedClass.getClassLoader())
+        {
+            synchronized (proxyClassLoaders)
+            {
+                proxyClassLoaders.put(classLoader, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    public long getProxyClassCount()
+    {
+        return stats.values().stream().mapToLong(s -> s.classes.sum()).sum();
+    }
+
+    @Override
+    public long getProxyBytecodeSize()
+    {
+        return stats.values().stream().mapToLong(s -> s.bytes.sum()).sum();
+    }
+
+    @Override
+    public Map<String, Long> getProxyClassCounts()
+    {
+        return collect(s -> s.classes.sum());
+    }
+
+    @Override
+    public Map<String, Long> getProxyBytecodeSizes()
+    {
+        return collect(s -> s.bytes.sum());
+    }
+
+    @Override
+    public int getProxyClassLoaderCount()
+    {
+        synchronized (proxyClassLoaders)
+        {
+            return proxyClassLoaders.size();
+        }
+    }
+
+    /**
+     * Leak check for tests: waits until all dedicated proxy ClassLoaders got garbage collected.
+     * This must only get invoked after the container got shut down and all references
+     * to beans and proxies got dropped.
+     *
+     * @param timeoutMillis how long to wait at most
+     * @return the ClassLoaders which are still reachable after the timeout, empty if there is no leak
+     */
+    public List<String> awaitClassLoadersUnreachable(long timeoutMillis)
+    {
+        long end = System.currentTimeMillis() + timeoutMillis;
+        while (getProxyClassLoaderCount() > 0 && System.currentTimeMillis() < end)
+        {
+            System.gc();
+            try
+            {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        synchronized (proxyClassLoaders)
+        {
+            if (proxyClassLoaders.isEmpty())
+            {
+                return Collections.emptyList();
+            }
+            List<String> leaked = new ArrayList<>(proxyClassLoaders.size());
+            for (ClassLoader classLoader : proxyClassLoaders.keySet())
+            {
+                leaked.add(String.valueOf(classLoader));
+            }
+            return leaked;
+        }
+    }
+
+    /**
+     * Resets the counters, invoked when the container shuts down.
+     * The proxy ClassLoaders are only weakly referenced, thus they stay tracked
+     * for {@link #awaitClassLoadersUnreachable(long)}.
+     */
+    public void clear()
+    {
+        stats.clear();
+    }
+
+    private Map<String, Long> collect(Function<Stats, Long> value)
+    {
+        Map<String, Long> result = new TreeMap<>();
+        stats.forEach((kind, s) -> result.put(kind, value.apply(s)));
+        return result;
+    }
+
+
+    private static final class Stats
+    {
+        private final LongAdder classes = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.util.Map;
+
+/**
+ * JMX view on the {@link ProxyRegistry} of a single deployment.
+ */
+public interface ProxyRegistryMXBean
+{
+    /**
+     * @return the number of all classes which got generated by the proxy factories
+     */
+    long getProxyClassCount();
+
+    /**
+     * @return the summed up bytecode size of all generated classes
+     */
+    long getProxyBytecodeSize();
+
+    /**
+     * @return the number of generated classes per proxy factory
+     */
+    Map<String, Long> getProxyClassCounts();
+
+    /**
+     * @return the bytecode size of the generated classes per proxy factory
+     */
+    Map<String, Long> getProxyBytecodeSizes();
+
+    /**
+     * @return the number of dedicated proxy ClassLoaders which are still reachable
+     */
+    int getProxyClassLoaderCount();
+}
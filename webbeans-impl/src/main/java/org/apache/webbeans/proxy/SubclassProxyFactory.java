@@ -22,6 +22,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
@@ -44,6 +46,12 @@ public class SubclassProxyFactory extends AbstractProxyFactory
 
     private static final String SUB_CLASS_NAME_SUFFIX = "$$OwbSubClass";
 
+    /**
+     * The generated subclasses, as hidden classes cannot get looked up by name.
+     * @see org.apache.webbeans.service.HiddenClassProxyService
+     */
+    private final ConcurrentMap<ProxyClassKey, Class<?>> cachedSubClasses = new ConcurrentHashMap<>();
+
     public SubclassProxyFactory(WebBeansContext webBeansContext)
     {
         super(webBeansContext);
@@ -64,17 +72,13 @@ public class SubclassProxyFactory extends AbstractProxyFactory
             throw new WebBeansConfigurationException("Only abstract classes should get subclassed, not " + classToProxy);
         }
 
-
-        // todo: using a cache is faster (no synchronized)
-        Class<T> proxyClass = tryToLoadClass(classLoader, classToProxy);
+        Class<T> proxyClass = (Class<T>) cachedSubClasses.get(new ProxyClassKey(classToProxy, classLoader));
         if (proxyClass != null)
         {
             return proxyClass;
         }
 
-        proxyClass = createSubClass(classLoader, annotatedType);
-
-        return proxyClass;
+        return createSubClass(classLoader, annotatedType);
     }
 
     private <T> Class<T> tryToLoadClass(ClassLoader classLoader, Class<T> classToProxy)
@@ -111,21 +115,27 @@ public class SubclassProxyFactory extends AbstractProxyFactory
             throws ProxyGenerationException
     {
         Class<T> classToProxy = annotatedType.getJavaClass();
-        Class<T> clazz = tryToLoadClass(classLoader, classToProxy);
+        ProxyClassKey key = new ProxyClassKey(classToProxy, classLoader);
+        Class<T> clazz = (Class<T>) cachedSubClasses.get(key);
         if (clazz != null)
         {
             return clazz;
         }
 
-        String proxyClassName = getSubClassName(classToProxy);
+        clazz = tryToLoadClass(classLoader, classToProxy);
+        if (clazz == null)
+        {
+            String proxyClassName = getSubClassName(classToProxy);
 
-        List<Method> methods = ClassUtil.getNonPrivateMethods(classToProxy, true);
-        Method[] businessMethods = methods.toArray(new Method[methods.size()]);
+            List<Method> methods = ClassUtil.getNonPrivateMethods(classToProxy, true);
+            Method[] businessMethods = methods.toArray(new Method[methods.size()]);
 
-        AnnotatedConstructor<T> aCons = webBeansContext.getWebBeansUtil().getInjectedConstructor(annotatedType);
-        Constructor<T> cons = aCons != null ? aCons.getJavaMember() : null;
+            AnnotatedConstructor<T> aCons = webBeansContext.getWebBeansUtil().getInjectedConstructor(annotatedType);
+            Constructor<T> cons = aCons != null ? aCons.getJavaMember() : null;
 
-        clazz = createProxyClass(classLoader, proxyClassName, classToProxy, businessMethods, new Method[0], cons);
+            clazz = createProxyClass(classLoader, proxyClassName, classToProxy, businessMethods, new Method[0], cons);
+        }
+        cachedSubClasses.put(key, clazz);
 
         return clazz;
     }
@@ -19,7 +19,6 @@
 package org.apache.webbeans.service;
 
 import java.security.ProtectionDomain;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -76,7 +75,7 @@ public class ClassLoaderProxyService implements DefiningClassService, Instantiat
     // for build tools - @Experimental
     public static class Spy extends ClassLoaderProxyService
     {
-        private final Map<String, byte[]> proxies = new HashMap<>();
+        private final Map<String, byte[]> proxies = new ConcurrentHashMap<>();
 
         public Spy(final WebBeansContext context)
         {
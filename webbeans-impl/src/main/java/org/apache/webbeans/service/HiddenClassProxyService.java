@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.proxy.Unsafe;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.spi.InstantiatingClassService;
+
+/**
+ * Defines proxies as hidden classes of the package of the proxied class (Java 15+).
+ * Hidden classes cannot get looked up by name, don't need an additional ClassLoader
+ * and get unloaded as soon as they are not referenced anymore.
+ *
+ * A hidden class can only get defined with a full privilege lookup on the proxied class.
+ * This is only possible if the proxied class is in the same module as OpenWebBeans,
+ * e.g. in flat classpath setups. Otherwise, for proxies which got moved to another package
+ * and on older JVMs we fall back to {@link Unsafe} as it is done without any DefiningClassService.
+ *
+ * Usage: {@code org.apache.webbeans.spi.DefiningClassService=org.apache.webbeans.service.HiddenClassProxyService}
+ */
+public class HiddenClassProxyService implements DefiningClassService, InstantiatingClassService
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(HiddenClassProxyService.class);
+
+    /**
+     * {@code Lookup#defineHiddenClass(byte[], boolean, ClassOption...)} or {@code null} before Java 15
+     */
+    private static final MethodHandle DEFINE_HIDDEN_CLASS;
+    private static final Object NO_CLASS_OPTIONS;
+
+    static
+    {
+        MethodHandle defineHiddenClass = null;
+        Object noClassOptions = null;
+        try
+        {
+            Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            noClassOptions = Array.newInstance(classOption, 0);
+            defineHiddenClass = MethodHandles.publicLookup().findVirtual(MethodHandles.Lookup.class, "defineHiddenClass",
+                    MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class, noClassOptions.getClass()))
+                    .asFixedArity();
+        }
+        catch (ReflectiveOperationException e)
+        {
+            // older JVM, we always use the fallback
+        }
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NO_CLASS_OPTIONS = noClassOptions;
+    }
+
+    private final WebBeansContext webBeansContext;
+
+    private final ClassValue<Constructor<?>> constructors = new ClassValue<Constructor<?>>()
+    {
+        @Override
+        protected Constructor<?> computeValue(Class<?> proxyClass)
+        {
+            try
+            {
+                return proxyClass.getConstructor();
+            }
+            catch (NoSuchMethodException e)
+            {
+                throw new IllegalStateException("Proxy " + proxyClass.getName() + " has no default constructor", e);
+            }
+        }
+    };
+
+    private volatile Unsafe unsafe;
+
+    public HiddenClassProxyService(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+    }
+
+    /**
+     * @return whether the running JVM supports hidden classes at all
+     */
+    public static boolean isHiddenClassSupported()
+    {
+        return DEFINE_HIDDEN_CLASS != null;
+    }
+
+    @Override
+    public ClassLoader getProxyClassLoader(Class<?> forClass)
+    {
+        return webBeansContext.getApplicationBoundaryService().getBoundaryClassLoader(forClass);
+    }
+
+    @Override
+    public <T> Class<T> defineAndLoad(String name, byte[] bytecode, Class<T> proxiedClass)
+    {
+        if (DEFINE_HIDDEN_CLASS != null && isSamePackage(name, proxiedClass))
+        {
+            try
+            {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(proxiedClass, MethodHandles.lookup());
+                MethodHandles.Lookup hiddenLookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, bytecode, true, NO_CLASS_OPTIONS);
+                return (Class<T>) hiddenLookup.lookupClass();
+            }
+            catch (IllegalAccessException e)
+            {
+                // no full privilege access, e.g. if the proxied class is in another module
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.fine("Unable to define " + name + " as hidden class: " + e.getMessage());
+                }
+            }
+            catch (RuntimeException | Error e)
+            {
+                throw e;
+            }
+            catch (Throwable t)
+            {
+                throw new IllegalStateException("Unable to define " + name + " as hidden class", t);
+            }
+        }
+
+        return getUnsafe().defineAndLoadClass(getProxyClassLoader(proxiedClass), name, bytecode, proxiedClass);
+    }
+
+    @Override
+    public <T> T newInstance(Class<? extends T> proxyClass)
+    {
+        try
+        {
+            return proxyClass.cast(constructors.get(proxyClass).newInstance());
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Failed to create a new Proxy instance of " + proxyClass.getName(), e);
+        }
+    }
+
+    private static boolean isSamePackage(String className, Class<?> proxiedClass)
+    {
+        int lastDot = className.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : className.substring(0, lastDot);
+        return packageName.equals(proxiedClass.getPackageName());
+    }
+
+    private Unsafe getUnsafe()
+    {
+        Unsafe result = unsafe;
+        if (result == null)
+        {
+            synchronized (this)
+            {
+                result = unsafe;
+                if (result == null)
+                {
+                    result = new Unsafe();
+                    unsafe = result;
+                }
+            }
+        }
+        return result;
+    }
+}
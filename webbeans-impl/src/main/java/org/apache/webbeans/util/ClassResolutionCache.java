@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the classes which got resolved during the deployment, including the names which
+ * could not get resolved at all. Especially negative lookups like for not existing
+ * {@code package-info} classes are expensive with webapp ClassLoaders as they search all their jars.
+ *
+ * The results get cached per ClassLoader and the cache can be used by parallel deployment threads.
+ * It only lives for the deployment and gets cleared afterwards to not pin any classes.
+ */
+public class ClassResolutionCache
+{
+    /**
+     * marker for names which could not get resolved, ConcurrentHashMap doesn't allow null values
+     */
+    private static final Object MISSING = new Object();
+
+    private final ConcurrentMap<ClassLoader, ConcurrentMap<String, Object>> classes = new ConcurrentHashMap<>();
+
+    /**
+     * @return the class as {@link ClassUtil#getClassFromName(String, ClassLoader, boolean)} would return it
+     *         or {@code null} if it cannot be found
+     */
+    public Class<?> getClassFromName(String name, ClassLoader loader, boolean init)
+    {
+        if (loader == null)
+        {
+            return ClassUtil.getClassFromName(name, null, init);
+        }
+
+        ConcurrentMap<String, Object> loaderClasses = getLoaderClasses(loader);
+        Object cached = loaderClasses.get(name);
+        if (cached == null)
+        {
+            // we don't use computeIfAbsent to not block other threads while the class gets loaded
+            Class<?> clazz = ClassUtil.getClassFromName(name, loader, init);
+            cached = clazz == null ? MISSING : clazz;
+            loaderClasses.putIfAbsent(name, cached);
+        }
+        return cached == MISSING ? null : (Class<?>) cached;
+    }
+
+    /**
+     * Contrary to {@link #getClassFromName(String, ClassLoader, boolean)} this only asks the given ClassLoader.
+     * @return the class or {@code null} if the ClassLoader doesn't know it
+     */
+    public Class<?> loadClass(String name, ClassLoader loader)
+    {
+        ConcurrentMap<String, Object> loaderClasses = getLoaderClasses(loader);
+        Object cached = loaderClasses.get(name);
+        if (cached == null)
+        {
+            try
+            {
+                cached = loader.loadClass(name);
+            }
+            catch (ClassNotFoundException | RuntimeException | LinkageError e)
+            {
+                // also broken classes are treated like missing ones
+                cached = MISSING;
+            }
+            loaderClasses.putIfAbsent(name, cached);
+        }
+        return cached == MISSING ? null : (Class<?>) cached;
+    }
+
+    public void clear()
+    {
+        classes.clear();
+    }
+
+    private ConcurrentMap<String, Object> getLoaderClasses(ClassLoader loader)
+    {
+        ConcurrentMap<String, Object> loaderClasses = classes.get(loader);
+        if (loaderClasses == null)
+        {
+            loaderClasses = new ConcurrentHashMap<>();
+            ConcurrentMap<String, Object> existing = classes.putIfAbsent(loader, loaderClasses);
+            if (existing != null)
+            {
+                loaderClasses = existing;
+            }
+        }
+        return loaderClasses;
+    }
+}
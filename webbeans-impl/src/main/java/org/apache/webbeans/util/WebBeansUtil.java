@@ -111,6 +111,7 @@ import jakarta.enterprise.inject.spi.DefinitionException;
 import jakarta.enterprise.inject.spi.DeploymentException;
 import jakarta.enterprise.inject.spi.Extension;
 import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.enterprise.inject.spi.InjectionTarget;
 import jakarta.enterprise.inject.spi.InterceptionFactory;
 import jakarta.enterprise.inject.spi.Interceptor;
 import jakarta.enterprise.inject.spi.PassivationCapable;
@@ -736,6 +737,23 @@ public final class WebBeansUtil
         return event;
     }
 
+    /**
+     * Fires the {@link ProcessInjectionPoint} event, but only if there is an observer for it.
+     * @param injectionPoint the original {@link InjectionPoint}
+     * @return the {@link InjectionPoint} to use, maybe replaced by an observer
+     */
+    public InjectionPoint fireProcessInjectionPointEventIfObserved(InjectionPoint injectionPoint)
+    {
+        if (!webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessInjectionPoint.class))
+        {
+            return injectionPoint;
+        }
+        GProcessInjectionPoint event = fireProcessInjectionPointEvent(injectionPoint);
+        InjectionPoint ip = event.getInjectionPoint();
+        event.setStarted();
+        return ip;
+    }
+
     /**
      * Returns <code>ProcessInjectionTarget</code> event.
      * @param <T> bean type
@@ -747,6 +765,23 @@ public final class WebBeansUtil
         return fireProcessInjectionTargetEvent(processInjectionTargetEvent);
     }
 
+    /**
+     * Fires the <code>ProcessInjectionTarget</code> event, but only if there is an observer for it.
+     * @param <T> bean type
+     * @return the {@link InjectionTarget} to use, maybe replaced by an observer
+     */
+    public <T> InjectionTarget<T> fireProcessInjectionTargetEventIfObserved(InjectionTargetImpl<T> injectionTarget, AnnotatedType<T> annotatedType)
+    {
+        if (!webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessInjectionTarget.class))
+        {
+            return injectionTarget;
+        }
+        GProcessInjectionTarget event = fireProcessInjectionTargetEvent(injectionTarget, annotatedType);
+        InjectionTarget<T> it = event.getInjectionTarget();
+        event.setStarted();
+        return it;
+    }
+
     private GProcessInjectionTarget fireProcessInjectionTargetEvent(GProcessInjectionTarget processInjectionTargetEvent)
     {
         //Fires ProcessInjectionTarget
@@ -772,6 +807,11 @@ public final class WebBeansUtil
 
     public <T> Producer<T> fireProcessProducerEvent(Producer<T> producer, AnnotatedMember<?> annotatedMember)
     {
+        if (!webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessProducer.class))
+        {
+            return producer;
+        }
+
         GProcessProducer processProducerEvent = new GProcessProducer(producer, annotatedMember);
         //Fires ProcessProducer
         webBeansContext.getBeanManagerImpl().fireEvent(processProducerEvent, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
@@ -784,6 +824,10 @@ public final class WebBeansUtil
     public void fireProcessProducerMethodBeanEvent(Map<ProducerMethodBean<?>, AnnotatedMethod<?>> annotatedMethods, AnnotatedType<?> annotatedType)
     {
         WebBeansContext webBeansContext = this.webBeansContext;
+        if (annotatedMethods.isEmpty() || !webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessProducerMethod.class))
+        {
+            return;
+        }
         AnnotationManager annotationManager = webBeansContext.getAnnotationManager();
 
         for(Map.Entry<ProducerMethodBean<?>, AnnotatedMethod<?>> beanEntry : annotatedMethods.entrySet())
@@ -817,6 +861,11 @@ public final class WebBeansUtil
 
     public void fireProcessProducerFieldBeanEvent(Map<ProducerFieldBean<?>,AnnotatedField<?>> annotatedFields)
     {
+        if (annotatedFields.isEmpty() || !webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessProducerField.class))
+        {
+            return;
+        }
+
         for(Map.Entry<ProducerFieldBean<?>, AnnotatedField<?>> beanEntry : annotatedFields.entrySet())
         {
             ProducerFieldBean<?> bean = beanEntry.getKey();
@@ -1652,6 +1701,12 @@ public final class WebBeansUtil
 
     public <T> ProcessBeanAttributesImpl<T> fireProcessBeanAttributes(Annotated annotatedType, Class<?> type, BeanAttributes<T> ba)
     {
+        if (!webBeansContext.getNotificationManager().hasLifecycleObservers(GProcessBeanAttributes.class))
+        {
+            // nobody can change the attributes, no need to fire anything
+            return new ProcessBeanAttributesImpl<>(webBeansContext, annotatedType, ba);
+        }
+
         // we don't use bm stack since it is actually quite useless
         ProcessBeanAttributesImpl event = new GProcessBeanAttributes(webBeansContext, type, annotatedType, ba);
         try
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.xml;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix trie over the {@code <scan><exclude>} entries of a beans.xml.
+ * Checking a class name only walks its characters once instead of comparing it with every exclude.
+ * It keeps the semantics of the former list based matching:
+ * an excluded package is a plain prefix, while an excluded class or {@code .*} path
+ * only matches names which have no further package segment after the prefix.
+ */
+final class ClassExclusionTrie
+{
+    private final Node root = new Node();
+
+    ClassExclusionTrie(List<String> excludedClasses, List<String> excludedPackages)
+    {
+        if (excludedClasses != null)
+        {
+            for (String excludedClass : excludedClasses)
+            {
+                add(excludedClass).classEnd = true;
+            }
+        }
+        if (excludedPackages != null)
+        {
+            for (String excludedPackage : excludedPackages)
+            {
+                add(excludedPackage).packageEnd = true;
+            }
+        }
+    }
+
+    boolean isPackageExcluded(String packageName)
+    {
+        return find(packageName, false);
+    }
+
+    boolean isClassExcluded(String className)
+    {
+        return find(className, true);
+    }
+
+    private boolean find(String name, boolean includeClasses)
+    {
+        int lastDotPosition = includeClasses ? name.lastIndexOf('.') : -1;
+        Node node = root;
+        for (int i = 0; ; i++)
+        {
+            if (node.packageEnd)
+            {
+                return true;
+            }
+            if (includeClasses && node.classEnd && (i == name.length() || lastDotPosition <= i))
+            {
+                return true;
+            }
+            if (i == name.length() || node.children == null)
+            {
+                return false;
+            }
+            node = node.children.get(name.charAt(i));
+            if (node == null)
+            {
+                return false;
+            }
+        }
+    }
+
+    private Node add(String prefix)
+    {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++)
+        {
+            if (node.children == null)
+            {
+                node.children = new HashMap<>();
+            }
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+        }
+        return node;
+    }
+
+    private static final class Node
+    {
+        private Map<Character, Node> children;
+        private boolean packageEnd;
+        private boolean classEnd;
+    }
+}
@@ -39,6 +39,9 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
 
     /** Exclude all subpackages (exclude= .**) */
     private List<String> excludedPackages;
+
+    /** built lazily from the excludes, gets reset whenever they change */
+    private volatile ClassExclusionTrie exclusionTrie;
     private List<String> allowProxyingClasses = new ArrayList<>();
 
     public DefaultBeanArchiveInformation(String bdaUrl)
@@ -61,52 +64,36 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
     @Override
     public boolean isClassExcluded(String clazz)
     {
-        boolean isExcluded = isPackageExcluded(clazz);
-
-        if  (!isExcluded && excludedClasses != null)
-        {
-            for (String excludedClass : excludedClasses)
-            {
-                if (clazz.startsWith(excludedClass))
-                {
-                    if (clazz.length() > excludedClass.length())
-                    {
-                        int lastDotPosition = clazz.lastIndexOf('.');
-                        if (lastDotPosition > excludedClass.length())
-                        {
-                            continue;
-                        }
-                    }
-                    isExcluded = true;
-                    break;
-                }
-            }
-        }
-
-        return isExcluded;
+        ClassExclusionTrie trie = getExclusionTrie();
+        return trie != null && trie.isClassExcluded(clazz);
     }
 
     @Override
     public boolean isPackageExcluded(String packageName)
     {
-        if (excludedPackages != null)
+        /*X TODO
+         * For 'org.apache.foo.**'
+         * the spec currently also excludes the package
+         * 'org.apache.foobar'
+         * Currently trying to clarify this.
+         */
+        ClassExclusionTrie trie = getExclusionTrie();
+        return trie != null && trie.isPackageExcluded(packageName);
+    }
+
+    private ClassExclusionTrie getExclusionTrie()
+    {
+        if (excludedClasses == null && excludedPackages == null)
         {
-            for (String excludedPackage : excludedPackages)
-            {
-                /*X TODO
-                 * For 'org.apache.foo.**'
-                 * the spec currently also excludes the package
-                 * 'org.apache.foobar'
-                 * Currently trying to clarify this.
-                 */
-                if (packageName.startsWith(excludedPackage))
-                {
-                    return true;
-                }
-            }
+            return null;
         }
-
-        return false;
+        ClassExclusionTrie trie = exclusionTrie;
+        if (trie == null)
+        {
+            trie = new ClassExclusionTrie(excludedClasses, excludedPackages);
+            exclusionTrie = trie;
+        }
+        return trie;
     }
 
     @Override
@@ -168,6 +155,7 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
         }
 
         excludedClasses.add(classOrPath);
+        exclusionTrie = null;
     }
 
     public void addPackageExclude(String packageName)
@@ -178,6 +166,7 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
         }
 
         excludedPackages.add(packageName);
+        exclusionTrie = null;
     }
 
     public List<String> getExcludedClasses()
@@ -188,6 +177,7 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
     public void setExcludedClasses(List<String> excludedClasses)
     {
         this.excludedClasses = excludedClasses;
+        exclusionTrie = null;
     }
 
     public List<String> getExcludedPackages()
@@ -198,6 +188,7 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
     public void setExcludedPackages(List<String> excludedPackages)
     {
         this.excludedPackages = excludedPackages;
+        exclusionTrie = null;
     }
 
     @Override
@@ -20,9 +20,13 @@ package org.apache.webbeans.xml;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PushbackInputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,8 +47,6 @@ import org.apache.webbeans.util.UrlSet;
 import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.xbean.finder.archive.FileArchive;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Please note that this implementation is not thread safe.
@@ -57,6 +59,12 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveService.class);
 
+    /**
+     * The JDK built-in factory. Looking up a factory is expensive and a factory
+     * provided by the application would pin its ClassLoader. It is thread-safe once configured.
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
     private WebBeansContext webBeansContext;
 
     /**
@@ -283,6 +291,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
     /**
      * Read the information from the given beans.xml and fill it into a
      * BeanArchiveInformation instance.
+     * The beans.xml gets read in a single streaming pass, empty marker files don't get parsed at all.
      */
     protected BeanArchiveInformation readBeansXml(InputStream xmlStreamIn, String beansXmlLocation) throws IOException
     {
@@ -290,42 +299,15 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
         if (xmlStreamIn != null)
         {
-            PushbackInputStream xmlStream = new PushbackInputStream(xmlStreamIn);
-
-            // try to read from the stream
-            int firstVal = xmlStream.read();
-            if (firstVal < 0)
+            byte[] xml = xmlStreamIn.readAllBytes();
+            if (isBlank(xml))
             {
                 // this means the stream is empty
                 bdaInfo.setBeanDiscoveryMode(getWebBeansContext().getOpenWebBeansConfiguration().getDefaultBeanDiscoveryMode());
             }
             else
             {
-                // put the first byte back on the stream so we can properly parse the XML.
-                xmlStream.unread(firstVal);
-
-                //Get root element of the XML document
-                Element webBeansRoot = getBeansRootElement(xmlStream);
-                if (webBeansRoot == null)
-                {
-                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
-                }
-                else
-                {
-                    if (!"beans".equalsIgnoreCase(webBeansRoot.getLocalName()))
-                    {
-                        throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + webBeansRoot.getLocalName() +
-                                                                 " in " + beansXmlLocation);
-                    }
-
-                    bdaInfo.setVersion(getTrimmedAttribute(webBeansRoot, "version"));
-
-                    String beanDiscoveryMode = getTrimmedAttribute(webBeansRoot, "bean-discovery-mode");
-                    bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
-
-                    readBeanChildren(bdaInfo, webBeansRoot, beansXmlLocation);
-                }
-
+                readBeans(bdaInfo, xml, beansXmlLocation);
 
                 if (bdaInfo.getVersion() != null && !"1.0".equals(bdaInfo.getVersion()) && bdaInfo.getBeanDiscoveryMode() == null)
                 {
@@ -350,6 +332,78 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return bdaInfo;
     }
 
+    /**
+     * @return {@code true} if the file only contains whitespace, thus is a pure marker file
+     */
+    private static boolean isBlank(byte[] xml)
+    {
+        for (byte b : xml)
+        {
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the reader to the root element, skipping any DOCTYPE, comment or processing instruction before it.
+     */
+    private static void skipToRootElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT)
+            {
+                return;
+            }
+        }
+        throw new XMLStreamException("no root element found");
+    }
+
+    private void readBeans(DefaultBeanArchiveInformation bdaInfo, byte[] xml, String beansXmlLocation)
+    {
+        XMLStreamReader reader = null;
+        try
+        {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+            skipToRootElement(reader);
+
+            if (!"beans".equalsIgnoreCase(reader.getLocalName()))
+            {
+                throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + reader.getLocalName() +
+                                                         " in " + beansXmlLocation);
+            }
+
+            bdaInfo.setVersion(getTrimmedAttribute(reader, "version"));
+
+            String beanDiscoveryMode = getTrimmedAttribute(reader, "bean-discovery-mode");
+            bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
+
+            readBeanChildren(bdaInfo, reader, beansXmlLocation);
+        }
+        catch (XMLStreamException e)
+        {
+            logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
+            throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
+        }
+        finally
+        {
+            if (reader != null)
+            {
+                try
+                {
+                    reader.close();
+                }
+                catch (XMLStreamException e)
+                {
+                    // we read everything already
+                }
+            }
+        }
+    }
+
     private WebBeansContext getWebBeansContext()
     {
         // lazy init to avoid setup issues
@@ -361,200 +415,244 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return webBeansContext;
     }
 
-    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, Element webBeansRoot, String beansXmlLocation)
+    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader, String beansXmlLocation)
+        throws XMLStreamException
     {
-        ElementIterator elit = new ElementIterator(webBeansRoot);
-        while (elit.hasNext())
+        while (nextChildElement(reader))
         {
-            Element child = elit.next();
-
-            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillDecorators(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            String localName = reader.getLocalName();
+            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(localName))
             {
-                fillInterceptors(bdaInfo, child);
+                fillClasses(reader, bdaInfo.getDecorators(), "decorators");
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(localName))
             {
-                fillAlternatives(bdaInfo, child);
+                fillClasses(reader, bdaInfo.getInterceptors(), "interceptors");
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(localName))
             {
-                fillExcludes(bdaInfo, child);
+                fillAlternatives(bdaInfo, reader);
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(localName))
             {
-                fillAllowProxying(bdaInfo, child);
+                fillExcludes(bdaInfo, reader);
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(localName))
             {
-                logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
-                bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
+                fillClasses(reader, bdaInfo.getAllowProxyingClasses(), "allowProxying");
             }
-        }
-    }
-
-    private void fillDecorators(DefaultBeanArchiveInformation bdaInfo, Element decoratorsElement)
-    {
-        ElementIterator elit = new ElementIterator(decoratorsElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            else
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(localName))
                 {
-                    throw new WebBeansConfigurationException("decorators <class> element must not be empty!");
+                    logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
+                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
                 }
-                bdaInfo.getDecorators().add(clazz);
+                skipElement(reader);
             }
         }
     }
 
-    private void fillInterceptors(DefaultBeanArchiveInformation bdaInfo, Element interceptorsElement)
+    /**
+     * Reads the {@code <class>} children of the current element.
+     */
+    private void fillClasses(XMLStreamReader reader, List<String> classes, String elementName) throws XMLStreamException
     {
-        ElementIterator elit = new ElementIterator(interceptorsElement);
-        while (elit.hasNext())
+        while (nextChildElement(reader))
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(reader.getLocalName()))
             {
-                String clazz = child.getTextContent().trim();
+                String clazz = readText(reader);
                 if (clazz.isEmpty())
                 {
-                    throw new WebBeansConfigurationException("interceptors <class> element must not be empty!");
+                    throw new WebBeansConfigurationException(elementName + " <class> element must not be empty!");
                 }
-                bdaInfo.getInterceptors().add(clazz);
+                classes.add(clazz);
+            }
+            else
+            {
+                skipElement(reader);
             }
         }
     }
 
-    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, Element alternativesElement)
+    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader) throws XMLStreamException
     {
-        ElementIterator elit = new ElementIterator(alternativesElement);
-        while (elit.hasNext())
+        while (nextChildElement(reader))
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            String localName = reader.getLocalName();
+            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(localName))
             {
-                String clazz = child.getTextContent().trim();
+                String clazz = readText(reader);
                 if (clazz.isEmpty())
                 {
                     throw new WebBeansConfigurationException("alternatives <class> element must not be empty!");
                 }
                 bdaInfo.getAlternativeClasses().add(clazz);
             }
-            if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(child.getLocalName()))
+            else if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(localName))
             {
-                String stereotype = child.getTextContent().trim();
+                String stereotype = readText(reader);
                 if (stereotype.isEmpty())
                 {
                     throw new WebBeansConfigurationException("alternatives <stereotype> element must not be empty!");
                 }
                 bdaInfo.getAlternativeStereotypes().add(stereotype);
             }
+            else
+            {
+                skipElement(reader);
+            }
         }
     }
 
 
-    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, Element scanElement)
+    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader) throws XMLStreamException
     {
         ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        NodeList childNodes = scanElement.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++)
+        while (nextChildElement(reader))
         {
-            Node nd = childNodes.item(i);
-            if (!Element.class.isInstance(nd))
+            if (!WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(reader.getLocalName()))
             {
+                skipElement(reader);
                 continue;
             }
 
-            Element child = Element.class.cast(nd);
-            if (WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(child.getLocalName()))
+            String name = getTrimmedAttribute(reader, "name");
+            boolean skip = false;
+            while (nextChildElement(reader))
             {
-                String name = getTrimmedAttribute(child, "name");
-                NodeList children = child.getChildNodes();
-                boolean skip = false;
-                for (int j = 0; j < children.getLength(); j++)
-                {
-                    Node ndChild = children.item(j);
-                    if (!Element.class.isInstance(ndChild))
-                    {
-                        continue;
-                    }
-
-                    Element condition = Element.class.cast(ndChild);
-
-                    String localName = condition.getLocalName();
-                    if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (!isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
-                    {
-                        String value = getTrimmedAttribute(condition, "value");
-                        String systProp = System.getProperty(getTrimmedAttribute(condition, "name"));
-                        if ((value == null && systProp == null) || !(value != null && value.equals(systProp)))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                }
-                if (skip)
-                {
-                    continue;
-                }
-                if (name.endsWith(".*"))
-                {
-                    // package exclude without sub-packages
-                    bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
-                }
-                else if (name.endsWith(".**"))
-                {
-                    // package exclude WITH sub-packages
-                    bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
-                }
-                else
-                {
-                    // a simple Class
-                    bdaInfo.addClassExclude(name);
-                }
+                // once a condition didn't match we only need to read to the end of the exclude
+                skip = skip || !isConditionMet(reader, loader);
+                skipElement(reader);
+            }
+            if (skip)
+            {
+                continue;
+            }
+            if (name.endsWith(".*"))
+            {
+                // package exclude without sub-packages
+                bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
+            }
+            else if (name.endsWith(".**"))
+            {
+                // package exclude WITH sub-packages
+                bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
+            }
+            else
+            {
+                // a simple Class
+                bdaInfo.addClassExclude(name);
             }
         }
     }
 
-    private void fillAllowProxying(DefaultBeanArchiveInformation bdaInfo, Element allowProxyingElement)
+    /**
+     * @return whether the {@code <exclude>} condition the reader is positioned on is fulfilled
+     */
+    private static boolean isConditionMet(XMLStreamReader reader, ClassLoader loader)
     {
-        ElementIterator elit = new ElementIterator(allowProxyingElement);
-        while (elit.hasNext())
+        String localName = reader.getLocalName();
+        if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
+        {
+            return isClassAvailable(loader, getTrimmedAttribute(reader, "name"));
+        }
+        if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
+        {
+            return !isClassAvailable(loader, getTrimmedAttribute(reader, "name"));
+        }
+        if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            String value = getTrimmedAttribute(reader, "value");
+            String systProp = System.getProperty(getTrimmedAttribute(reader, "name"));
+            return value != null && value.equals(systProp);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the reader to the next child element of the current element.
+     * @return {@code false} if the end of the current element got reached
+     */
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("allowProxying <class> element must not be empty!");
-                }
-                bdaInfo.getAllowProxyingClasses().add(clazz);
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                return false;
             }
         }
+        return false;
+    }
+
+    /**
+     * Moves the reader to the end of the current element.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        int depth = 1;
+        while (depth > 0)
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * @return the trimmed text content of the current element, including the one of nested elements
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException
+    {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0)
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                     || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE)
+            {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     */
+    private static String getTrimmedAttribute(XMLStreamReader reader, String attributeName)
+    {
+        for (int i = 0; i < reader.getAttributeCount(); i++)
+        {
+            if (attributeName.equals(reader.getAttributeLocalName(i)))
+            {
+                String val = reader.getAttributeValue(i).trim();
+                return val.isEmpty() ? null : val;
+            }
+        }
+        return null;
     }
 
 
@@ -573,6 +671,19 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         }
     }
 
+    private static XMLInputFactory createXmlInputFactory()
+    {
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        // a beans.xml never needs a DTD, don't resolve any external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
     @Override
     public void release()
     {
@@ -586,7 +697,9 @@ public class DefaultBeanArchiveService implements BeanArchiveService
      * @param xmlStream parsed document
      * @return root element of the document
      * @throws org.apache.webbeans.exception.WebBeansException if any runtime exception occurs
+     * @deprecated beans.xml files get read via StAX, this method is not used anymore
      */
+    @Deprecated
     protected Element getBeansRootElement(InputStream xmlStream) throws WebBeansException
     {
         try
@@ -614,7 +727,9 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     /**
      * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     * @deprecated beans.xml files get read via StAX, this method is not used anymore
      */
+    @Deprecated
     protected String getTrimmedAttribute(Element element, String attributeName)
     {
         String val = element.getAttribute(attributeName);
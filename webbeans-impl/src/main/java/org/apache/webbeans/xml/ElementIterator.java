@@ -26,8 +26,11 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 /**
+ * Iterates over the child elements of a DOM element.
  *
+ * @deprecated beans.xml files get read via StAX, this class is not used anymore
  */
+@Deprecated
 public class ElementIterator implements Iterator<Element>
 {
     private final NodeList children;
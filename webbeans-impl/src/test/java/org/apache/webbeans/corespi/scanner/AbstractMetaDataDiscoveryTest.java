@@ -18,9 +18,13 @@
  */
 package org.apache.webbeans.corespi.scanner;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyEnumeration;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static org.apache.xbean.asm9.ClassWriter.COMPUTE_FRAMES;
+import static org.apache.xbean.asm9.Opcodes.ACC_ABSTRACT;
+import static org.apache.xbean.asm9.Opcodes.ACC_INTERFACE;
 import static org.apache.xbean.asm9.Opcodes.ACC_PUBLIC;
 import static org.apache.xbean.asm9.Opcodes.ACC_SUPER;
 import static org.apache.xbean.asm9.Opcodes.ALOAD;
@@ -40,6 +44,8 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.jar.JarEntry;
@@ -50,10 +56,17 @@ import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.Extension;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
 import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
+import org.apache.webbeans.corespi.scanner.xbean.CdiArchiveTest;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
 import org.apache.xbean.asm9.ClassWriter;
 import org.apache.xbean.asm9.MethodVisitor;
 import org.apache.xbean.asm9.Type;
@@ -85,6 +98,156 @@ public class AbstractMetaDataDiscoveryTest
         assertTrue(Boolean.class.cast(mtd.invoke(mock, AbstractMetaDataDiscoveryTest.class.getName() + "$15$222")));
     }
 
+    @Test
+    public void excludedJars() throws Exception
+    {
+        final AbstractMetaDataDiscovery discovery = new AbstractMetaDataDiscovery()
+        {
+            @Override
+            protected void configure()
+            {
+                // no-op
+            }
+        };
+
+        final File exclusionFile = temp.newFile("exclusions.txt");
+        java.nio.file.Files.write(exclusionFile.toPath(),
+                asList("# some libraries", "", "/commons-", "  /jackson-core-  "), StandardCharsets.UTF_8);
+        final List<String> excludes = discovery.readScanningExcludes(exclusionFile.getAbsolutePath());
+        assertEquals(asList("/commons-", "/jackson-core-"), excludes);
+
+        discovery.scanningExcludes = excludes.toArray(new String[0]);
+
+        assertTrue(discovery.isExcludedJar(new URL("file:/app/lib/commons-lang3-3.12.jar")));
+        assertTrue(discovery.isExcludedJar(new URL("jar:file:/app/lib/jackson-core-2.15.jar!/")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/my-beans.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/commons-project/target/classes/")));
+
+        assertTrue(discovery.isExcludedJar(new URL("file:/app/lib/geronimo-jta_1.1_spec-1.1.1.jar")));
+        assertTrue(discovery.isExcludedJar(new URL("jar:file:/app/lib/geronimo-jta_1.1_spec-1.1.1.jar!/")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/geronimo-config-impl-1.2.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/geronimo-x_spec/lib/beans.jar")));
+
+        // subclasses might replace the excludes at any time
+        discovery.scanningExcludes = new String[]{"/my-"};
+        assertTrue(discovery.isExcludedJar(new URL("file:/app/lib/my-beans.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/commons-lang3-3.12.jar")));
+    }
+
+    @Test
+    public void shippedScanExclusions() throws Exception
+    {
+        final AbstractMetaDataDiscovery discovery = new AbstractMetaDataDiscovery()
+        {
+            @Override
+            protected void configure()
+            {
+                // no-op
+            }
+        };
+        final List<String> excludes = discovery.readScanningExcludes("META-INF/openwebbeans/scan-exclusions.txt");
+        assertTrue(excludes.size() > 300);
+        for (final String exclude : excludes)
+        {
+            // a bare artifact name prefix would match unrelated jars
+            assertTrue(exclude, exclude.endsWith("-") || exclude.endsWith("_") || exclude.endsWith(".") || exclude.endsWith("/")
+                    || exclude.endsWith(".jar"));
+        }
+        discovery.scanningExcludes = excludes.toArray(new String[0]);
+
+        assertTrue(discovery.isExcludedJar(new URL("file:/app/lib/commons-dbcp2-2.9.0.jar")));
+        assertTrue(discovery.isExcludedJar(new URL("file:/app/lib/derby-10.16.1.1.jar")));
+        assertTrue(discovery.isExcludedJar(new URL("file:/app/lib/ojdbc11-23.2.0.0.jar")));
+        assertTrue(discovery.isExcludedJar(new URL("file:/m2/software/amazon/awssdk/s3/2.20.0/s3-2.20.0.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/saxonia-beans-1.0.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/derbyshire-model-1.0.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/ojdbcutils-1.0.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/brotlinator-1.0.jar")));
+        assertFalse(discovery.isExcludedJar(new URL("file:/app/lib/awssdk-beans-1.0.jar")));
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertFalse(discovery.isExcludedJar(new URL("file:/home/user/.m2/repository/org/acme/module" + i + "/1.0." + i
+                    + "/module" + i + "-1.0." + i + ".jar")));
+        }
+    }
+
+    @Test
+    public void skipNonBeanClasses() throws Exception
+    {
+        final File jar = temp.newFile("mixed.jar");
+        try (final JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jar)))
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                final String bean = "org/apache/openwebbeans/generated/mixed/Bean" + i;
+                outputStream.putNextEntry(new JarEntry(bean + ".class"));
+                outputStream.write(CdiArchiveTest.createClass(bean, false));
+                outputStream.closeEntry();
+
+                final String api = "org/apache/openwebbeans/generated/mixed/Api" + i;
+                final ClassWriter writer = new ClassWriter(0);
+                writer.visit(V1_8, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, api, null, "java/lang/Object", null);
+                writer.visitEnd();
+                outputStream.putNextEntry(new JarEntry(api + ".class"));
+                outputStream.write(writer.toByteArray());
+                outputStream.closeEntry();
+            }
+        }
+
+        assertEquals(6, discoverBeanClasses(jar.toURI().toURL(), false).size());
+
+        final Set<Class<?>> beanClasses = discoverBeanClasses(jar.toURI().toURL(), true);
+        assertEquals(3, beanClasses.size());
+        beanClasses.forEach(c -> assertFalse(c.getName(), c.isInterface()));
+    }
+
+    private Set<Class<?>> discoverBeanClasses(final URL jar, final boolean skipNonBeanClasses) throws Exception
+    {
+        final Properties config = new Properties();
+        config.setProperty(OpenWebBeansConfiguration.SCANNER_SKIP_NON_BEAN_CLASSES, Boolean.toString(skipNonBeanClasses));
+        final WebBeansContext context = new WebBeansContext(emptyMap(), config);
+        final BeanArchiveService beanArchiveService = new DefaultBeanArchiveService()
+        {
+            @Override
+            public BeanArchiveInformation getBeanArchiveInformation(final URL beanArchiveUrl)
+            {
+                final DefaultBeanArchiveInformation information = new DefaultBeanArchiveInformation(beanArchiveUrl.toExternalForm());
+                information.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+                return information;
+            }
+        };
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        try (final URLClassLoader loader = new URLClassLoader(new URL[]{jar}, getClass().getClassLoader()))
+        {
+            thread.setContextClassLoader(loader);
+            final CdiArchive archive = new CdiArchive(beanArchiveService, loader, singletonMap(jar.toExternalForm(), jar), null, null,
+                                                      false, null, skipNonBeanClasses);
+            final OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+            final AbstractMetaDataDiscovery discovery = new AbstractMetaDataDiscovery()
+            {
+                @Override
+                protected void configure()
+                {
+                    // the archive got scanned already
+                }
+            };
+            discovery.webBeansContext = context;
+            discovery.archive = archive;
+            discovery.finder = finder;
+
+            final Set<Class<?>> beanClasses = new HashSet<>();
+            discovery.getBeanClassesPerBda().values().forEach(beanClasses::addAll);
+            return beanClasses;
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
     @Test
     public void skipExtensionJarScanning() throws Exception
     {
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ScanExclusionMatcherTest
+{
+    @Test
+    public void findsTheFirstMatch()
+    {
+        ScanExclusionMatcher matcher = new ScanExclusionMatcher(asList("/commons-", "/commons-lang3-", "/jar", "/lib/x"));
+
+        assertEquals(13, matcher.indexOf("file:/app/lib/commons-lang3-3.12.jar", 1));
+        assertEquals(9, matcher.indexOf("file:/app/lib/x.jar", 1));
+        assertEquals(13, matcher.indexOf("file:/app/lib/jars.jar", 1));
+        assertEquals(-1, matcher.indexOf("file:/app/lib/my-beans.jar", 1));
+    }
+
+    @Test
+    public void overlappingPatterns()
+    {
+        ScanExclusionMatcher matcher = new ScanExclusionMatcher(asList("/ab", "b/c", "/abd"));
+
+        assertEquals(2, matcher.indexOf("x//abd", 1));
+        assertEquals(2, matcher.indexOf("xyb/c", 1));
+        assertEquals(1, matcher.indexOf("x/ab/c", 1));
+    }
+
+    @Test
+    public void fromIndex()
+    {
+        ScanExclusionMatcher matcher = new ScanExclusionMatcher(asList("/a"));
+
+        assertEquals(0, matcher.indexOf("/a/a", 0));
+        assertEquals(2, matcher.indexOf("/a/a", 1));
+        assertEquals(-1, matcher.indexOf("/a", 1));
+    }
+
+    @Test
+    public void noPatterns()
+    {
+        assertEquals(-1, new ScanExclusionMatcher(emptyList()).indexOf("file:/app/lib/x.jar", 0));
+    }
+
+    @Test
+    public void nonAsciiCharacters()
+    {
+        ScanExclusionMatcher matcher = new ScanExclusionMatcher(asList("/bibliothèque-"));
+
+        assertEquals(5, matcher.indexOf("file:/bibliothèque-1.0.jar", 1));
+        assertEquals(-1, matcher.indexOf("file:/bibliotheque-1.0.jar", 1));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.apache.xbean.asm9.Opcodes.ACC_PRIVATE;
+import static org.apache.xbean.asm9.Opcodes.ACC_PUBLIC;
+import static org.apache.xbean.asm9.Opcodes.ACC_SUPER;
+import static org.apache.xbean.asm9.Opcodes.ALOAD;
+import static org.apache.xbean.asm9.Opcodes.ARETURN;
+import static org.apache.xbean.asm9.Opcodes.GETFIELD;
+import static org.apache.xbean.asm9.Opcodes.INVOKESPECIAL;
+import static org.apache.xbean.asm9.Opcodes.RETURN;
+import static org.apache.xbean.asm9.Opcodes.V1_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.FieldVisitor;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Type;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CdiArchiveTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void scanTimesGetReportedInArchiveOrder() throws Exception
+    {
+        Map<String, URL> urls = createJars(temp.newFolder(), 12, 20);
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            CdiArchive archive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null);
+            OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+
+            assertEquals(12 * 10, finder.findAnnotatedClasses(ApplicationScoped.class).size());
+            for (String url : urls.keySet())
+            {
+                assertEquals(20, archive.classesByUrl().get(url).getClassNames().size());
+                assertNotNull(finder.getClassInfo(className(url, 0)));
+            }
+
+            assertEquals(new ArrayList<>(urls.keySet()), new ArrayList<>(archive.scanTimes().keySet()));
+        }
+    }
+
+    private static String className(String url, int index)
+    {
+        String jarName = url.substring(url.lastIndexOf('/') + 1, url.length() - ".jar".length());
+        return "org.apache.openwebbeans.generated." + jarName + ".Bean" + index;
+    }
+
+    /**
+     * Creates jars with the given number of classes, every 2nd of them being {@link ApplicationScoped}.
+     *
+     * @return the URLs of the jars keyed by their external form
+     */
+    public static Map<String, URL> createJars(File folder, int jars, int classesPerJar) throws IOException
+    {
+        Map<String, URL> urls = new LinkedHashMap<>();
+        for (int i = 0; i < jars; i++)
+        {
+            String jarName = "jar" + i;
+            File file = new File(folder, jarName + ".jar");
+            try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+            {
+                for (int j = 0; j < classesPerJar; j++)
+                {
+                    String internalName = "org/apache/openwebbeans/generated/" + jarName + "/Bean" + j;
+                    outputStream.putNextEntry(new JarEntry(internalName + ".class"));
+                    outputStream.write(createClass(internalName, j % 2 == 0));
+                    outputStream.closeEntry();
+                }
+            }
+            URL url = file.toURI().toURL();
+            urls.put(url.toExternalForm(), url);
+        }
+        return urls;
+    }
+
+    public static byte[] createClass(String internalName, boolean scoped)
+    {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(V1_8, ACC_PUBLIC + ACC_SUPER, internalName, null, Type.getInternalName(Object.class), null);
+        if (scoped)
+        {
+            writer.visitAnnotation(Type.getDescriptor(ApplicationScoped.class), true).visitEnd();
+        }
+
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(-1, -1);
+        constructor.visitEnd();
+
+        for (int i = 0; i < 5; i++)
+        {
+            FieldVisitor field = writer.visitField(ACC_PRIVATE, "value" + i, "Ljava/lang/String;", null, null);
+            field.visitAnnotation(Type.getDescriptor(Inject.class), true).visitEnd();
+            field.visitEnd();
+
+            MethodVisitor getter = writer.visitMethod(ACC_PUBLIC, "getValue" + i, "()Ljava/lang/String;", null, null);
+            getter.visitCode();
+            getter.visitVarInsn(ALOAD, 0);
+            getter.visitFieldInsn(GETFIELD, internalName, "value" + i, "Ljava/lang/String;");
+            getter.visitInsn(ARETURN);
+            getter.visitMaxs(-1, -1);
+            getter.visitEnd();
+        }
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.JarArchive;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedJarArchiveTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void readsStoredAndDeflatedEntries() throws Exception
+    {
+        File file = temp.newFile("mixed.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                String internalName = "org/apache/openwebbeans/generated/mixed/Bean" + i;
+                write(outputStream, internalName + ".class", CdiArchiveTest.createClass(internalName, i % 2 == 0), i % 2 == 0);
+            }
+            write(outputStream, "module-info.class", new byte[]{1, 2, 3}, false);
+            write(outputStream, "META-INF/beans.xml", new byte[0], true);
+        }
+        URL url = file.toURI().toURL();
+
+        Archive mapped = MappedJarArchive.archive(getClass().getClassLoader(), url);
+        assertSame(MappedJarArchive.class, mapped.getClass());
+
+        JarArchive xbean = new JarArchive(getClass().getClassLoader(), url);
+        try
+        {
+            Map<String, byte[]> expected = readAll(xbean);
+            Map<String, byte[]> actual = readAll(mapped);
+            assertEquals(10, actual.size());
+            assertEquals(expected.keySet(), actual.keySet());
+            for (Map.Entry<String, byte[]> entry : expected.entrySet())
+            {
+                assertArrayEquals(entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+                try (InputStream bytecode = mapped.getBytecode(entry.getKey()))
+                {
+                    assertArrayEquals(entry.getValue(), bytecode.readAllBytes());
+                }
+            }
+        }
+        finally
+        {
+            xbean.close();
+        }
+
+        try
+        {
+            mapped.getBytecode("org.apache.openwebbeans.generated.mixed.Missing");
+            fail("ClassNotFoundException expected");
+        }
+        catch (ClassNotFoundException expected)
+        {
+            // not in the jar
+        }
+    }
+
+    @Test
+    public void finderParsesTheMappedBytes() throws Exception
+    {
+        File file = temp.newFile("parsed.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                String internalName = "org/apache/openwebbeans/generated/parsed/Bean" + i;
+                write(outputStream, internalName + ".class", CdiArchiveTest.createClass(internalName, i % 3 == 0), i % 2 == 0);
+            }
+        }
+        URL url = file.toURI().toURL();
+        Map<String, URL> urls = Collections.singletonMap(url.toExternalForm(), url);
+
+        CdiArchive xbeanArchive = new CdiArchive(new DefaultBeanArchiveService(), getClass().getClassLoader(), urls, null, null);
+        OwbAnnotationFinder xbean = new OwbAnnotationFinder(xbeanArchive);
+        try (CdiArchive mappedArchive = new CdiArchive(new DefaultBeanArchiveService(), getClass().getClassLoader(), urls, null, null,
+                                                       true, null, false))
+        {
+            OwbAnnotationFinder mapped = new OwbAnnotationFinder(mappedArchive);
+
+            assertEquals(10, mapped.getAnnotatedClassNames().size());
+            assertEquals(new HashSet<>(xbean.getAnnotatedClassNames()), new HashSet<>(mapped.getAnnotatedClassNames()));
+            for (int i = 0; i < 10; i++)
+            {
+                String className = "org.apache.openwebbeans.generated.parsed.Bean" + i;
+                assertEquals(xbean.getClassInfo(className).getFields().size(), mapped.getClassInfo(className).getFields().size());
+                assertEquals(xbean.getClassInfo(className).getMethods().size(), mapped.getClassInfo(className).getMethods().size());
+            }
+        }
+    }
+
+    @Test
+    public void closeReleasesTheMapping() throws Exception
+    {
+        File file = temp.newFile("closed.jar");
+        String internalName = "org/apache/openwebbeans/generated/closed/Bean";
+        byte[] bytecode = CdiArchiveTest.createClass(internalName, true);
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            write(outputStream, internalName + ".class", bytecode, false);
+        }
+
+        BufferPoolMXBean mappedBuffers = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "mapped".equals(pool.getName()))
+                .findFirst()
+                .orElse(null);
+        Assume.assumeNotNull(mappedBuffers);
+        long mappedBefore = mappedBuffers.getCount();
+
+        MappedJarArchive archive = (MappedJarArchive) MappedJarArchive.archive(getClass().getClassLoader(), file.toURI().toURL());
+        assertEquals(mappedBefore + 1, mappedBuffers.getCount());
+
+        archive.close();
+        assertEquals(mappedBefore, mappedBuffers.getCount());
+
+        // still readable, without keeping the jar mapped
+        try (InputStream in = archive.getBytecode("org.apache.openwebbeans.generated.closed.Bean"))
+        {
+            assertArrayEquals(bytecode, in.readAllBytes());
+        }
+        assertEquals(mappedBefore, mappedBuffers.getCount());
+    }
+
+    @Test
+    public void fallsBackForMultiReleaseJars() throws Exception
+    {
+        File file = temp.newFile("mrjar.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            String internalName = "org/apache/openwebbeans/generated/mrjar/Bean";
+            write(outputStream, internalName + ".class", CdiArchiveTest.createClass(internalName, true), false);
+            write(outputStream, "META-INF/versions/11/" + internalName + ".class", CdiArchiveTest.createClass(internalName, true), false);
+        }
+
+        Archive archive = MappedJarArchive.archive(getClass().getClassLoader(), file.toURI().toURL());
+        assertTrue(archive instanceof JarArchive);
+        ((JarArchive) archive).close();
+    }
+
+    private static Map<String, byte[]> readAll(Archive archive) throws IOException
+    {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (Archive.Entry entry : archive)
+        {
+            try (InputStream bytecode = entry.getBytecode())
+            {
+                classes.put(entry.getName(), bytecode.readAllBytes());
+            }
+        }
+        return classes;
+    }
+
+    private static void write(JarOutputStream outputStream, String name, byte[] content, boolean stored) throws IOException
+    {
+        JarEntry entry = new JarEntry(name);
+        if (stored)
+        {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+        outputStream.putNextEntry(entry);
+        outputStream.write(content);
+        outputStream.closeEntry();
+    }
+}
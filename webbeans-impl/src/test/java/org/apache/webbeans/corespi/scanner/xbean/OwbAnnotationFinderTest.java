@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.archive.ClassesArchive;
+import org.junit.Test;
+
+public class OwbAnnotationFinderTest
+{
+    @Test
+    public void classesWhichCanNeverBeBeans()
+    {
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new ClassesArchive(
+                SomeInterface.class, SomeEnum.class, SomeAnnotation.class, AbstractClass.class,
+                NoDefaultConstructor.class, Inner.class));
+
+        assertTrue(finder.isNonBeanClass(SomeInterface.class.getName()));
+        assertTrue(finder.isNonBeanClass(SomeEnum.class.getName()));
+        assertTrue(finder.isNonBeanClass(SomeAnnotation.class.getName()));
+        assertTrue(finder.isNonBeanClass(AbstractClass.class.getName()));
+        assertTrue(finder.isNonBeanClass(NoDefaultConstructor.class.getName()));
+        assertTrue(finder.isNonBeanClass(Inner.class.getName()));
+    }
+
+    @Test
+    public void classesWhichMightBeBeans()
+    {
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new ClassesArchive(
+                Bean.class, PrivateConstructor.class, InjectConstructor.class, AbstractDecorator.class));
+
+        assertFalse(finder.isNonBeanClass(Bean.class.getName()));
+        assertFalse(finder.isNonBeanClass(PrivateConstructor.class.getName()));
+        assertFalse(finder.isNonBeanClass(InjectConstructor.class.getName()));
+        assertFalse(finder.isNonBeanClass(AbstractDecorator.class.getName()));
+    }
+
+    @Test
+    public void nonBeanClassesOnlyGetCollectedIfNeeded()
+    {
+        ClassLoader loader = getClass().getClassLoader();
+        ClassesArchive classes = new ClassesArchive(SomeInterface.class, Bean.class);
+
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new CdiArchive(new DefaultBeanArchiveService(), loader,
+                Collections.emptyMap(), null, classes, false, null, false));
+        assertTrue(finder.isIndexed(SomeInterface.class.getName()));
+        assertFalse(finder.isNonBeanClass(SomeInterface.class.getName()));
+
+        finder = new OwbAnnotationFinder(new CdiArchive(new DefaultBeanArchiveService(), loader,
+                Collections.emptyMap(), null, classes, false, null, true));
+        assertTrue(finder.isNonBeanClass(SomeInterface.class.getName()));
+        assertFalse(finder.isNonBeanClass(Bean.class.getName()));
+    }
+
+    @Test
+    public void classesWithAnnotations()
+    {
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new ClassesArchive(
+                Bean.class, InjectConstructor.class, NamedField.class, NamedParameter.class, SubclassOfNamedField.class,
+                SubclassOfUnscanned.class, AbstractClass.class));
+
+        Set<String> expected = new HashSet<>(Arrays.asList(
+                InjectConstructor.class.getName(), NamedField.class.getName(), SubclassOfNamedField.class.getName(),
+                // we don't know whether the unscanned superclass uses the annotations
+                SubclassOfUnscanned.class.getName()));
+        assertEquals(expected, finder.findClassesWithAnnotations(new HashSet<>(Arrays.asList(Inject.class.getName()))));
+
+        expected = new HashSet<>(Arrays.asList(
+                NamedField.class.getName(), NamedParameter.class.getName(), SubclassOfNamedField.class.getName(),
+                SubclassOfUnscanned.class.getName()));
+        assertEquals(expected, finder.findClassesWithAnnotations(Collections.singleton(Named.class.getName())));
+
+        assertTrue(finder.getUsedAnnotations().containsAll(Arrays.asList(
+                ApplicationScoped.class.getName(), Inject.class.getName(), Named.class.getName())));
+        assertTrue(finder.isIndexed(Bean.class.getName()));
+        assertFalse(finder.isIndexed(ArrayList.class.getName()));
+    }
+
+
+    public interface SomeInterface
+    {
+    }
+
+    public enum SomeEnum
+    {
+        VALUE
+    }
+
+    public @interface SomeAnnotation
+    {
+    }
+
+    public abstract static class AbstractClass
+    {
+    }
+
+    public static class NoDefaultConstructor
+    {
+        public NoDefaultConstructor(String value)
+        {
+        }
+    }
+
+    public class Inner
+    {
+    }
+
+    @ApplicationScoped
+    public static class Bean
+    {
+    }
+
+    public static class PrivateConstructor
+    {
+        private PrivateConstructor()
+        {
+        }
+    }
+
+    public static class InjectConstructor
+    {
+        @Inject
+        public InjectConstructor(Bean bean)
+        {
+        }
+    }
+
+    public static class NamedField
+    {
+        @Inject
+        @Named("bean")
+        private Bean bean;
+    }
+
+    public static class NamedParameter
+    {
+        public void setBean(@Named("bean") Bean bean)
+        {
+        }
+    }
+
+    public static class SubclassOfNamedField extends NamedField
+    {
+    }
+
+    public static class SubclassOfUnscanned extends ArrayList<String>
+    {
+    }
+
+    @Decorator
+    public abstract static class AbstractDecorator implements Serializable
+    {
+        @Inject
+        @Delegate
+        private Serializable delegate;
+    }
+}
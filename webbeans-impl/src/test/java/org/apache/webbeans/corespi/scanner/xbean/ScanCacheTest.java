@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.filter.Filter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScanCacheTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void unchangedJarsDontGetScannedAgain() throws Exception
+    {
+        Map<String, URL> urls = CdiArchiveTest.createJars(temp.newFolder(), 3, 10);
+        ScanCache scanCache = new ScanCache(temp.newFolder().toPath());
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            CdiArchive firstArchive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, false, scanCache);
+            OwbAnnotationFinder first = scan(firstArchive);
+            assertEquals(3, firstArchive.scanTimes().size());
+
+            CdiArchive secondArchive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, false, scanCache);
+            OwbAnnotationFinder second = scan(secondArchive);
+            assertTrue(secondArchive.scanTimes().isEmpty());
+
+            for (String url : urls.keySet())
+            {
+                assertEquals(firstArchive.classesByUrl().get(url).getClassNames(), secondArchive.classesByUrl().get(url).getClassNames());
+            }
+            assertEquals(15, second.findAnnotatedClasses(ApplicationScoped.class).size());
+
+            String className = first.findAnnotatedClasses(ApplicationScoped.class).get(0).getName();
+            AnnotationFinder.ClassInfo classInfo = second.getClassInfo(className);
+            assertNotNull(classInfo);
+            assertEquals(Object.class.getName(), classInfo.getSuperType());
+            assertEquals(ApplicationScoped.class.getName(), classInfo.getAnnotations().get(0).getName());
+        }
+    }
+
+    @Test
+    public void changedJarsGetScannedAgain() throws Exception
+    {
+        File jars = temp.newFolder();
+        Map<String, URL> urls = CdiArchiveTest.createJars(jars, 2, 10);
+        ScanCache scanCache = new ScanCache(temp.newFolder().toPath());
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            scan(new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, false, scanCache));
+
+            Path changed = new File(jars, "jar0.jar").toPath();
+            changed.toFile().setLastModified(changed.toFile().lastModified() - 10000);
+
+            CdiArchive archive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, false, scanCache);
+            scan(archive);
+            assertEquals(1, archive.scanTimes().size());
+            assertTrue(archive.scanTimes().keySet().iterator().next().endsWith("jar0.jar"));
+        }
+    }
+
+    @Test
+    public void previouslyFilteredClassesTriggerScanning() throws Exception
+    {
+        Map<String, URL> urls = CdiArchiveTest.createJars(temp.newFolder(), 1, 10);
+        ScanCache scanCache = new ScanCache(temp.newFolder().toPath());
+        Filter onlyFirstBeans = name -> name.endsWith("Bean0") || name.endsWith("Bean1");
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            CdiArchive filteredArchive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, onlyFirstBeans, null, false, scanCache);
+            scan(filteredArchive);
+            assertEquals(2, filteredArchive.classesByUrl().values().iterator().next().getClassNames().size());
+
+            // a narrower filter can use the cache
+            Filter onlyFirstBean = name -> name.endsWith("Bean0");
+            CdiArchive narrowerArchive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, onlyFirstBean, null, false, scanCache);
+            scan(narrowerArchive);
+            assertTrue(narrowerArchive.scanTimes().isEmpty());
+            assertEquals(1, narrowerArchive.classesByUrl().values().iterator().next().getClassNames().size());
+
+            CdiArchive unfilteredArchive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, false, scanCache);
+            OwbAnnotationFinder finder = scan(unfilteredArchive);
+            assertEquals(1, unfilteredArchive.scanTimes().size());
+            assertEquals(10, unfilteredArchive.classesByUrl().values().iterator().next().getClassNames().size());
+            assertEquals(5, finder.findAnnotatedClasses(ApplicationScoped.class).size());
+        }
+    }
+
+    private static OwbAnnotationFinder scan(CdiArchive archive)
+    {
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+        archive.applyScanCache(finder);
+        return finder;
+    }
+}
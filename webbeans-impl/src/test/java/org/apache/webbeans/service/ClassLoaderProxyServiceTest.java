@@ -21,10 +21,15 @@ package org.apache.webbeans.service;
 import static java.util.Collections.emptyMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
+import java.util.Map;
 import java.util.Properties;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.proxy.InstanceFactory;
+import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.spi.DefiningClassService;
 import org.junit.Test;
@@ -46,6 +51,93 @@ public class ClassLoaderProxyServiceTest
         proxyClass.getMethod("ok", String.class); // this line would fail if not here, no assert needed
     }
 
+    @Test
+    public void instanceFactory() throws NoSuchMethodException
+    {
+        final Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.class.getName());
+        final WebBeansContext context = new WebBeansContext(emptyMap(), config);
+        final InterceptorDecoratorProxyFactory factory = new InterceptorDecoratorProxyFactory(context);
+
+        final InstanceFactory<MyConstructedBean> instanceFactory = factory.createInstanceFactory(
+                MyConstructedBean.class.getConstructor(MyBean.class, int.class, String[].class));
+        assertNotNull(instanceFactory);
+        assertEquals(context.getService(DefiningClassService.class).getProxyClassLoader(MyConstructedBean.class),
+                instanceFactory.getClass().getClassLoader());
+
+        final MyBean bean = new MyBean();
+        final MyConstructedBean instance = instanceFactory.newInstance(new Object[]{bean, 3, new String[]{"a"}});
+        assertEquals(bean, instance.bean);
+        assertEquals(3, instance.count);
+        assertEquals("a", instance.names[0]);
+
+        // not accessible from another package
+        assertNull(factory.createInstanceFactory(MyConstructedBean.class.getDeclaredConstructor()));
+    }
+
+    @Test
+    public void instanceFactoryLoadOnly() throws NoSuchMethodException
+    {
+        final Properties spyConfig = new Properties();
+        spyConfig.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.Spy.class.getName());
+        final WebBeansContext spyContext = new WebBeansContext(emptyMap(), spyConfig);
+        assertNotNull(new InterceptorDecoratorProxyFactory(spyContext).createInstanceFactory(MyBean.class.getConstructor()));
+        final Map<String, byte[]> generated = ClassLoaderProxyService.Spy.class.cast(spyContext.getService(DefiningClassService.class)).getProxies();
+        assertEquals(1, generated.size());
+
+        final Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.LoadOnly.class.getName());
+        final WebBeansContext context = new WebBeansContext(emptyMap(), config);
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        final ClassLoader preGenerated = new ClassLoader(contextClassLoader)
+        {
+            @Override
+            protected Class<?> findClass(final String name) throws ClassNotFoundException
+            {
+                final byte[] bytes = generated.get(name);
+                if (bytes == null)
+                {
+                    throw new ClassNotFoundException(name);
+                }
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        };
+        thread.setContextClassLoader(preGenerated);
+        try
+        {
+            final InstanceFactory<MyBean> instanceFactory = new InterceptorDecoratorProxyFactory(context)
+                    .createInstanceFactory(MyBean.class.getConstructor());
+            assertNotNull(instanceFactory);
+            assertEquals(preGenerated, instanceFactory.getClass().getClassLoader());
+            assertEquals(">b<", instanceFactory.newInstance(new Object[0]).ok("b"));
+        }
+        finally
+        {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    public static class MyConstructedBean
+    {
+        private final MyBean bean;
+        private final int count;
+        private final String[] names;
+
+        MyConstructedBean()
+        {
+            this(null, 0, null);
+        }
+
+        public MyConstructedBean(final MyBean bean, final int count, final String[] names)
+        {
+            this.bean = bean;
+            this.count = count;
+            this.names = names;
+        }
+    }
+
     public static class MyBean
     {
         public String ok(final String value)
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Properties;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.spi.AnnotatedType;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.SubclassProxyFactory;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.test.component.intercept.webbeans.bindings.Transactional;
+import org.junit.Test;
+
+public class HiddenClassProxyServiceTest extends AbstractUnitTest
+{
+    @Test
+    public void hiddenProxies() throws Exception
+    {
+        assumeTrue(HiddenClassProxyService.isHiddenClassSupported());
+
+        addConfiguration(DefiningClassService.class.getName(), HiddenClassProxyService.class.getName());
+        addInterceptor(TransactionalInterceptor.class);
+        startContainer(RequestBean.class, Service.class, TransactionalInterceptor.class);
+
+        RequestBean requestBean = getInstance(RequestBean.class);
+        assertTrue(isHidden(requestBean.getClass()));
+        assertSame(RequestBean.class.getClassLoader(), requestBean.getClass().getClassLoader());
+        assertEquals(">a<", requestBean.ok("a"));
+
+        Service service = getInstance(Service.class);
+        assertTrue(isHidden(service.getClass()));
+        assertEquals("[>b<]", service.call("b"));
+    }
+
+    @Test
+    public void fallbackForMovedPackages() throws Exception
+    {
+        Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), HiddenClassProxyService.class.getName());
+        WebBeansContext context = new WebBeansContext(emptyMap(), config);
+
+        // java.* proxies get moved to another package, thus they cannot become hidden classes
+        Class<ArrayList> proxyClass = new NormalScopeProxyFactory(context)
+                .createProxyClass(Thread.currentThread().getContextClassLoader(), ArrayList.class);
+        assertTrue(proxyClass.getName().startsWith("org.apache.webbeans.custom."));
+        assertFalse(isHidden(proxyClass));
+    }
+
+    @Test
+    public void reuseHiddenSubClasses() throws Exception
+    {
+        assumeTrue(HiddenClassProxyService.isHiddenClassSupported());
+
+        Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), HiddenClassProxyService.class.getName());
+        WebBeansContext context = new WebBeansContext(emptyMap(), config);
+        SubclassProxyFactory factory = new SubclassProxyFactory(context);
+        AnnotatedType<AbstractService> annotatedType = context.getAnnotatedElementFactory().newAnnotatedType(AbstractService.class);
+        ClassLoader classLoader = AbstractService.class.getClassLoader();
+
+        // hidden classes cannot get found by name, thus the factory must not define a second class
+        Class<AbstractService> subClass = factory.createImplementedSubclass(classLoader, annotatedType);
+        assertTrue(isHidden(subClass));
+        assertSame(subClass, factory.createImplementedSubclass(classLoader, annotatedType));
+        assertSame(subClass, factory.createSubClass(classLoader, annotatedType));
+    }
+
+    private static boolean isHidden(Class<?> clazz) throws Exception
+    {
+        try
+        {
+            return (Boolean) Class.class.getMethod("isHidden").invoke(clazz);
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        public String ok(String value)
+        {
+            return ">" + value + "<";
+        }
+    }
+
+    @Transactional
+    public static class Service
+    {
+        @Inject
+        private RequestBean requestBean;
+
+        public String call(String value)
+        {
+            return requestBean.ok(value);
+        }
+    }
+
+    public abstract static class AbstractService
+    {
+        public abstract String call(String value);
+    }
+
+    @Interceptor
+    @Transactional
+    public static class TransactionalInterceptor
+    {
+        @AroundInvoke
+        public Object wrap(InvocationContext ctx) throws Exception
+        {
+            return "[" + ctx.proceed() + "]";
+        }
+    }
+}
@@ -260,6 +260,7 @@ public abstract class AbstractUnitTest
         {
             this.testLifecycle.stopApplication(null);
             this.testLifecycle = null;
+            this.webBeansContext = null;
             cleanup();
         }        
     }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+import jakarta.enterprise.inject.spi.ProcessManagedBean;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.apache.webbeans.annotation.Unremovable;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class RemoveUnusedBeansTest extends AbstractUnitTest
+{
+    @Test
+    public void removeUnusedBeans()
+    {
+        addConfiguration(OpenWebBeansConfiguration.REMOVE_UNUSED_BEANS, "true");
+        addConfiguration(OpenWebBeansConfiguration.REMOVE_UNUSED_BEANS_KEEP, KeptByConfig.class.getName());
+        UnusedBeanIdCollector idCollector = new UnusedBeanIdCollector();
+        addExtension(idCollector);
+        startContainer(Unused.class, UsedOnlyByUnused.class, Root.class, Injected.class, Transitive.class, LookedUp.class,
+                NamedBean.class, ProducerOwner.class, KeptByAnnotation.class, KeptByConfig.class);
+
+        assertTrue(getBeanManager().getBeans(Unused.class).isEmpty());
+        assertTrue(getBeanManager().getBeans(UsedOnlyByUnused.class).isEmpty());
+        assertNotNull(idCollector.unusedBeanId);
+        assertNull(getBeanManager().getPassivationCapableBean(idCollector.unusedBeanId));
+
+        assertNotNull(getBean(Root.class));
+        assertNotNull(getBean(Injected.class));
+        assertNotNull(getBean(Transitive.class));
+        assertNotNull(getBean(LookedUp.class));
+        assertNotNull(getBean(NamedBean.class));
+        assertNotNull(getBean(ProducerOwner.class));
+        assertNotNull(getBean(KeptByAnnotation.class));
+        assertNotNull(getBean(KeptByConfig.class));
+
+        Root root = getInstance(Root.class);
+        assertEquals("transitive", root.getInjected().getTransitive().value());
+        assertEquals("lookedUp", root.lookup().value());
+    }
+
+    @Test
+    public void disabledByDefault()
+    {
+        startContainer(Unused.class, UsedOnlyByUnused.class);
+
+        assertNotNull(getBean(Unused.class));
+        assertNotNull(getBean(UsedOnlyByUnused.class));
+    }
+
+
+    public static class UnusedBeanIdCollector implements Extension
+    {
+        private String unusedBeanId;
+
+        void collect(@Observes ProcessManagedBean<Unused> event)
+        {
+            unusedBeanId = ((PassivationCapable) event.getBean()).getId();
+        }
+    }
+
+    public static class Unused
+    {
+        @Inject
+        private UsedOnlyByUnused usedOnlyByUnused;
+    }
+
+    public static class UsedOnlyByUnused
+    {
+    }
+
+    @ApplicationScoped
+    public static class Root
+    {
+        @Inject
+        private Injected injected;
+
+        @Inject
+        private Instance<LookedUp> lookup;
+
+        public void init(@Observes @Initialized(ApplicationScoped.class) Object init)
+        {
+            // observer methods keep their owner
+        }
+
+        public Injected getInjected()
+        {
+            return injected;
+        }
+
+        public LookedUp lookup()
+        {
+            return lookup.get();
+        }
+    }
+
+    public static class Injected
+    {
+        @Inject
+        private Transitive transitive;
+
+        public Transitive getTransitive()
+        {
+            return transitive;
+        }
+    }
+
+    public static class Transitive
+    {
+        public String value()
+        {
+            return "transitive";
+        }
+    }
+
+    public static class LookedUp
+    {
+        public String value()
+        {
+            return "lookedUp";
+        }
+    }
+
+    @Named
+    public static class NamedBean
+    {
+    }
+
+    public static class ProducerOwner
+    {
+        @Produces
+        public StringBuilder produce()
+        {
+            return new StringBuilder();
+        }
+    }
+
+    @Unremovable
+    public static class KeptByAnnotation
+    {
+    }
+
+    public static class KeptByConfig
+    {
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.ProcessAnnotatedType;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.StartupProfiler;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StartupProfilerTest extends AbstractUnitTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void writesReport() throws Exception
+    {
+        File report = new File(temp.getRoot(), "profile/startup.json");
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILER, "true");
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILER_REPORT, report.getAbsolutePath());
+        addExtension(new CountingExtension());
+        startContainer(SomeBean.class);
+
+        assertTrue(report.isFile());
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json.contains("{\"name\": \"beforeBeanDiscovery\""));
+        assertTrue(json.contains("{\"name\": \"processAnnotatedTypes\""));
+        assertTrue(json.contains("{\"name\": \"afterDeploymentValidation\""));
+        assertTrue(json.contains("{\"event\": \"ProcessAnnotatedType\", \"observer\": \""
+                + CountingExtension.class.getName() + "#pat\", \"count\": 1,"));
+
+        String summary = getWebBeansContext().getStartupProfiler().toSummary();
+        assertTrue(summary, summary.contains(CountingExtension.class.getName() + "#pat(ProcessAnnotatedType x1)"));
+    }
+
+    @Test
+    public void disabled()
+    {
+        StartupProfiler profiler = new StartupProfiler(false, null);
+        profiler.startPhase("phase");
+        profiler.archiveScanned("some.jar", 100);
+        profiler.endPhase();
+
+        assertFalse(profiler.isEnabled());
+        assertEquals("{\n  \"phases\": [\n  ],\n  \"observers\": [\n  ],\n  \"archives\": [\n  ]\n}\n", profiler.toJson());
+    }
+
+    @Test
+    public void phasesAndArchives()
+    {
+        StartupProfiler profiler = new StartupProfiler(true, null);
+        profiler.startPhase("first");
+        profiler.startPhase("second");
+        profiler.startPhase("first");
+        profiler.endPhase();
+        profiler.archiveScanned("small \"quoted\".jar", 1_000_000);
+        profiler.archiveScanned("big.jar", 5_000_000);
+
+        String json = profiler.toJson();
+        assertTrue(json.contains("{\"name\": \"first\", \"count\": 2,"));
+        assertTrue(json.contains("{\"name\": \"second\", \"count\": 1,"));
+        assertTrue(json.indexOf("big.jar") < json.indexOf("small \\\"quoted\\\".jar"));
+        assertTrue(profiler.toSummary().endsWith("slowest archives: big.jar=5ms small \"quoted\".jar=1ms"));
+    }
+
+
+    public static class CountingExtension implements Extension
+    {
+        void pat(@Observes ProcessAnnotatedType<SomeBean> pat)
+        {
+            // only needs to get measured
+        }
+    }
+
+    @ApplicationScoped
+    public static class SomeBean
+    {
+    }
+}
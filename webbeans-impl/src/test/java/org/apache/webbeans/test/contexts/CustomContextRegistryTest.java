@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.NormalScope;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.apache.webbeans.context.ActivationAwareContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CustomContextRegistryTest extends AbstractUnitTest
+{
+    @Test
+    public void testActivationAwareContext()
+    {
+        TenantContext context = new TenantContext();
+        addExtension(new TenantExtension(context));
+        startContainer(TenantBean.class);
+
+        TenantBean bean = getInstance(TenantBean.class);
+        Assert.assertEquals("tenant", bean.getName());
+
+        int isActiveCalls = context.isActiveCalls.get();
+        for (int i = 0; i < 100; i++)
+        {
+            Assert.assertEquals("tenant", bean.getName());
+        }
+        Assert.assertEquals(isActiveCalls, context.isActiveCalls.get());
+
+        context.setActive(false);
+        try
+        {
+            bean.getName();
+            Assert.fail("ContextNotActiveException expected");
+        }
+        catch (ContextNotActiveException expected)
+        {
+            // all fine
+        }
+
+        context.setActive(true);
+        Assert.assertEquals("tenant", bean.getName());
+    }
+
+    @Test
+    public void testMultipleContextsForScope()
+    {
+        BatchContext first = new BatchContext();
+        BatchContext second = new BatchContext();
+        addExtension(new BatchExtension(first, second));
+        startContainer();
+
+        first.active = true;
+        Assert.assertSame(first, getBeanManager().getContext(BatchScoped.class));
+        Assert.assertSame(first, getBeanManager().getContext(BatchScoped.class));
+
+        first.active = false;
+        second.active = true;
+        Assert.assertSame(second, getBeanManager().getContext(BatchScoped.class));
+
+        first.active = true;
+        try
+        {
+            getBeanManager().getContext(BatchScoped.class);
+            Assert.fail("IllegalStateException expected");
+        }
+        catch (IllegalStateException expected)
+        {
+            // both got resolved
+        }
+    }
+
+
+    @NormalScope
+    @Target({TYPE, METHOD})
+    @Retention(RUNTIME)
+    public @interface TenantScoped
+    {
+    }
+
+    @NormalScope
+    @Target({TYPE, METHOD})
+    @Retention(RUNTIME)
+    public @interface BatchScoped
+    {
+    }
+
+    @TenantScoped
+    public static class TenantBean
+    {
+        public String getName()
+        {
+            return "tenant";
+        }
+    }
+
+    public static class TenantExtension implements Extension
+    {
+        private final Context context;
+
+        public TenantExtension(Context context)
+        {
+            this.context = context;
+        }
+
+        public void addContext(@Observes AfterBeanDiscovery afterBeanDiscovery)
+        {
+            afterBeanDiscovery.addContext(context);
+        }
+    }
+
+    public static class BatchExtension implements Extension
+    {
+        private final Context[] contexts;
+
+        public BatchExtension(Context... contexts)
+        {
+            this.contexts = contexts;
+        }
+
+        public void addContexts(@Observes AfterBeanDiscovery afterBeanDiscovery)
+        {
+            for (Context context : contexts)
+            {
+                afterBeanDiscovery.addContext(context);
+            }
+        }
+    }
+
+    public abstract static class MapContext implements Context
+    {
+        private final Map<Contextual<?>, Object> instances = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext)
+        {
+            return (T) instances.computeIfAbsent(contextual, c -> contextual.create(creationalContext));
+        }
+
+        @Override
+        public <T> T get(Contextual<T> contextual)
+        {
+            return (T) instances.get(contextual);
+        }
+    }
+
+    public static class TenantContext extends MapContext implements ActivationAwareContext
+    {
+        private final AtomicInteger isActiveCalls = new AtomicInteger();
+        private volatile boolean active = true;
+        private Runnable listener;
+
+        @Override
+        public void addActivationListener(Runnable listener)
+        {
+            this.listener = listener;
+        }
+
+        public void setActive(boolean active)
+        {
+            this.active = active;
+            listener.run();
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope()
+        {
+            return TenantScoped.class;
+        }
+
+        @Override
+        public boolean isActive()
+        {
+            isActiveCalls.incrementAndGet();
+            return active;
+        }
+    }
+
+    public static class BatchContext extends MapContext
+    {
+        private volatile boolean active;
+
+        @Override
+        public Class<? extends Annotation> getScope()
+        {
+            return BatchScoped.class;
+        }
+
+        @Override
+        public boolean isActive()
+        {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.plan;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.CreationException;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.InjectionTarget;
+import jakarta.inject.Inject;
+
+import org.apache.webbeans.component.InjectionTargetBean;
+import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the compiled InjectionPlan, which gets used once the container started,
+ * behaves exactly like the reflective injection used during the startup.
+ */
+public class InjectionPlanTest extends AbstractUnitTest
+{
+    @Test
+    public void testPrivateAndInheritedInjectionPoints()
+    {
+        startContainer(Dependency.class, OtherDependency.class, SubBean.class);
+
+        for (SubBean bean : new SubBean[]{createReflective(SubBean.class), getInstance(SubBean.class)})
+        {
+            Assert.assertNotNull(bean.getBaseDependency());
+            Assert.assertNotNull(bean.getSubDependency());
+            Assert.assertNotNull(bean.getBaseOther());
+            Assert.assertNotNull(bean.getSubOther());
+            Assert.assertNotNull(bean.getSubOtherViaConstructor());
+
+            // superclass first and within a class all fields before all methods
+            Assert.assertEquals(List.of("BaseBean#init", "SubBean#init"), bean.getCalls());
+        }
+    }
+
+    @Test
+    public void testGenericInjectionPoints()
+    {
+        startContainer(StringHolder.class, IntegerHolder.class, GenericBean.class);
+
+        for (GenericBean bean : new GenericBean[]{createReflective(GenericBean.class), getInstance(GenericBean.class)})
+        {
+            Assert.assertEquals("string", bean.getStringHolder().get());
+            Assert.assertEquals(Integer.valueOf(42), bean.getInheritedHolder().get());
+            Assert.assertEquals(Integer.valueOf(42), bean.getInitializerHolder().get());
+        }
+    }
+
+    @Test
+    public void testExceptionFromConstructor()
+    {
+        startContainer(Dependency.class, ThrowingConstructorBean.class, PrivateThrowingConstructorBean.class);
+
+        assertInvocationFailure(ThrowingConstructorBean.class, IllegalStateException.class);
+        assertInvocationFailure(PrivateThrowingConstructorBean.class, IOException.class);
+
+        try
+        {
+            getInstance(ThrowingConstructorBean.class);
+            Assert.fail("IllegalStateException expected");
+        }
+        catch (IllegalStateException e)
+        {
+            Assert.assertEquals("constructor", e.getMessage());
+        }
+        try
+        {
+            getInstance(PrivateThrowingConstructorBean.class);
+            Assert.fail("CreationException expected");
+        }
+        catch (CreationException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testExceptionFromInitializer()
+    {
+        startContainer(Dependency.class, ThrowingInitializerBean.class);
+
+        assertInvocationFailure(ThrowingInitializerBean.class, IOException.class);
+
+        try
+        {
+            getInstance(ThrowingInitializerBean.class);
+            Assert.fail("CreationException expected");
+        }
+        catch (CreationException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+            Assert.assertEquals("initializer", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Both the reflective and the compiled path must wrap the exception of the invoked
+     * constructor or initializer into a WebBeansException with an InvocationTargetException.
+     */
+    private <T> void assertInvocationFailure(Class<T> beanClass, Class<? extends Throwable> expected)
+    {
+        InjectionTarget<T> injectionTarget = ((InjectionTargetBean<T>) getBean(beanClass)).getProducer();
+        InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+        for (boolean startup : new boolean[]{true, false})
+        {
+            injectionResolver.setStartup(startup);
+            try
+            {
+                CreationalContext<T> creationalContext = getBeanManager().createCreationalContext(null);
+                T instance = injectionTarget.produce(creationalContext);
+                injectionTarget.inject(instance, creationalContext);
+                Assert.fail(expected.getName() + " expected");
+            }
+            catch (WebBeansException e)
+            {
+                Assert.assertTrue(e.getCause() instanceof InvocationTargetException);
+                Assert.assertTrue(expected.isInstance(e.getCause().getCause()));
+            }
+            finally
+            {
+                injectionResolver.setStartup(false);
+            }
+        }
+    }
+
+    /**
+     * Creates the instance while pretending to still start up, which uses the reflective injection.
+     */
+    private <T> T createReflective(Class<T> beanClass)
+    {
+        InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+        injectionResolver.setStartup(true);
+        try
+        {
+            return getInstance(beanClass);
+        }
+        finally
+        {
+            injectionResolver.setStartup(false);
+        }
+    }
+
+    public static class Dependency
+    {
+    }
+
+    public static class OtherDependency
+    {
+    }
+
+    public static class BaseBean
+    {
+        protected final List<String> calls = new ArrayList<>();
+
+        @Inject
+        private Dependency dependency;
+
+        private OtherDependency other;
+
+        @Inject
+        private void init(OtherDependency other)
+        {
+            Assert.assertNotNull(dependency);
+            this.other = other;
+            calls.add("BaseBean#init");
+        }
+
+        public Dependency getBaseDependency()
+        {
+            return dependency;
+        }
+
+        public OtherDependency getBaseOther()
+        {
+            return other;
+        }
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+    }
+
+    public static class SubBean extends BaseBean
+    {
+        private final OtherDependency otherViaConstructor;
+
+        @Inject
+        private Dependency dependency;
+
+        @Inject
+        private OtherDependency other;
+
+        @Inject
+        private SubBean(OtherDependency other)
+        {
+            otherViaConstructor = other;
+        }
+
+        @Inject
+        private void init()
+        {
+            Assert.assertNotNull(dependency);
+            Assert.assertNotNull(getBaseOther());
+            calls.add("SubBean#init");
+        }
+
+        public Dependency getSubDependency()
+        {
+            return dependency;
+        }
+
+        public OtherDependency getSubOther()
+        {
+            return other;
+        }
+
+        public OtherDependency getSubOtherViaConstructor()
+        {
+            return otherViaConstructor;
+        }
+    }
+
+    public interface Holder<T>
+    {
+        T get();
+    }
+
+    public static class StringHolder implements Holder<String>
+    {
+        @Override
+        public String get()
+        {
+            return "string";
+        }
+    }
+
+    public static class IntegerHolder implements Holder<Integer>
+    {
+        @Override
+        public Integer get()
+        {
+            return 42;
+        }
+    }
+
+    public abstract static class GenericBase<T>
+    {
+        @Inject
+        private Holder<T> inheritedHolder;
+
+        public Holder<T> getInheritedHolder()
+        {
+            return inheritedHolder;
+        }
+    }
+
+    public static class GenericBean extends GenericBase<Integer>
+    {
+        @Inject
+        private Holder<String> stringHolder;
+
+        private Holder<Integer> initializerHolder;
+
+        @Inject
+        public void init(Holder<Integer> holder)
+        {
+            initializerHolder = holder;
+        }
+
+        public Holder<String> getStringHolder()
+        {
+            return stringHolder;
+        }
+
+        public Holder<Integer> getInitializerHolder()
+        {
+            return initializerHolder;
+        }
+    }
+
+    public static class ThrowingConstructorBean
+    {
+        @Inject
+        public ThrowingConstructorBean(Dependency dependency)
+        {
+            throw new IllegalStateException("constructor");
+        }
+    }
+
+    public static class PrivateThrowingConstructorBean
+    {
+        @Inject
+        private PrivateThrowingConstructorBean(Dependency dependency) throws IOException
+        {
+            throw new IOException("constructor");
+        }
+    }
+
+    public static class ThrowingInitializerBean
+    {
+        @Inject
+        private void init(Dependency dependency) throws IOException
+        {
+            throw new IOException("initializer");
+        }
+    }
+}
@@ -21,21 +21,29 @@ package org.apache.webbeans.test.interceptors.factory;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Properties;
 import java.util.Set;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.intercept.webbeans.TransactionalInterceptor;
+import org.apache.webbeans.test.component.intercept.webbeans.bindings.Transactional;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 
@@ -131,6 +139,69 @@ public class InterceptorDecoratorProxyFactoryTest extends AbstractUnitTest
         Assert.assertNotNull(internalInstance.newInstance()); 
     }
 
+    @Test
+    public void testFinalFieldProxyCreation() throws Exception
+    {
+        Properties config = new Properties();
+        config.setProperty(OpenWebBeansConfiguration.PROXY_FINAL_FIELDS, "true");
+        InterceptorDecoratorProxyFactory pf = new InterceptorDecoratorProxyFactory(new WebBeansContext(Collections.emptyMap(), config));
+
+        // we take a fresh URLClassLoader to not blur the test classpath with synthetic classes.
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+
+        List<Method> methods = ClassUtil.getNonPrivateMethods(ClassInterceptedClass.class, true);
+        Method[] interceptedMethods = methods.toArray(new Method[methods.size()]);
+
+        Class<ClassInterceptedClass> proxyClass = pf.createProxyClass(new DummyBean(), classLoader, ClassInterceptedClass.class, interceptedMethods, null);
+        Assert.assertTrue(Modifier.isFinal(proxyClass.getDeclaredField(InterceptorDecoratorProxyFactory.FIELD_INTERCEPTOR_HANDLER).getModifiers()));
+        Assert.assertTrue(Modifier.isFinal(proxyClass.getDeclaredField(InterceptorDecoratorProxyFactory.FIELD_PROXIED_INSTANCE).getModifiers()));
+
+        ClassInterceptedClass internalInstance = new ClassInterceptedClass();
+        internalInstance.init();
+
+        TestInterceptorHandler testInvocationHandler = new TestInterceptorHandler(internalInstance);
+
+        ClassInterceptedClass proxy = pf.createProxyInstance(proxyClass, internalInstance, testInvocationHandler);
+        proxy.setMeaningOfLife(42);
+
+        Assert.assertEquals(42, proxy.getMeaningOfLife());
+        Assert.assertEquals(internalInstance, proxy.getSelf());
+        Assert.assertSame(internalInstance, pf.unwrapInstance(proxy));
+        Assert.assertSame(testInvocationHandler, pf.getInterceptorHandler((OwbInterceptorProxy) proxy));
+        Assert.assertEquals(3, testInvocationHandler.invokedMethodNames.size());
+    }
+
+    @Test
+    public void testInterceptedBeanWithoutFinalFields() throws Exception
+    {
+        assertInterceptedBean(false);
+    }
+
+    @Test
+    public void testInterceptedBeanWithFinalFields() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_FINAL_FIELDS, "true");
+        assertInterceptedBean(true);
+    }
+
+    private void assertInterceptedBean(boolean finalFields) throws Exception
+    {
+        addInterceptor(CountingInterceptor.class);
+        startContainer(InterceptedBean.class, CountingInterceptor.class);
+
+        InterceptedBean instance = getInstance(InterceptedBean.class);
+        Class<?> proxyClass = instance.getClass();
+        Assert.assertEquals(finalFields,
+                Modifier.isFinal(proxyClass.getDeclaredField(InterceptorDecoratorProxyFactory.FIELD_INTERCEPTOR_HANDLER).getModifiers()));
+        Assert.assertEquals(finalFields,
+                Modifier.isFinal(proxyClass.getDeclaredField(InterceptorDecoratorProxyFactory.FIELD_PROXIED_INSTANCE).getModifiers()));
+
+        CountingInterceptor.invocations = 0;
+        Assert.assertEquals("hello owb", instance.greet("owb"));
+        Assert.assertEquals(1, CountingInterceptor.invocations);
+        Assert.assertSame(InterceptedBean.class, getWebBeansContext().getInterceptorDecoratorProxyFactory().unwrapInstance(instance).getClass());
+    }
+
     /**
      * We originally did have a bug in our proxy code which
      * blew up if we did have > 127 methods in an intercepted class.
@@ -153,6 +224,29 @@ public class InterceptorDecoratorProxyFactoryTest extends AbstractUnitTest
 
 
 
+    @Transactional
+    public static class InterceptedBean
+    {
+        public String greet(String name)
+        {
+            return "hello " + name;
+        }
+    }
+
+    @Interceptor
+    @Transactional
+    public static class CountingInterceptor
+    {
+        private static int invocations;
+
+        @AroundInvoke
+        public Object count(InvocationContext context) throws Exception
+        {
+            invocations++;
+            return context.proceed();
+        }
+    }
+
     public static class DummyBean implements Bean {
         @Override
         public Object create(CreationalContext context)
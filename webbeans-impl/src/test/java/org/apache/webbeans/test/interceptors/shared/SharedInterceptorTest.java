@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.shared;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InterceptorBinding;
+import jakarta.interceptor.InvocationContext;
+
+import org.apache.webbeans.annotation.SharedInterceptor;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansDeploymentException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SharedInterceptorTest extends AbstractUnitTest
+{
+    @Test
+    public void testSharedInstance()
+    {
+        startContainer(Tracked.class, TrackingInterceptor.class, Tracker.class);
+
+        Tracked first = getInstance(Tracked.class);
+        Tracked second = getInstance(Tracked.class);
+        Assert.assertNotSame(first, second);
+
+        first.ping();
+        second.ping();
+
+        List<Object> interceptors = getInstance(Tracker.class).getInterceptors();
+        Assert.assertEquals(2, interceptors.size());
+        Assert.assertSame(interceptors.get(0), interceptors.get(1));
+    }
+
+    @Test
+    public void testConfiguredSharedInstance()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SHARED_INTERCEPTORS, ConfiguredInterceptor.class.getName());
+        startContainer(Configured.class, ConfiguredInterceptor.class, Tracker.class);
+
+        getInstance(Configured.class).ping();
+        getInstance(Configured.class).ping();
+
+        List<Object> interceptors = getInstance(Tracker.class).getInterceptors();
+        Assert.assertEquals(2, interceptors.size());
+        Assert.assertSame(interceptors.get(0), interceptors.get(1));
+    }
+
+    @Test
+    public void testNotSharedPerDefault()
+    {
+        startContainer(Configured.class, ConfiguredInterceptor.class, Tracker.class);
+
+        getInstance(Configured.class).ping();
+        getInstance(Configured.class).ping();
+
+        List<Object> interceptors = getInstance(Tracker.class).getInterceptors();
+        Assert.assertEquals(2, interceptors.size());
+        Assert.assertNotSame(interceptors.get(0), interceptors.get(1));
+    }
+
+    @Test
+    public void testStatefulInterceptor()
+    {
+        assertDeploymentFails(Stateful.class, StatefulInterceptor.class);
+    }
+
+    @Test
+    public void testDependentInjection()
+    {
+        assertDeploymentFails(Stateful.class, DependentInjectingInterceptor.class, DependentHelper.class);
+    }
+
+    @Test
+    public void testSharingWithoutValidation()
+    {
+        addConfiguration("org.apache.webbeans.spi.deployer.skipValidations", "true");
+        startContainer(Tracked.class, TrackingInterceptor.class, Tracker.class, Stateful.class, StatefulInterceptor.class);
+
+        // the stateful one doesn't fail the deployment, but must not get shared either
+        Assert.assertTrue(isSharedInterceptor(TrackingInterceptor.class));
+        Assert.assertFalse(isSharedInterceptor(StatefulInterceptor.class));
+
+        getInstance(Tracked.class).ping();
+        getInstance(Tracked.class).ping();
+        getInstance(Stateful.class).ping();
+
+        List<Object> interceptors = getInstance(Tracker.class).getInterceptors();
+        Assert.assertEquals(2, interceptors.size());
+        Assert.assertSame(interceptors.get(0), interceptors.get(1));
+    }
+
+    private boolean isSharedInterceptor(Class<?> interceptorClass)
+    {
+        for (jakarta.enterprise.inject.spi.Interceptor<?> interceptor : getWebBeansContext().getInterceptorsManager().getCdiInterceptors())
+        {
+            if (interceptor.getBeanClass() == interceptorClass)
+            {
+                return getWebBeansContext().getInterceptorResolutionService().isSharedInterceptor(interceptor);
+            }
+        }
+        throw new IllegalArgumentException("no interceptor " + interceptorClass);
+    }
+
+    private void assertDeploymentFails(Class<?>... classes)
+    {
+        try
+        {
+            startContainer(classes);
+            Assert.fail("WebBeansDeploymentException expected");
+        }
+        catch (RuntimeException e)
+        {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof WebBeansDeploymentException))
+            {
+                cause = cause.getCause();
+            }
+            Assert.assertNotNull(cause);
+            Assert.assertTrue(cause.getMessage(), cause.getMessage().startsWith("Shared interceptor"));
+        }
+    }
+
+
+    @InterceptorBinding
+    @Target({TYPE, METHOD})
+    @Retention(RUNTIME)
+    public @interface Tracking
+    {
+    }
+
+    @InterceptorBinding
+    @Target({TYPE, METHOD})
+    @Retention(RUNTIME)
+    public @interface Configuring
+    {
+    }
+
+    @InterceptorBinding
+    @Target({TYPE, METHOD})
+    @Retention(RUNTIME)
+    public @interface Stating
+    {
+    }
+
+    @ApplicationScoped
+    public static class Tracker
+    {
+        private final List<Object> interceptors = new ArrayList<>();
+
+        public void track(Object interceptor)
+        {
+            interceptors.add(interceptor);
+        }
+
+        public List<Object> getInterceptors()
+        {
+            return interceptors;
+        }
+    }
+
+    @Tracking
+    @Dependent
+    public static class Tracked
+    {
+        public void ping()
+        {
+            // only intercepted
+        }
+    }
+
+    @Configuring
+    @Dependent
+    public static class Configured
+    {
+        public void ping()
+        {
+            // only intercepted
+        }
+    }
+
+    @Stating
+    @Dependent
+    public static class Stateful
+    {
+        public void ping()
+        {
+            // only intercepted
+        }
+    }
+
+    @Tracking
+    @Interceptor
+    @SharedInterceptor
+    @Priority(100)
+    public static class TrackingInterceptor
+    {
+        @Inject
+        private Tracker tracker;
+
+        @Inject
+        private BeanManager beanManager;
+
+        @AroundInvoke
+        public Object track(InvocationContext context) throws Exception
+        {
+            tracker.track(this);
+            return context.proceed();
+        }
+    }
+
+    @Configuring
+    @Interceptor
+    @Priority(100)
+    public static class ConfiguredInterceptor
+    {
+        @Inject
+        private Tracker tracker;
+
+        @AroundInvoke
+        public Object track(InvocationContext context) throws Exception
+        {
+            tracker.track(this);
+            return context.proceed();
+        }
+    }
+
+    @Stating
+    @Interceptor
+    @SharedInterceptor
+    @Priority(100)
+    public static class StatefulInterceptor
+    {
+        private int invocations;
+
+        @AroundInvoke
+        public Object count(InvocationContext context) throws Exception
+        {
+            invocations++;
+            return context.proceed();
+        }
+    }
+
+    @Stating
+    @Interceptor
+    @SharedInterceptor
+    @Priority(100)
+    public static class DependentInjectingInterceptor
+    {
+        @Inject
+        private DependentHelper helper;
+
+        @AroundInvoke
+        public Object help(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Dependent
+    public static class DependentHelper
+    {
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.managed.specialized;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.Specializes;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+import jakarta.enterprise.inject.spi.ProcessProducerMethod;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SpecializedPassivationIdTest extends AbstractUnitTest
+{
+    @Test
+    public void specializedProducerIsNotPassivationCapableAnymore()
+    {
+        PassivationIdCollector idCollector = new PassivationIdCollector();
+        addExtension(idCollector);
+        startContainer(Producer.class, SpecializedProducer.class);
+
+        assertEquals("specialized", getInstance(String.class));
+
+        assertNotNull(idCollector.producerId);
+        assertNull(getBeanManager().getPassivationCapableBean(idCollector.producerId));
+        assertNotNull(idCollector.specializedProducerId);
+        assertNotNull(getBeanManager().getPassivationCapableBean(idCollector.specializedProducerId));
+    }
+
+    public static class PassivationIdCollector implements Extension
+    {
+        private String producerId;
+        private String specializedProducerId;
+
+        void collect(@Observes ProcessProducerMethod<String, ?> event)
+        {
+            Class<?> declaringClass = event.getAnnotatedProducerMethod().getJavaMember().getDeclaringClass();
+            if (declaringClass == Producer.class)
+            {
+                producerId = ((PassivationCapable) event.getBean()).getId();
+            }
+            else if (declaringClass == SpecializedProducer.class)
+            {
+                specializedProducerId = ((PassivationCapable) event.getBean()).getId();
+            }
+        }
+    }
+
+    public static class Producer
+    {
+        @Produces
+        public String name()
+        {
+            return "producer";
+        }
+    }
+
+    public static class SpecializedProducer extends Producer
+    {
+        @Produces
+        @Override
+        @Specializes
+        public String name()
+        {
+            return "specialized";
+        }
+    }
+}
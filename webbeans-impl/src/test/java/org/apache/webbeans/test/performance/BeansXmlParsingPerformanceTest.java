@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Test to benchmark reading lots of beans.xml files.
+ * The DOM numbers are the way beans.xml files got read before.
+ * The reading itself is covered by BeanArchiveServiceTest, thus this benchmark needs to get run by hand.
+ */
+@Ignore("benchmark, run by hand")
+public class BeansXmlParsingPerformanceTest
+{
+    private static final Logger logger = Logger.getLogger(BeansXmlParsingPerformanceTest.class.getName());
+
+    private static final int ITERATIONS = 20000;
+
+    private static final byte[] BEANS_XML = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\"\n" +
+            "       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
+            "       xsi:schemaLocation=\"https://jakarta.ee/xml/ns/jakartaee https://jakarta.ee/xml/ns/jakartaee/beans_4_0.xsd\"\n" +
+            "       version=\"4.0\" bean-discovery-mode=\"all\">\n" +
+            "  <interceptors>\n" +
+            "    <class>org.acme.LoggingInterceptor</class>\n" +
+            "  </interceptors>\n" +
+            "  <scan>\n" +
+            "    <exclude name=\"org.acme.internal.**\"/>\n" +
+            "  </scan>\n" +
+            "</beans>\n").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * original times for reading 20000 beans.xml files
+     * DOM per file: 2128,2048 (only building the DOM, without reading it)
+     * StAX: 617,688
+     */
+    @Test
+    public void testBeansXmlParsingPerformance() throws Exception
+    {
+        BeansXmlReader reader = new BeansXmlReader();
+
+        // warm up
+        for (int i = 0; i < 1000; i++)
+        {
+            reader.parseDom();
+            reader.parse();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            reader.parseDom();
+        }
+        long end = System.nanoTime();
+        logger.info("Parsing " + ITERATIONS + " beans.xml files into a DOM took " + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms");
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            BeanArchiveInformation bai = reader.parse();
+            Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+        }
+        end = System.nanoTime();
+        logger.info("Reading " + ITERATIONS + " beans.xml files via StAX took " + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms");
+    }
+
+    private static final class BeansXmlReader extends DefaultBeanArchiveService
+    {
+        private BeanArchiveInformation parse() throws Exception
+        {
+            return readBeansXml(new ByteArrayInputStream(BEANS_XML), "beans.xml");
+        }
+
+        /**
+         * Same as the former DOM based reading, a new factory per file.
+         */
+        private void parseDom() throws Exception
+        {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setCoalescing(false);
+            factory.setExpandEntityReferences(true);
+            factory.setIgnoringComments(true);
+            factory.setIgnoringElementContentWhitespace(true);
+            factory.setNamespaceAware(true);
+            factory.setValidating(false);
+            Assert.assertNotNull(factory.newDocumentBuilder().parse(new ByteArrayInputStream(BEANS_XML)).getDocumentElement());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test to benchmark registering and destroying lots of &#0064;Dependent
+ * instances in a single CreationalContext.
+ */
+public class DependentInstancePerformanceTest extends AbstractUnitTest
+{
+    private static final Logger logger = Logger.getLogger(DependentInstancePerformanceTest.class.getName());
+
+    // tune up to larger values to make the quadratic behaviour more visible, e.g. 100000
+    private static final int DEPENDENT_INSTANCES = 20000;
+
+    /**
+     * original times with 20000 instances in a single CreationalContext
+     * started with 1717,1234 (linear containsDependent scan on each destroy)
+     * after identity keyed dependent tracking: 458,518
+     */
+    @Test
+    public void testDependentInstancePerformance()
+    {
+        startContainer(Handler.class);
+        BeanManager bm = getBeanManager();
+        Bean<Handler> bean = getBean(Handler.class);
+        Handler.DESTROYED.set(0);
+
+        long start = System.nanoTime();
+        CreationalContextImpl<?> creationalContext = (CreationalContextImpl<?>) bm.createCreationalContext(null);
+        List<Handler> handlers = new ArrayList<>(DEPENDENT_INSTANCES);
+        for (int i = 0; i < DEPENDENT_INSTANCES; i++)
+        {
+            handlers.add((Handler) bm.getReference(bean, Handler.class, creationalContext));
+        }
+
+        Assert.assertEquals(0, Handler.DESTROYED.get());
+
+        creationalContext.release();
+        long end = System.nanoTime();
+
+        Assert.assertEquals(DEPENDENT_INSTANCES, Handler.DESTROYED.get());
+        logger.info("Creating and destroying " + DEPENDENT_INSTANCES + " dependent instances took ms: "
+                + TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
+
+
+    @Dependent
+    public static class Handler
+    {
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        @PreDestroy
+        public void destroy()
+        {
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
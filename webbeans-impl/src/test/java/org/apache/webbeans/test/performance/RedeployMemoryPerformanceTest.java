@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.proxy.ProxyRegistry;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.service.HiddenClassProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Test to benchmark the metaspace which stays allocated by proxy classes
+ * after the container got started and stopped over and over again.
+ * The metaspace benchmarks depend on System.gc(), thus they need to get run by hand.
+ * The regular test only checks that no proxy ClassLoader survives the redeployments.
+ */
+public class RedeployMemoryPerformanceTest extends AbstractUnitTest
+{
+    private static final Logger logger = Logger.getLogger(RedeployMemoryPerformanceTest.class.getName());
+
+    private static final int REDEPLOYMENTS = 200;
+
+    @Test
+    public void testNoProxyClassLoaderLeak()
+    {
+        List<ProxyRegistry> registries = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            registries.add(deploy(ClassLoaderProxyService.class));
+        }
+
+        for (ProxyRegistry proxyRegistry : registries)
+        {
+            Assert.assertEquals(proxyRegistry.awaitClassLoadersUnreachable(10000L).toString(), 0, proxyRegistry.getProxyClassLoaderCount());
+        }
+    }
+
+    /**
+     * original metaspace growth in kB with 200 redeployments
+     * proxies defined via Unsafe in the bean ClassLoader: 1761,1772
+     */
+    @Test
+    @Ignore("benchmark, run by hand")
+    public void testRedeployDefaultProxies()
+    {
+        redeploy("Unsafe", null);
+    }
+
+    /**
+     * original metaspace growth in kB with 200 redeployments
+     * proxies defined in a ProxiesClassLoader per deployment: 1504,1500
+     */
+    @Test
+    @Ignore("benchmark, run by hand")
+    public void testRedeployClassLoaderProxies()
+    {
+        redeploy("ClassLoaderProxyService", ClassLoaderProxyService.class);
+    }
+
+    /**
+     * original metaspace growth in kB with 200 redeployments
+     * proxies defined as hidden classes: 162,144
+     */
+    @Test
+    @Ignore("benchmark, run by hand")
+    public void testRedeployHiddenClassProxies()
+    {
+        Assume.assumeTrue(HiddenClassProxyService.isHiddenClassSupported());
+        redeploy("HiddenClassProxyService", HiddenClassProxyService.class);
+    }
+
+    private void redeploy(String strategy, Class<? extends DefiningClassService> definingClassService)
+    {
+        MemoryPoolMXBean metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> "Metaspace".equals(pool.getName()))
+                .findFirst()
+                .orElse(null);
+        Assume.assumeNotNull(metaspace);
+
+        // warm up, so that OWB itself is fully loaded
+        deploy(definingClassService);
+        long before = usedAfterGc(metaspace);
+
+        for (int i = 0; i < REDEPLOYMENTS; i++)
+        {
+            deploy(definingClassService);
+        }
+        long after = usedAfterGc(metaspace);
+
+        logger.info("Metaspace growth after " + REDEPLOYMENTS + " redeployments with " + strategy + " in kB: " + (after - before) / 1024);
+    }
+
+    private ProxyRegistry deploy(Class<? extends DefiningClassService> definingClassService)
+    {
+        if (definingClassService != null)
+        {
+            addConfiguration(DefiningClassService.class.getName(), definingClassService.getName());
+        }
+        startContainer(RequestBean.class, ApplicationBean.class);
+        Assert.assertEquals("request", getInstance(RequestBean.class).getName());
+        Assert.assertEquals("application", getInstance(ApplicationBean.class).getName());
+
+        ProxyRegistry proxyRegistry = getWebBeansContext().getProxyRegistry();
+        Assert.assertTrue(proxyRegistry.getProxyClassCount() > 0);
+        shutDownContainer();
+        Assert.assertEquals(0, proxyRegistry.getProxyClassCount());
+        return proxyRegistry;
+    }
+
+    private static long usedAfterGc(MemoryPoolMXBean metaspace)
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return metaspace.getUsage().getUsed();
+    }
+
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        public String getName()
+        {
+            return "request";
+        }
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+        public String getName()
+        {
+            return "application";
+        }
+    }
+}
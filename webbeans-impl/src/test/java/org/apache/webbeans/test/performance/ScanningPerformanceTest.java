@@ -0,0 +1,404 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Logger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
+import org.apache.webbeans.corespi.scanner.ScanExclusionMatcher;
+import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
+import org.apache.webbeans.corespi.scanner.xbean.CdiArchiveTest;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ScanCache;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.util.ClassResolutionCache;
+import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.Opcodes;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test to benchmark the bytecode scanning of a synthetic classpath with lots of jars.
+ * Those benchmarks take a while and only log their timings, thus they need to get run by hand.
+ */
+@Ignore("benchmark, run by hand")
+public class ScanningPerformanceTest
+{
+    private static final Logger logger = Logger.getLogger(ScanningPerformanceTest.class.getName());
+
+    private static final int JARS = 100;
+    private static final int CLASSES_PER_JAR = 200;
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * original times and allocations of the scanning thread with 100 jars a 200 classes and 5 iterations
+     * JarFile: 4569ms 1004MB, 4115ms 1004MB
+     * memory-mapped: 2824ms 860MB, 2667ms 860MB (most of the rest gets allocated by the AnnotationFinder)
+     */
+    @Test
+    public void testMappedJarScanningPerformance() throws Exception
+    {
+        Map<String, URL> urls = CdiArchiveTest.createJars(temp.newFolder(), JARS, CLASSES_PER_JAR);
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            // warm up
+            scan(loader, urls, false);
+            scan(loader, urls, true);
+
+            for (boolean mapped : new boolean[]{false, true})
+            {
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++)
+                {
+                    scan(loader, urls, mapped);
+                }
+                long end = System.nanoTime();
+                long allocated = allocatedBytes() - allocatedBefore;
+                logger.info("Scanning " + JARS + " jars " + ITERATIONS + " times " + (mapped ? "memory-mapped" : "via JarFile") + " took "
+                        + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms and allocated " + allocated / 1024 / 1024 + " MB");
+            }
+        }
+    }
+
+    /**
+     * original times with 100 jars a 200 classes and 5 iterations
+     * scanning: 3064,3681
+     * restored from the ScanCache: 715,741
+     */
+    @Test
+    public void testScanCachePerformance() throws Exception
+    {
+        Map<String, URL> urls = CdiArchiveTest.createJars(temp.newFolder(), JARS, CLASSES_PER_JAR);
+        ScanCache scanCache = new ScanCache(temp.newFolder().toPath());
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            // warm up and fill the cache
+            scan(loader, urls, null);
+            scan(loader, urls, scanCache);
+
+            for (ScanCache cache : new ScanCache[]{null, scanCache})
+            {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++)
+                {
+                    scan(loader, urls, cache);
+                }
+                long end = System.nanoTime();
+                logger.info("Scanning " + JARS + " jars " + ITERATIONS + " times " + (cache == null ? "without" : "with") + " cache took "
+                        + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms");
+            }
+        }
+    }
+
+    /**
+     * original times, loaded classes and metaspace with 20 jars a 200 beans and 200 interfaces in bean-discovery-mode all
+     * loading all classes: 2093ms 8428 classes 13MB, 1781ms 8429 classes 13MB (includes the warm up of the scanner)
+     * skipping non bean classes: 971ms 4002 classes 8MB, 763ms 4001 classes 8MB
+     */
+    @Test
+    public void testSkipNonBeanClassesPerformance() throws Exception
+    {
+        int jars = 20;
+        Map<String, URL> urls = createJarsWithInterfaces(temp.newFolder(), jars, CLASSES_PER_JAR);
+        for (boolean skip : new boolean[]{false, true})
+        {
+            // get rid of the classes of the previous run
+            System.gc();
+            ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+            long loadedBefore = classLoading.getTotalLoadedClassCount();
+            long metaspaceBefore = usedMetaspace();
+            long start = System.nanoTime();
+
+            Collection<Set<Class<?>>> beanClasses = loadBeanClasses(urls, skip);
+
+            long end = System.nanoTime();
+            long loaded = classLoading.getTotalLoadedClassCount() - loadedBefore;
+            long metaspace = usedMetaspace() - metaspaceBefore;
+            Assert.assertEquals(jars * CLASSES_PER_JAR * (skip ? 1 : 2), beanClasses.stream().mapToInt(Set::size).sum());
+            logger.info("Discovering " + jars + " jars " + (skip ? "skipping" : "loading") + " non bean classes took "
+                    + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms, loaded " + loaded + " classes and "
+                    + metaspace / 1024 / 1024 + " MB metaspace");
+        }
+    }
+
+    /**
+     * original times for matching 1000 classpath entries 1000 times against the default exclusions plus scan-exclusions.txt
+     * indexOf per exclusion: 7136,6920
+     * ScanExclusionMatcher: 298,309
+     */
+    @Test
+    public void testScanExclusionPerformance() throws Exception
+    {
+        List<String> excludes = new ArrayList<>();
+        for (URL url : Collections.list(getClass().getClassLoader().getResources("META-INF/openwebbeans/openwebbeans.properties")))
+        {
+            Properties properties = new Properties();
+            try (InputStream in = url.openStream())
+            {
+                properties.load(in);
+            }
+            String exclusionPaths = properties.getProperty(OpenWebBeansConfiguration.SCAN_EXCLUSION_PATHS);
+            if (exclusionPaths != null)
+            {
+                for (String exclude : exclusionPaths.split(","))
+                {
+                    excludes.add(exclude.trim());
+                }
+            }
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                getClass().getClassLoader().getResourceAsStream("META-INF/openwebbeans/scan-exclusions.txt"), StandardCharsets.UTF_8)))
+        {
+            reader.lines().map(String::trim).filter(l -> !l.isEmpty() && !l.startsWith("#")).forEach(excludes::add);
+        }
+
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            paths.add("file:/home/user/.m2/repository/org/acme/module" + i + "/1.0." + i + "/module" + i + "-1.0." + i + ".jar");
+        }
+
+        ScanExclusionMatcher matcher = new ScanExclusionMatcher(excludes);
+        for (boolean compiled : new boolean[]{false, true})
+        {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < 1000; i++)
+            {
+                for (String path : paths)
+                {
+                    if ((compiled ? matcher.indexOf(path, 1) : indexOf(excludes, path)) > 0)
+                    {
+                        found++;
+                    }
+                }
+            }
+            long end = System.nanoTime();
+            Assert.assertEquals(0, found);
+            logger.info("Matching " + paths.size() + " paths against " + excludes.size() + " exclusions "
+                    + (compiled ? "with the ScanExclusionMatcher" : "via indexOf") + " took " + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms");
+        }
+    }
+
+    /**
+     * original times for looking up the package-info of 200 packages 50 times in a ClassLoader with 100 jars
+     * ClassLoader: 563,729
+     * ClassResolutionCache: 34,20
+     */
+    @Test
+    public void testClassResolutionCachePerformance() throws Exception
+    {
+        Map<String, URL> urls = CdiArchiveTest.createJars(temp.newFolder(), JARS, 1);
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            for (boolean cached : new boolean[]{false, true})
+            {
+                ClassResolutionCache cache = new ClassResolutionCache();
+                long start = System.nanoTime();
+                for (int i = 0; i < 50; i++)
+                {
+                    for (int p = 0; p < 200; p++)
+                    {
+                        String packageInfo = "org.apache.openwebbeans.generated.jar" + p + ".package-info";
+                        Assert.assertNull(cached ? cache.loadClass(packageInfo, loader) : loadClass(loader, packageInfo));
+                    }
+                }
+                long end = System.nanoTime();
+                logger.info("Looking up missing package-info classes " + (cached ? "with the ClassResolutionCache" : "in the ClassLoader") + " took "
+                        + TimeUnit.NANOSECONDS.toMillis(end - start) + " ms");
+            }
+        }
+    }
+
+    private static Class<?> loadClass(ClassLoader loader, String name)
+    {
+        try
+        {
+            return loader.loadClass(name);
+        }
+        catch (ClassNotFoundException e)
+        {
+            return null;
+        }
+    }
+
+    private static int indexOf(List<String> excludes, String path)
+    {
+        for (String exclude : excludes)
+        {
+            int i = path.indexOf(exclude);
+            if (i > 0)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Collection<Set<Class<?>>> loadBeanClasses(Map<String, URL> urls, boolean skip) throws Exception
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.SCANNER_SKIP_NON_BEAN_CLASSES, Boolean.toString(skip));
+        WebBeansContext webBeansContext = new WebBeansContext(Collections.emptyMap(), properties);
+        BeanArchiveService beanArchiveService = new DefaultBeanArchiveService()
+        {
+            @Override
+            public BeanArchiveInformation getBeanArchiveInformation(URL beanArchiveUrl)
+            {
+                DefaultBeanArchiveInformation information = new DefaultBeanArchiveInformation(beanArchiveUrl.toExternalForm());
+                information.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+                return information;
+            }
+        };
+
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(urls.values().toArray(new URL[0]), getClass().getClassLoader()))
+        {
+            thread.setContextClassLoader(loader);
+            CdiArchive archive = new CdiArchive(beanArchiveService, loader, urls, null, null, false, null, skip);
+            OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+            return new Discovery(webBeansContext, archive, finder).getBeanClassesPerBda().values();
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private static Map<String, URL> createJarsWithInterfaces(File folder, int jars, int classesPerJar) throws Exception
+    {
+        Map<String, URL> urls = new LinkedHashMap<>();
+        for (int i = 0; i < jars; i++)
+        {
+            String packageName = "org/apache/openwebbeans/generated/mixed" + i + "/";
+            File file = new File(folder, "mixed" + i + ".jar");
+            try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+            {
+                for (int j = 0; j < classesPerJar; j++)
+                {
+                    outputStream.putNextEntry(new JarEntry(packageName + "Bean" + j + ".class"));
+                    outputStream.write(CdiArchiveTest.createClass(packageName + "Bean" + j, false));
+                    outputStream.closeEntry();
+
+                    ClassWriter writer = new ClassWriter(0);
+                    writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT,
+                            packageName + "Api" + j, null, "java/lang/Object", null);
+                    writer.visitEnd();
+                    outputStream.putNextEntry(new JarEntry(packageName + "Api" + j + ".class"));
+                    outputStream.write(writer.toByteArray());
+                    outputStream.closeEntry();
+                }
+            }
+            URL url = file.toURI().toURL();
+            urls.put(url.toExternalForm(), url);
+        }
+        return urls;
+    }
+
+    private static long usedMetaspace()
+    {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if ("Metaspace".equals(pool.getName()))
+            {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return 0;
+    }
+
+    private static long allocatedBytes()
+    {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private void scan(ClassLoader loader, Map<String, URL> urls, ScanCache scanCache)
+    {
+        CdiArchive archive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, false, scanCache);
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+        archive.applyScanCache(finder);
+        Assert.assertEquals(JARS * CLASSES_PER_JAR / 2, finder.findAnnotatedClasses(ApplicationScoped.class).size());
+    }
+
+    private void scan(ClassLoader loader, Map<String, URL> urls, boolean mapped)
+    {
+        CdiArchive archive = new CdiArchive(new DefaultBeanArchiveService(), loader, urls, null, null, mapped, null);
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(archive);
+        Assert.assertEquals(JARS * CLASSES_PER_JAR, finder.getAnnotatedClassNames().size());
+        Assert.assertEquals(JARS, archive.scanTimes().size());
+    }
+
+    private static final class Discovery extends AbstractMetaDataDiscovery
+    {
+        private Discovery(WebBeansContext webBeansContext, CdiArchive archive, OwbAnnotationFinder finder)
+        {
+            this.webBeansContext = webBeansContext;
+            this.archive = archive;
+            this.finder = finder;
+        }
+
+        @Override
+        protected void configure()
+        {
+            // the archive got scanned already
+        }
+    }
+}
@@ -30,7 +30,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.lifecycle.test.OpenWebBeansTestMetaDataDiscoveryService;
+import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.archive.ClassesArchive;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -53,6 +58,21 @@ public class WithAnnotationTest extends AbstractUnitTest
         Assert.assertEquals(1, WithAnnotationExtension.one);
     }
 
+    @Test
+    public void testWithAnnotationIndex()
+    {
+        WithAnnotationExtension.scannedClasses = 0;
+        WithAnnotationExtension.one = 0;
+
+        addService(ScannerService.class, new IndexingScannerService());
+        addExtension(new WithAnnotationExtension());
+        startContainer(WithConstructorAnnotatedClass.class, WithoutAnyAnnotation.class, WithAnnotatedClass.class, WithAnnotatedField.class, WithAnnotatedMethod.class,
+                WithAnnotatedParameter.class, WithMetaAnnotatedClass.class, WithInheritedAnnotatedMethod.class, WithUnscannedAnnotatedSuperclass.class);
+
+        Assert.assertEquals(8, WithAnnotationExtension.scannedClasses);
+        Assert.assertEquals(1, WithAnnotationExtension.one);
+    }
+
 
     public static class WithAnnotationExtension implements Extension
     {
@@ -87,6 +107,27 @@ public class WithAnnotationTest extends AbstractUnitTest
     {
     }
 
+    @MyAnnoation
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public static @interface MetaAnnotation
+    {
+    }
+
+    /**
+     * Indexes the bytecode of the deployed classes like the scanner does for the classpath.
+     */
+    public static class IndexingScannerService extends OpenWebBeansTestMetaDataDiscoveryService
+    {
+        @Override
+        protected AnnotationFinder initFinder()
+        {
+            super.initFinder();
+            finder = new OwbAnnotationFinder(new ClassesArchive(getBeanClasses()));
+            return finder;
+        }
+    }
+
 
     /**
      * This class should not get picked up by the {@link org.apache.webbeans.test.portable.WithAnnotationTest.WithAnnotationExtension}
@@ -141,4 +182,33 @@ public class WithAnnotationTest extends AbstractUnitTest
         }
     }
 
+    @ApplicationScoped
+    public static class WithAnnotatedParameter
+    {
+        public void setMeaningOfLife(@MyAnnoation int meaningOfLife)
+        {
+        }
+    }
+
+    @ApplicationScoped
+    @MetaAnnotation
+    public static class WithMetaAnnotatedClass
+    {
+    }
+
+    @ApplicationScoped
+    public static class WithInheritedAnnotatedMethod extends WithAnnotatedMethod
+    {
+    }
+
+    public static class UnscannedAnnotatedSuperclass
+    {
+        @MyAnnoation
+        protected int x;
+    }
+
+    @ApplicationScoped
+    public static class WithUnscannedAnnotatedSuperclass extends UnscannedAnnotatedSuperclass
+    {
+    }
 }
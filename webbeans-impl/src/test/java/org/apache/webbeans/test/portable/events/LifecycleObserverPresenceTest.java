@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.portable.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.ProcessBean;
+import jakarta.enterprise.inject.spi.ProcessInjectionPoint;
+import jakarta.enterprise.inject.spi.ProcessProducerMethod;
+import jakarta.inject.Inject;
+
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.portable.events.generics.GProcessBeanAttributes;
+import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
+import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
+import org.apache.webbeans.portable.events.generics.GProcessManagedBean;
+import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
+import org.apache.webbeans.portable.events.generics.GProcessProducerMethod;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LifecycleObserverPresenceTest extends AbstractUnitTest
+{
+    @Test
+    public void testNoObservers()
+    {
+        startContainer(Consumer.class, NameProducer.class);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessInjectionPoint.class));
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessInjectionTarget.class));
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessBeanAttributes.class));
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessManagedBean.class));
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessProducerMethod.class));
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessObserverMethod.class));
+
+        Assert.assertEquals("owb", getInstance(Consumer.class).getName());
+    }
+
+    @Test
+    public void testProcessBeanObserverSeesAllBeans()
+    {
+        BeanExtension extension = new BeanExtension();
+        addExtension(extension);
+        startContainer(Consumer.class, NameProducer.class);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        Assert.assertFalse(notificationManager.hasLifecycleObservers(GProcessBeanAttributes.class));
+        Assert.assertTrue(notificationManager.hasLifecycleObservers(GProcessManagedBean.class));
+        Assert.assertTrue(notificationManager.hasLifecycleObservers(GProcessProducerMethod.class));
+        Assert.assertTrue(notificationManager.hasLifecycleObservers(GProcessInjectionPoint.class));
+
+        Assert.assertTrue(extension.beans.contains(Consumer.class.getName()));
+        Assert.assertTrue(extension.beans.contains(NameProducer.class.getName()));
+        Assert.assertTrue(extension.beans.contains("name"));
+        Assert.assertEquals(1, extension.injectionPoints.size());
+        Assert.assertEquals("owb", getInstance(Consumer.class).getName());
+    }
+
+
+    public static class BeanExtension implements Extension
+    {
+        private final List<String> beans = new ArrayList<>();
+        private final List<String> injectionPoints = new ArrayList<>();
+
+        void processBean(@Observes ProcessBean<?> event)
+        {
+            if (event instanceof ProcessProducerMethod)
+            {
+                beans.add(((ProcessProducerMethod<?, ?>) event).getAnnotatedProducerMethod().getJavaMember().getName());
+            }
+            else
+            {
+                beans.add(event.getBean().getBeanClass().getName());
+            }
+        }
+
+        void processInjectionPoint(@Observes ProcessInjectionPoint<Consumer, ?> event)
+        {
+            injectionPoints.add(event.getInjectionPoint().getMember().getName());
+        }
+    }
+
+    public static class NameProducer
+    {
+        @Produces
+        public String name()
+        {
+            return "owb";
+        }
+    }
+
+    public static class Consumer
+    {
+        @Inject
+        private String name;
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+}
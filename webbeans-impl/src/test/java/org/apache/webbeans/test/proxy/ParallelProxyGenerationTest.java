@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.inject.Named;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelProxyGenerationTest extends AbstractUnitTest
+{
+    @Test
+    public void testProxyClassesGetGeneratedAtDeployment()
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_GENERATION_THREADS, "4");
+        startContainer(RequestBean.class, ApplicationBean.class, HolderProducer.class);
+
+        NormalScopeProxyFactory proxyFactory = getWebBeansContext().getNormalScopeProxyFactory();
+        Bean<RequestBean> requestBean = getBean(RequestBean.class);
+        Bean<ApplicationBean> applicationBean = getBean(ApplicationBean.class);
+
+        RequestBean requestInstance = getInstance(RequestBean.class);
+        ApplicationBean applicationInstance = getInstance(ApplicationBean.class);
+        Assert.assertSame(proxyFactory.createProxyClass(requestBean), requestInstance.getClass());
+        Assert.assertSame(proxyFactory.createProxyClass(applicationBean), applicationInstance.getClass());
+
+        Assert.assertEquals("request", requestInstance.getName());
+        Assert.assertEquals("application", applicationInstance.getName());
+        Assert.assertEquals("first", getInstance(Holder.class, NamedLiteral.of("first")).getName());
+        Assert.assertEquals("second", getInstance(Holder.class, NamedLiteral.of("second")).getName());
+    }
+
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        public String getName()
+        {
+            return "request";
+        }
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean
+    {
+        public String getName()
+        {
+            return "application";
+        }
+    }
+
+    @ApplicationScoped
+    public static class HolderProducer
+    {
+        @Produces
+        @RequestScoped
+        @Named("first")
+        public Holder first()
+        {
+            return new Holder("first");
+        }
+
+        @Produces
+        @RequestScoped
+        @Named("second")
+        public Holder second()
+        {
+            return new Holder("second");
+        }
+    }
+
+    public static class Holder
+    {
+        private final String name;
+
+        protected Holder()
+        {
+            this(null);
+        }
+
+        public Holder(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+}
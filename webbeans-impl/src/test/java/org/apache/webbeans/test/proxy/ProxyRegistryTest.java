@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import static java.util.Collections.emptyMap;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.Set;
+
+import jakarta.enterprise.context.RequestScoped;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.ProxyRegistry;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProxyRegistryTest extends AbstractUnitTest
+{
+    @Test
+    public void testProxyClassesGetAccounted() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_REGISTRY_JMX, "true");
+        startContainer(RequestBean.class);
+
+        Assert.assertEquals("request", getInstance(RequestBean.class).getName());
+
+        ProxyRegistry registry = getWebBeansContext().getProxyRegistry();
+        Assert.assertTrue(registry.getProxyClassCount() > 0);
+        Assert.assertTrue(registry.getProxyBytecodeSize() > 0);
+        Assert.assertTrue(registry.getProxyClassCounts().get(NormalScopeProxyFactory.class.getSimpleName()) > 0);
+        Assert.assertTrue(registry.getProxyBytecodeSizes().get(NormalScopeProxyFactory.class.getSimpleName()) > 0);
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName pattern = new ObjectName("org.apache.webbeans:type=ProxyRegistry,*");
+        Set<ObjectName> names = mBeanServer.queryNames(pattern, null);
+        Assert.assertEquals(1, names.size());
+        Assert.assertEquals(registry.getProxyClassCount(), mBeanServer.getAttribute(names.iterator().next(), "ProxyClassCount"));
+
+        shutDownContainer();
+        Assert.assertTrue(mBeanServer.queryNames(pattern, null).isEmpty());
+        Assert.assertEquals(0, registry.getProxyClassCount());
+        Assert.assertTrue(registry.getProxyBytecodeSizes().isEmpty());
+    }
+
+    @Test
+    public void testProxyClassLoaderBecomesUnreachable()
+    {
+        ProxyRegistry registry = createProxyAndDropContext();
+
+        Assert.assertEquals(registry.awaitClassLoadersUnreachable(10000L).toString(), 0, registry.getProxyClassLoaderCount());
+    }
+
+    @Test
+    public void testProxyClassLoaderUnreachableAfterShutdown()
+    {
+        addConfiguration(DefiningClassService.class.getName(), ClassLoaderProxyService.class.getName());
+        startContainer(RequestBean.class);
+        Assert.assertEquals("request", getInstance(RequestBean.class).getName());
+
+        ProxyRegistry registry = getWebBeansContext().getProxyRegistry();
+        Assert.assertTrue(registry.getProxyClassLoaderCount() > 0);
+
+        shutDownContainer();
+        Assert.assertEquals(0, registry.getProxyClassCount());
+        Assert.assertEquals(registry.awaitClassLoadersUnreachable(10000L).toString(), 0, registry.getProxyClassLoaderCount());
+    }
+
+    private ProxyRegistry createProxyAndDropContext()
+    {
+        Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.class.getName());
+        WebBeansContext context = new WebBeansContext(emptyMap(), config);
+
+        Class<?> proxyClass = context.getNormalScopeProxyFactory()
+                .createProxyClass(Thread.currentThread().getContextClassLoader(), RequestBean.class);
+        Assert.assertNotSame(RequestBean.class.getClassLoader(), proxyClass.getClassLoader());
+
+        ProxyRegistry registry = context.getProxyRegistry();
+        Assert.assertEquals(1, registry.getProxyClassLoaderCount());
+        return registry;
+    }
+
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        public String getName()
+        {
+            return "request";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.inject.Named;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SharedNormalScopeProxyClassTest extends AbstractUnitTest
+{
+    @Test
+    public void testProducersShareProxyClass()
+    {
+        startContainer(ServiceProducer.class);
+
+        Service first = getInstance(Service.class, NamedLiteral.of("first"));
+        Service second = getInstance(Service.class, NamedLiteral.of("second"));
+
+        Assert.assertSame(first.getClass(), second.getClass());
+        Assert.assertEquals("first", first.getName());
+        Assert.assertEquals("second", second.getName());
+    }
+
+
+    @ApplicationScoped
+    public static class ServiceProducer
+    {
+        @Produces
+        @RequestScoped
+        @Named("first")
+        public Service first()
+        {
+            return new Service("first");
+        }
+
+        @Produces
+        @ApplicationScoped
+        @Named("second")
+        public Service second()
+        {
+            return new Service("second");
+        }
+    }
+
+    public static class Service
+    {
+        private final String name;
+
+        protected Service()
+        {
+            this(null);
+        }
+
+        public Service(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+}
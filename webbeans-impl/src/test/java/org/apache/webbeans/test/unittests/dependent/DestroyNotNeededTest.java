@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.unittests.dependent;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.inject.Inject;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DestroyNotNeededTest extends AbstractUnitTest
+{
+    @Test
+    public void testDestroyNotNeededAnalysis()
+    {
+        startContainer(PlainDependent.class, DependentWithPreDestroy.class, DependentWithDependentInjection.class,
+                DependentWithNormalScopedInjection.class, ApplicationScopedService.class, DependentProducer.class);
+
+        Assert.assertFalse(isDestroyNeeded(PlainDependent.class));
+        Assert.assertFalse(isDestroyNeeded(DependentWithNormalScopedInjection.class));
+        Assert.assertFalse(isDestroyNeeded(StringBuilder.class));
+        Assert.assertTrue(isDestroyNeeded(DependentWithPreDestroy.class));
+        Assert.assertTrue(isDestroyNeeded(DependentWithDependentInjection.class));
+    }
+
+    @Test
+    public void testDestroyNotNeededAnalysisWithoutValidation()
+    {
+        addConfiguration("org.apache.webbeans.spi.deployer.skipValidations", "true");
+        startContainer(PlainDependent.class, DependentWithPreDestroy.class, DependentWithDependentInjection.class);
+
+        Assert.assertFalse(isDestroyNeeded(PlainDependent.class));
+        Assert.assertTrue(isDestroyNeeded(DependentWithPreDestroy.class));
+        Assert.assertTrue(isDestroyNeeded(DependentWithDependentInjection.class));
+    }
+
+    @Test
+    public void testNoBookkeepingForDestroyNotNeeded()
+    {
+        startContainer(PlainDependent.class, DependentWithPreDestroy.class);
+
+        CreationalContextImpl<?> creationalContext = (CreationalContextImpl<?>) getBeanManager().createCreationalContext(null);
+        Bean<PlainDependent> plainBean = getBean(PlainDependent.class);
+        Bean<DependentWithPreDestroy> preDestroyBean = getBean(DependentWithPreDestroy.class);
+
+        Object plain = getBeanManager().getReference(plainBean, PlainDependent.class, creationalContext);
+        Object withPreDestroy = getBeanManager().getReference(preDestroyBean, DependentWithPreDestroy.class, creationalContext);
+
+        Assert.assertFalse(creationalContext.containsDependent(plainBean, plain));
+        Assert.assertTrue(creationalContext.containsDependent(preDestroyBean, withPreDestroy));
+
+        DependentWithPreDestroy.destroyed = false;
+        creationalContext.release();
+        Assert.assertTrue(DependentWithPreDestroy.destroyed);
+    }
+
+    private boolean isDestroyNeeded(Class<?> type)
+    {
+        return ((AbstractOwbBean<?>) getBean(type)).isDestroyNeeded();
+    }
+
+
+    @Dependent
+    public static class PlainDependent
+    {
+    }
+
+    @Dependent
+    public static class DependentWithPreDestroy
+    {
+        private static boolean destroyed;
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed = true;
+        }
+    }
+
+    @Dependent
+    public static class DependentWithDependentInjection
+    {
+        @Inject
+        private PlainDependent plain;
+    }
+
+    @Dependent
+    public static class DependentWithNormalScopedInjection
+    {
+        @Inject
+        private ApplicationScopedService service;
+    }
+
+    @ApplicationScoped
+    public static class ApplicationScopedService
+    {
+    }
+
+    @ApplicationScoped
+    public static class DependentProducer
+    {
+        @Produces
+        public StringBuilder produce()
+        {
+            return new StringBuilder();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.webbeans.util.ClassResolutionCache;
+import org.junit.Test;
+
+public class ClassResolutionCacheTest
+{
+    @Test
+    public void cachesHitsAndMisses() throws Exception
+    {
+        CountingClassLoader loader = new CountingClassLoader(getClass().getClassLoader());
+        ClassResolutionCache cache = new ClassResolutionCache();
+
+        assertSame(ClassResolutionCacheTest.class, cache.loadClass(ClassResolutionCacheTest.class.getName(), loader));
+        assertSame(ClassResolutionCacheTest.class, cache.loadClass(ClassResolutionCacheTest.class.getName(), loader));
+        assertEquals(1, loader.lookups.get());
+
+        assertNull(cache.loadClass("org.apache.webbeans.test.util.package-info", loader));
+        assertNull(cache.loadClass("org.apache.webbeans.test.util.package-info", loader));
+        assertEquals(2, loader.lookups.get());
+
+        cache.clear();
+        assertNull(cache.loadClass("org.apache.webbeans.test.util.package-info", loader));
+        assertEquals(3, loader.lookups.get());
+    }
+
+    @Test
+    public void getClassFromName()
+    {
+        ClassResolutionCache cache = new ClassResolutionCache();
+        ClassLoader loader = getClass().getClassLoader();
+
+        assertSame(ClassResolutionCacheTest.class, cache.getClassFromName(ClassResolutionCacheTest.class.getName(), loader, false));
+        assertNull(cache.getClassFromName("org.acme.NotExisting", loader, false));
+        assertNull(cache.getClassFromName("org.acme.NotExisting", loader, false));
+    }
+
+    @Test
+    public void cachesPerClassLoader() throws Exception
+    {
+        ClassResolutionCache cache = new ClassResolutionCache();
+        try (URLClassLoader empty = new URLClassLoader(new URL[0], null))
+        {
+            assertNull(cache.loadClass(ClassResolutionCacheTest.class.getName(), empty));
+            assertSame(ClassResolutionCacheTest.class, cache.loadClass(ClassResolutionCacheTest.class.getName(), getClass().getClassLoader()));
+        }
+    }
+
+    private static final class CountingClassLoader extends ClassLoader
+    {
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private CountingClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException
+        {
+            lookups.incrementAndGet();
+            return super.loadClass(name);
+        }
+    }
+}
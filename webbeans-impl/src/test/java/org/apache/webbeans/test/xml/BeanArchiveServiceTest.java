@@ -22,6 +22,9 @@ package org.apache.webbeans.test.xml;
 import jakarta.enterprise.inject.spi.DeploymentException;
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
 
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
@@ -71,6 +74,91 @@ public class BeanArchiveServiceTest
         Assert.assertEquals(BeanDiscoveryMode.ALL, beanArchiveInformation.getBeanDiscoveryMode());
     }
 
+    @Test
+    public void testWhitespaceOnlyBeansXml() throws Exception
+    {
+        File beansXml = tempFolder.newFile("beans.xml");
+        Files.write(beansXml.toPath(), " \n\t\r\n".getBytes(StandardCharsets.UTF_8));
+        BeanArchiveInformation bai = new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+        Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+    }
+
+    @Test
+    public void testConditionalExcludes() throws Exception
+    {
+        System.setProperty("BeanArchiveServiceTest.exclude", "true");
+        try
+        {
+            File beansXml = tempFolder.newFile("beans.xml");
+            Files.write(beansXml.toPath(), ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                    "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"4.0\" bean-discovery-mode=\"all\">\n" +
+                    "  <!-- <alternatives><class>commented.Out</class></alternatives> -->\n" +
+                    "  <alternatives>\n" +
+                    "    <class><![CDATA[ org.acme.Alternative ]]></class>\n" +
+                    "    <unknown><class>org.acme.Ignored</class></unknown>\n" +
+                    "  </alternatives>\n" +
+                    "  <scan>\n" +
+                    "    <exclude name=\"org.acme.available.**\"><if-class-available name=\"java.lang.String\"/></exclude>\n" +
+                    "    <exclude name=\"org.acme.missing.**\"><if-class-available name=\"org.acme.Missing\"/></exclude>\n" +
+                    "    <exclude name=\"org.acme.notavailable.**\"><if-class-not-available name=\"org.acme.Missing\"/></exclude>\n" +
+                    "    <exclude name=\"org.acme.property.**\">\n" +
+                    "      <if-system-property name=\"BeanArchiveServiceTest.exclude\" value=\"true\"/>\n" +
+                    "      <if-class-available name=\"org.acme.Missing\"/>\n" +
+                    "    </exclude>\n" +
+                    "    <exclude name=\"org.acme.property2.*\"><if-system-property name=\"BeanArchiveServiceTest.exclude\" value=\"true\"/></exclude>\n" +
+                    "  </scan>\n" +
+                    "</beans>").getBytes(StandardCharsets.UTF_8));
+            BeanArchiveInformation bai = new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+
+            Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+            Assert.assertEquals("4.0", bai.getVersion());
+            Assert.assertEquals(Collections.singletonList("org.acme.Alternative"), bai.getAlternativeClasses());
+
+            Assert.assertTrue(bai.isPackageExcluded("org.acme.available"));
+            Assert.assertFalse(bai.isPackageExcluded("org.acme.missing"));
+            Assert.assertTrue(bai.isPackageExcluded("org.acme.notavailable"));
+            Assert.assertFalse(bai.isPackageExcluded("org.acme.property"));
+            Assert.assertTrue(bai.isClassExcluded("org.acme.property2.SomeClass"));
+        }
+        finally
+        {
+            System.clearProperty("BeanArchiveServiceTest.exclude");
+        }
+    }
+
+    @Test
+    public void testDoctypeBeansXml() throws Exception
+    {
+        File beansXml = tempFolder.newFile("beans.xml");
+        Files.write(beansXml.toPath(), ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<!DOCTYPE beans PUBLIC \"-//ACME//DTD Beans//EN\" \"http://localhost:1/beans.dtd\">\n" +
+                "<!-- a comment before the root element -->\n" +
+                "<?acme some processing instruction?>\n" +
+                "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"4.0\" bean-discovery-mode=\"all\">\n" +
+                "  <alternatives><class>org.acme.Alternative</class></alternatives>\n" +
+                "</beans>").getBytes(StandardCharsets.UTF_8));
+        BeanArchiveInformation bai = new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+
+        Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+        Assert.assertEquals(Collections.singletonList("org.acme.Alternative"), bai.getAlternativeClasses());
+    }
+
+    @Test(expected = DeploymentException.class)
+    public void testExternalEntitiesNotResolved() throws Exception
+    {
+        File secret = tempFolder.newFile("secret.txt");
+        Files.write(secret.toPath(), "org.acme.Secret".getBytes(StandardCharsets.UTF_8));
+        File beansXml = tempFolder.newFile("beans.xml");
+        Files.write(beansXml.toPath(), ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<!DOCTYPE beans [<!ENTITY secret SYSTEM \"" + secret.toURI() + "\">]>\n" +
+                "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"4.0\" bean-discovery-mode=\"all\">\n" +
+                "  <alternatives><class>&secret;</class></alternatives>\n" +
+                "</beans>").getBytes(StandardCharsets.UTF_8));
+
+        // the entity declaration gets ignored, thus the reference fails
+        new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+    }
+
     @Test
     public void testAlternativesBeansXml()
     {
@@ -26,6 +26,7 @@ import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
+import org.apache.webbeans.context.BuiltInScope;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
@@ -39,10 +40,6 @@ import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.ContextException;
-import jakarta.enterprise.context.ConversationScoped;
-import jakarta.enterprise.context.Dependent;
-import jakarta.enterprise.context.RequestScoped;
-import jakarta.enterprise.context.SessionScoped;
 import jakarta.enterprise.context.spi.Context;
 import jakarta.inject.Singleton;
 import jakarta.servlet.ServletContext;
@@ -51,6 +48,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import java.lang.annotation.Annotation;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -215,54 +213,51 @@ public class WebContextsService extends AbstractContextsService
      */
     @Override
     public void endContext(Class<? extends Annotation> scopeType, Object endParameters)
-    {        
-        if(scopeType.equals(RequestScoped.class))
-        {
-            destroyRequestContext(endParameters);
-        }
-        else if(scopeType.equals(SessionScoped.class))
-        {
-            destroySessionContext(endParameters);
-        }
-        else if(scopeType.equals(ApplicationScoped.class))
-        {
-            destroyApplicationContext(endParameters);
-        }
-        else if(supportsConversation && scopeType.equals(ConversationScoped.class))
-        {
-            destroyConversationContext();
-        }
-        else if(scopeType.equals(Dependent.class))
-        {
-            //Do nothing
-            return;
-        }
-        else if (scopeType.equals(Singleton.class))
-        {
-            destroySingletonContext(endParameters);
-        }
-        else
-        {
-            logger.warning("CDI-OpenWebBeans container does not support context scope "
-                    + scopeType.getSimpleName()
-                    + ". Scopes @Dependent, @RequestScoped, @ApplicationScoped and @Singleton are supported scope types");
+    {
+        switch (BuiltInScope.of(scopeType))
+        {
+            case REQUEST:
+                destroyRequestContext(endParameters);
+                break;
+            case SESSION:
+                destroySessionContext(endParameters);
+                break;
+            case APPLICATION:
+                destroyApplicationContext(endParameters);
+                break;
+            case CONVERSATION:
+                if (supportsConversation)
+                {
+                    destroyConversationContext();
+                }
+                else
+                {
+                    logUnsupportedScope(scopeType);
+                }
+                break;
+            case DEPENDENT:
+                //Do nothing
+                break;
+            case SINGLETON:
+                destroySingletonContext(endParameters);
+                break;
+            default:
+                logUnsupportedScope(scopeType);
         }
     }
 
     @Override
     public Context getCurrentContext(Class<? extends Annotation> scopeType, boolean createIfNotExists)
     {
-        if(scopeType.equals(RequestScoped.class))
-        {
-            return getRequestContext(createIfNotExists);
-        }
-
-        if(scopeType.equals(SessionScoped.class))
+        switch (BuiltInScope.of(scopeType))
         {
-            return getSessionContext(createIfNotExists);
+            case REQUEST:
+                return getRequestContext(createIfNotExists);
+            case SESSION:
+                return getSessionContext(createIfNotExists);
+            default:
+                return getCurrentContext(scopeType);
         }
-
-        return getCurrentContext(scopeType);
     }
 
     /**
@@ -271,33 +266,48 @@ public class WebContextsService extends AbstractContextsService
     @Override
     public Context getCurrentContext(Class<? extends Annotation> scopeType)
     {
-        if(scopeType.equals(RequestScoped.class))
-        {
-            return getRequestContext(false);
-        }
-        else if(scopeType.equals(SessionScoped.class))
-        {
-            // session gets created lazily, so we need to force the creation
-            return getSessionContext(true);
+        switch (BuiltInScope.of(scopeType))
+        {
+            case REQUEST:
+                return getRequestContext(false);
+            case SESSION:
+                // session gets created lazily, so we need to force the creation
+                return getSessionContext(true);
+            case APPLICATION:
+                return applicationContext;
+            case CONVERSATION:
+                return getConversationContext(false, false);
+            case DEPENDENT:
+                return dependentContext;
+            case SINGLETON:
+                return singletonContext;
+            default:
+                return null;
         }
-        else if(scopeType.equals(ApplicationScoped.class))
-        {
-            return applicationContext;
-        }
-        else if(scopeType.equals(ConversationScoped.class))
-        {
-            return getConversationContext(false, false);
-        }
-        else if(scopeType.equals(Dependent.class))
+    }
+
+    @Override
+    public Supplier<Context> getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if (overridesCurrentContextLookup(WebContextsService.class))
         {
-            return dependentContext;
+            return super.getContextAccessor(scopeType);
         }
-        else if (scopeType.equals(Singleton.class))
+
+        switch (BuiltInScope.of(scopeType))
         {
-            return singletonContext;
+            case REQUEST:
+                return () -> getRequestContext(false);
+            case SESSION:
+                // session gets created lazily, so we need to force the creation
+                return () -> getSessionContext(true);
+            case APPLICATION:
+                return () -> applicationContext;
+            case SINGLETON:
+                return () -> singletonContext;
+            default:
+                return super.getContextAccessor(scopeType);
         }
-
-        return null;
     }
 
     /**
@@ -306,39 +316,45 @@ public class WebContextsService extends AbstractContextsService
     @Override
     public void startContext(Class<? extends Annotation> scopeType, Object startParameter) throws ContextException
     {
-        if (scopeType.equals(RequestScoped.class))
-        {
-            initRequestContext(startParameter);
-        }
-        else if (scopeType.equals(SessionScoped.class))
-        {
-            initSessionContext(startParameter);
-        }
-        else if (scopeType.equals(ApplicationScoped.class))
-        {
-            initApplicationContext(startParameter);
-        }
-        else if (supportsConversation && scopeType.equals(ConversationScoped.class))
-        {
-            initConversationContext(startParameter);
-        }
-        else if (scopeType.equals(Dependent.class))
-        {
-            //Do nothing
-            return;
-        }
-        else if (scopeType.equals(Singleton.class))
-        {
-            initSingletonContext(startParameter);
-        }
-        else
-        {
-            logger.warning("CDI-OpenWebBeans container does not support context scope "
-                    + scopeType.getSimpleName()
-                    + ". Scopes @Dependent, @RequestScoped, @ApplicationScoped and @Singleton are supported scope types");
+        switch (BuiltInScope.of(scopeType))
+        {
+            case REQUEST:
+                initRequestContext(startParameter);
+                break;
+            case SESSION:
+                initSessionContext(startParameter);
+                break;
+            case APPLICATION:
+                initApplicationContext(startParameter);
+                break;
+            case CONVERSATION:
+                if (supportsConversation)
+                {
+                    initConversationContext(startParameter);
+                }
+                else
+                {
+                    logUnsupportedScope(scopeType);
+                }
+                break;
+            case DEPENDENT:
+                //Do nothing
+                break;
+            case SINGLETON:
+                initSingletonContext(startParameter);
+                break;
+            default:
+                logUnsupportedScope(scopeType);
         }
     }
 
+    private void logUnsupportedScope(Class<? extends Annotation> scopeType)
+    {
+        logger.warning("CDI-OpenWebBeans container does not support context scope "
+                + scopeType.getSimpleName()
+                + ". Scopes @Dependent, @RequestScoped, @ApplicationScoped and @Singleton are supported scope types");
+    }
+
     /**
      * Initialize requext context with the given request object.
      * @param startupObject http servlet request event or system specific payload